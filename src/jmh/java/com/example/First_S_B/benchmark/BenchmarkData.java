@@ -0,0 +1,160 @@
+package com.example.First_S_B.benchmark;
+
+import com.example.First_S_B.dto.UserSummary;
+import com.example.First_S_B.model.Role;
+import com.example.First_S_B.model.User;
+import com.example.First_S_B.repository.RoleRepository;
+import com.example.First_S_B.service.RoleRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixtures shared by the benchmarks: roles, users and objects configured as in the application
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+final class BenchmarkData {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 15, 10, 30);
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * @return the four default roles, as DataInitializationService creates them
+     */
+    static List<Role> roles() {
+        String[][] definitions = {
+                {"ADMIN", "System Administrator - Full access to all features"},
+                {"FARMER", "Farmer - Can list crops, book transport, sell to markets"},
+                {"DRIVER", "Driver - Can accept transport bookings, manage vehicle"},
+                {"MARKET", "Market - Can buy crops, manage inventory"}
+        };
+        List<Role> roles = new ArrayList<>();
+        for (int i = 0; i < definitions.length; i++) {
+            roles.add(new Role((long) i + 1, definitions[i][0], definitions[i][1], CREATED_AT, CREATED_AT, null));
+        }
+        return roles;
+    }
+
+    /**
+     * @param count number of users
+     * @param roles roles assigned round-robin
+     * @return users with every column filled in, as a page query returns them
+     */
+    static List<User> users(int count, List<Role> roles) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setId((long) i + 1);
+            user.setEmail("farmer" + i + "@example.com");
+            user.setPassword("{bcrypt}$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3fLLOCTeF3J.6WqC0Gz8N.e");
+            user.setFirstName("Ramesh");
+            user.setLastName("Kumar");
+            user.setPhoneNumber("98765" + String.format("%05d", i));
+            user.setRole(roles.get(i % roles.size()));
+            user.setIsActive(true);
+            user.setIsVerified(i % 3 == 0);
+            user.setCreatedAt(CREATED_AT.plusMinutes(i));
+            user.setUpdatedAt(CREATED_AT.plusMinutes(i));
+            users.add(user);
+        }
+        return users;
+    }
+
+    /**
+     * @param users users to convert
+     * @return the read models the list endpoints return for these users
+     */
+    static List<UserSummary> summaries(List<User> users) {
+        List<UserSummary> summaries = new ArrayList<>(users.size());
+        for (User user : users) {
+            summaries.add(new UserSummary(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(),
+                    user.getPhoneNumber(), user.getRole().getRoleName(), user.getIsActive(), user.getIsVerified(),
+                    user.getCreatedAt(), user.getUpdatedAt()));
+        }
+        return summaries;
+    }
+
+    /**
+     * @return ObjectMapper with Spring Boot's default settings for HTTP responses
+     */
+    static ObjectMapper objectMapper() {
+        return bootDefaults().build();
+    }
+
+    /**
+     * @return ObjectMapper for application/cbor, configured like BinaryFormatsConfig does
+     */
+    static ObjectMapper cborMapper() {
+        return bootDefaults().factory(new CBORFactory()).build();
+    }
+
+    /**
+     * @return ObjectMapper for application/x-jackson-smile, configured like BinaryFormatsConfig does
+     */
+    static ObjectMapper smileMapper() {
+        return bootDefaults().factory(new SmileFactory()).build();
+    }
+
+    /**
+     * @return a GET /users/stats response with realistic counts
+     */
+    static Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        Map<String, Long> lastHour = new HashMap<>();
+        Map<String, Long> lastDay = new HashMap<>();
+        long total = 0;
+        for (Role role : roles()) {
+            long count = role.getId() * 12_345;
+            total += count;
+            stats.put(role.getRoleName().toLowerCase() + "Count", count);
+            lastHour.put(role.getRoleName(), role.getId() * 7);
+            lastDay.put(role.getRoleName(), role.getId() * 160);
+        }
+        stats.put("totalUsers", total);
+        stats.put("activeUsers", total - 321);
+        stats.put("registrationsLastHour", lastHour);
+        stats.put("registrationsLastDay", lastDay);
+        return stats;
+    }
+
+    private static Jackson2ObjectMapperBuilder bootDefaults() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS);
+    }
+
+    /**
+     * @return RoleRegistry loaded from an in-memory repository holding the default roles
+     */
+    static RoleRegistry roleRegistry() {
+        List<Role> roles = roles();
+        RoleRepository repository = (RoleRepository) Proxy.newProxyInstance(
+                RoleRepository.class.getClassLoader(),
+                new Class<?>[]{RoleRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findAll") && (args == null || args.length == 0)) {
+                        return roles;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        RoleRegistry registry = new RoleRegistry();
+        ReflectionTestUtils.setField(registry, "roleRepository", repository);
+        registry.refresh();
+        return registry;
+    }
+}
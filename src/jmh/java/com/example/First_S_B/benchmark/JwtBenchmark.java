@@ -0,0 +1,63 @@
+package com.example.First_S_B.benchmark;
+
+import com.example.First_S_B.dto.AuthenticatedUser;
+import com.example.First_S_B.service.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT issuing and verification in JwtService
+ *
+ * verifyUncached uses a service whose verified-token cache expires entries
+ * immediately, so every call checks the signature and parses the claims.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "krishiSaarathiSecretKey2025ForAgriculturePlatform";
+    private static final long EXPIRATION_MILLIS = 86_400_000L;
+
+    private JwtService cachingService;
+    private JwtService uncachedService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingService = new JwtService(SECRET, EXPIRATION_MILLIS, 10_000, 600);
+        uncachedService = new JwtService(SECRET, EXPIRATION_MILLIS, 10_000, 0);
+        token = cachingService.generateToken(42L, "ramesh.kumar@example.com", "FARMER");
+    }
+
+    @Benchmark
+    public String sign() {
+        return cachingService.generateToken(42L, "ramesh.kumar@example.com", "FARMER");
+    }
+
+    @Benchmark
+    public AuthenticatedUser verifyCached() {
+        return cachingService.verify(token);
+    }
+
+    @Benchmark
+    public AuthenticatedUser verifyUncached() {
+        return uncachedService.verify(token);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.First_S_B.benchmark;
+
+import com.example.First_S_B.model.Role;
+import com.example.First_S_B.service.RoleRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request parsing and validation of POST /users/register
+ *
+ * Reads the body through Spring's JSON message converter into the
+ * Map&lt;String, String&gt; that registerUser receives, then runs the same
+ * required-field check and role resolution. Password hashing and the
+ * email lookup are left out (they are measured elsewhere / need a database).
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegisterRequestBenchmark {
+
+    private static final Type BODY_TYPE = new ParameterizedTypeReference<Map<String, String>>() { }.getType();
+
+    private MappingJackson2HttpMessageConverter converter;
+    private RoleRegistry roleRegistry;
+    private byte[] validBody;
+    private byte[] missingFieldBody;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = BenchmarkData.objectMapper();
+        converter = new MappingJackson2HttpMessageConverter(objectMapper);
+        roleRegistry = BenchmarkData.roleRegistry();
+        validBody = ("{\"email\":\"ramesh.kumar@example.com\",\"password\":\"securePass123\","
+                + "\"firstName\":\"Ramesh\",\"lastName\":\"Kumar\",\"phoneNumber\":\"9876543210\","
+                + "\"role\":\"FARMER\"}").getBytes(StandardCharsets.UTF_8);
+        missingFieldBody = "{\"email\":\"ramesh.kumar@example.com\",\"firstName\":\"Ramesh\"}"
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Role parseAndValidate() throws Exception {
+        return validate(read(validBody));
+    }
+
+    @Benchmark
+    public Role parseAndRejectMissingField() throws Exception {
+        return validate(read(missingFieldBody));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> read(byte[] body) throws Exception {
+        MockHttpInputMessage message = new MockHttpInputMessage(body);
+        message.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return (Map<String, String>) converter.read(BODY_TYPE, null, message);
+    }
+
+    /**
+     * Same checks as UserController.registerUser, up to the database lookup
+     */
+    private Role validate(Map<String, String> request) {
+        if (request.get("email") == null || request.get("password") == null
+                || request.get("firstName") == null || request.get("role") == null) {
+            return null;
+        }
+        return roleRegistry.findByName(request.get("role"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.First_S_B.benchmark;
+
+import com.example.First_S_B.model.Role;
+import com.example.First_S_B.service.RoleRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Role lookups through RoleRegistry, as done on registration and role filters
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoleResolutionBenchmark {
+
+    private RoleRegistry roleRegistry;
+
+    // Non-final so the JIT cannot constant-fold the lookups
+    private String canonicalName = "FARMER";
+    private String lowerCaseName = "farmer";
+    private String unknownName = "TRADER";
+    private Long roleId = 3L;
+
+    @Setup
+    public void setUp() {
+        roleRegistry = BenchmarkData.roleRegistry();
+    }
+
+    @Benchmark
+    public Role findByCanonicalName() {
+        return roleRegistry.findByName(canonicalName);
+    }
+
+    @Benchmark
+    public Role findByLowerCaseName() {
+        return roleRegistry.findByName(lowerCaseName);
+    }
+
+    @Benchmark
+    public Role findUnknownName() {
+        return roleRegistry.findByName(unknownName);
+    }
+
+    @Benchmark
+    public Role findById() {
+        return roleRegistry.findById(roleId);
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.First_S_B.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares platform-thread and virtual-thread request handling under many slow clients
+ *
+ * Not a unit test or a JMH benchmark: a load driver kept with the JMH
+ * benchmarks so it is only compiled with the jmh profile. Run it against an
+ * application that is already running, once started normally and once with
+ * --spring.profiles.active=virtual (built with -Pjava21), and compare the
+ * two reports.
+ *
+ * Two kinds of clients run at the same time:
+ * - slow clients upload a registration body at 2G/3G speed. Reading the body
+ *   blocks the request thread, then an email lookup hits the database.
+ * - fast clients page through users by role with a bearer token.
+ * With platform threads the slow uploads occupy the Tomcat worker pool and
+ * fast requests queue behind them; with virtual threads they should not.
+ *
+ * Usage:
+ *   mvn -Pjmh test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.example.First_S_B.benchmark.ThreadModeBenchmark \
+ *       -Dbench.slowClients=1000 -Dbench.fastClients=50
+ *
+ * Settings (system properties): bench.url, bench.slowClients, bench.fastClients,
+ * bench.durationSeconds, bench.warmupSeconds, bench.slowBytesPerSecond, bench.slowBodyBytes
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public final class ThreadModeBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final URI baseUri;
+    private final int slowClients;
+    private final int fastClients;
+    private final long durationMillis;
+    private final long warmupMillis;
+    private final int slowBytesPerSecond;
+    private final int slowBodyBytes;
+
+    private ThreadModeBenchmark() {
+        this.baseUri = URI.create(System.getProperty("bench.url", "http://localhost:8080/api/v1"));
+        this.slowClients = Integer.getInteger("bench.slowClients", 1000);
+        this.fastClients = Integer.getInteger("bench.fastClients", 50);
+        this.durationMillis = TimeUnit.SECONDS.toMillis(Integer.getInteger("bench.durationSeconds", 60));
+        this.warmupMillis = TimeUnit.SECONDS.toMillis(Integer.getInteger("bench.warmupSeconds", 10));
+        this.slowBytesPerSecond = Integer.getInteger("bench.slowBytesPerSecond", 4000);
+        this.slowBodyBytes = Integer.getInteger("bench.slowBodyBytes", 4000);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new ThreadModeBenchmark().run();
+    }
+
+    private void run() throws Exception {
+        String email = "bench-" + System.currentTimeMillis() + "@example.com";
+        String password = "benchmark-password";
+        String token = setUp(email, password);
+
+        byte[] slowBody = MAPPER.writeValueAsBytes(Map.of(
+                "email", email,
+                "password", password,
+                "firstName", "Bench",
+                "role", "FARMER",
+                "note", "x".repeat(Math.max(0, slowBodyBytes - 120))));
+        String slowHead = "POST " + path("/users/register") + " HTTP/1.1\r\n"
+                + "Host: " + hostHeader() + "\r\n"
+                + "Content-Type: application/json\r\n"
+                + "Content-Length: " + slowBody.length + "\r\n"
+                + "Connection: close\r\n\r\n";
+        String fastHead = "GET " + path("/users/role/FARMER?size=20") + " HTTP/1.1\r\n"
+                + "Host: " + hostHeader() + "\r\n"
+                + "Authorization: Bearer " + token + "\r\n"
+                + "Connection: close\r\n\r\n";
+
+        System.out.printf("Target %s: %d slow clients (%d B at %d B/s), %d fast clients, %ds + %ds warm-up%n",
+                baseUri, slowClients, slowBody.length, slowBytesPerSecond, fastClients,
+                durationMillis / 1000, warmupMillis / 1000);
+
+        long start = System.currentTimeMillis();
+        long recordFrom = start + warmupMillis;
+        long end = recordFrom + durationMillis;
+
+        ExecutorService pool = Executors.newFixedThreadPool(slowClients + fastClients);
+        List<Future<Recorder>> slow = new ArrayList<>();
+        List<Future<Recorder>> fast = new ArrayList<>();
+        for (int i = 0; i < slowClients; i++) {
+            // Stagger the slow uploads so they don't all finish at the same moment
+            long delay = i * 1000L / Math.max(1, slowClients);
+            slow.add(pool.submit(() -> loop(slowHead, slowBody, slowBytesPerSecond, 400, delay, recordFrom, end)));
+        }
+        for (int i = 0; i < fastClients; i++) {
+            fast.add(pool.submit(() -> loop(fastHead, null, 0, 200, 0, recordFrom, end)));
+        }
+
+        Recorder slowResult = merge(slow);
+        Recorder fastResult = merge(fast);
+        pool.shutdownNow();
+
+        System.out.println();
+        System.out.printf("%-22s %10s %10s %10s %10s %10s %8s%n",
+                "workload", "req/s", "p50 ms", "p99 ms", "max ms", "requests", "errors");
+        report("slow upload (register)", slowResult);
+        report("fast read (role page)", fastResult);
+    }
+
+    /**
+     * Register the benchmark user and log in to get a token for the fast clients
+     */
+    private String setUp(String email, String password) throws IOException {
+        byte[] register = MAPPER.writeValueAsBytes(Map.of(
+                "email", email, "password", password, "firstName", "Bench", "role", "FARMER"));
+        Response registered = exchange(post("/users/register", register), register, 0);
+        if (registered.status != 200) {
+            throw new IllegalStateException("Registration failed with HTTP " + registered.status + ": " + registered.body);
+        }
+
+        byte[] login = MAPPER.writeValueAsBytes(Map.of("email", email, "password", password));
+        Response loggedIn = exchange(post("/auth/login", login), login, 0);
+        if (loggedIn.status != 200) {
+            throw new IllegalStateException("Login failed with HTTP " + loggedIn.status + ": " + loggedIn.body);
+        }
+        JsonNode json = MAPPER.readTree(loggedIn.body);
+        return json.get("token").asText();
+    }
+
+    private Recorder loop(String head, byte[] body, int bytesPerSecond, int expectedStatus,
+                          long initialDelayMillis, long recordFrom, long end) throws InterruptedException {
+        Thread.sleep(initialDelayMillis);
+        Recorder recorder = new Recorder();
+        while (System.currentTimeMillis() < end) {
+            long startNanos = System.nanoTime();
+            boolean ok;
+            try {
+                ok = exchange(head, body, bytesPerSecond).status == expectedStatus;
+            } catch (IOException e) {
+                ok = false;
+            }
+            if (System.currentTimeMillis() >= recordFrom) {
+                recorder.record(System.nanoTime() - startNanos, ok);
+            }
+        }
+        return recorder;
+    }
+
+    /**
+     * Send one HTTP/1.1 request over a new connection, trickling the body at the given rate
+     */
+    private Response exchange(String head, byte[] body, int bytesPerSecond) throws IOException {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(baseUri.getHost(), port()), 10_000);
+            socket.setSoTimeout(120_000);
+
+            OutputStream out = socket.getOutputStream();
+            out.write(head.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            if (body != null) {
+                writeThrottled(out, body, bytesPerSecond);
+            }
+
+            InputStream in = socket.getInputStream();
+            byte[] response = in.readAllBytes();
+            String text = new String(response, StandardCharsets.UTF_8);
+            int headerEnd = text.indexOf("\r\n\r\n");
+            if (!text.startsWith("HTTP/1.1 ") || text.length() < 12) {
+                throw new IOException("Malformed response");
+            }
+            return new Response(Integer.parseInt(text.substring(9, 12)),
+                    headerEnd < 0 ? "" : text.substring(headerEnd + 4));
+        }
+    }
+
+    private static void writeThrottled(OutputStream out, byte[] body, int bytesPerSecond) throws IOException {
+        if (bytesPerSecond <= 0) {
+            out.write(body);
+            out.flush();
+            return;
+        }
+        // 10 chunks per second approximates a steady low-bandwidth link
+        int chunk = Math.max(1, bytesPerSecond / 10);
+        for (int offset = 0; offset < body.length; offset += chunk) {
+            out.write(body, offset, Math.min(chunk, body.length - offset));
+            out.flush();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while uploading", e);
+            }
+        }
+    }
+
+    private String post(String path, byte[] body) {
+        return "POST " + path(path) + " HTTP/1.1\r\n"
+                + "Host: " + hostHeader() + "\r\n"
+                + "Content-Type: application/json\r\n"
+                + "Content-Length: " + body.length + "\r\n"
+                + "Connection: close\r\n\r\n";
+    }
+
+    private String path(String relative) {
+        return baseUri.getPath() + relative;
+    }
+
+    private String hostHeader() {
+        return baseUri.getHost() + ":" + port();
+    }
+
+    private int port() {
+        return baseUri.getPort() > 0 ? baseUri.getPort() : 80;
+    }
+
+    private Recorder merge(List<Future<Recorder>> futures) throws Exception {
+        Recorder merged = new Recorder();
+        for (Future<Recorder> future : futures) {
+            merged.add(future.get());
+        }
+        return merged;
+    }
+
+    private void report(String name, Recorder recorder) {
+        long[] latencies = recorder.sorted();
+        double seconds = durationMillis / 1000.0;
+        System.out.printf("%-22s %10.1f %10.1f %10.1f %10.1f %10d %8d%n",
+                name,
+                latencies.length / seconds,
+                percentileMillis(latencies, 0.50),
+                percentileMillis(latencies, 0.99),
+                percentileMillis(latencies, 1.0),
+                latencies.length,
+                recorder.errors);
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private record Response(int status, String body) {
+    }
+
+    /**
+     * Latencies of one client thread (merged after the run, so no synchronization)
+     */
+    private static final class Recorder {
+
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+
+        void record(long nanos, boolean ok) {
+            if (!ok) {
+                errors++;
+            }
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = nanos;
+        }
+
+        void add(Recorder other) {
+            for (int i = 0; i < other.size; i++) {
+                record(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(latencies, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
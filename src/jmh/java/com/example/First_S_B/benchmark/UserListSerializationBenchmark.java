@@ -0,0 +1,83 @@
+package com.example.First_S_B.benchmark;
+
+import com.example.First_S_B.model.Role;
+import com.example.First_S_B.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the GET /users page and GET /users/roles responses
+ *
+ * The page is the same map UserController.getAllUsers returns, serialized to
+ * bytes as the HTTP message converter does. serializeUserPage serializes
+ * full User entities (with nested Role), serializeSummaryPage the
+ * UserSummary read models the endpoint actually returns.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserListSerializationBenchmark {
+
+    @Param({"50", "500"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Map<String, Object> page;
+    private Map<String, Object> summaryPage;
+    private List<Role> roles;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkData.objectMapper();
+        roles = BenchmarkData.roles();
+        List<User> users = BenchmarkData.users(pageSize, roles);
+
+        page = page(users, users.get(users.size() - 1).getId());
+        summaryPage = page(BenchmarkData.summaries(users), users.get(users.size() - 1).getId());
+    }
+
+    @Benchmark
+    public byte[] serializeUserPage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeSummaryPage() throws Exception {
+        return objectMapper.writeValueAsBytes(summaryPage);
+    }
+
+    @Benchmark
+    public byte[] serializeRoles() throws Exception {
+        return objectMapper.writeValueAsBytes(roles);
+    }
+
+    private static Map<String, Object> page(List<?> users, Long nextCursor) {
+        Map<String, Object> page = new HashMap<>();
+        page.put("users", users);
+        page.put("size", users.size());
+        page.put("hasMore", true);
+        page.put("nextCursor", nextCursor);
+        return page;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.First_S_B.benchmark;
+
+import com.example.First_S_B.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bytes on the wire and serialization CPU of JSON, CBOR and Smile responses
+ *
+ * Encodes the GET /users page (UserSummary read models) and the
+ * GET /users/stats map with mappers configured like the HTTP message
+ * converters, with and without gzip (what server.compression adds above
+ * its threshold). The encoded and gzipped sizes are printed once per
+ * trial; the benchmarks measure the CPU side.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"50", "500"})
+    private int pageSize;
+
+    private ObjectMapper mapper;
+    private Map<String, Object> summaryPage;
+    private Map<String, Object> stats;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "cbor" -> BenchmarkData.cborMapper();
+            case "smile" -> BenchmarkData.smileMapper();
+            default -> BenchmarkData.objectMapper();
+        };
+        List<User> users = BenchmarkData.users(pageSize, BenchmarkData.roles());
+
+        summaryPage = new HashMap<>();
+        summaryPage.put("users", BenchmarkData.summaries(users));
+        summaryPage.put("size", users.size());
+        summaryPage.put("hasMore", true);
+        summaryPage.put("nextCursor", users.get(users.size() - 1).getId());
+        stats = BenchmarkData.stats();
+
+        byte[] page = mapper.writeValueAsBytes(summaryPage);
+        byte[] statsBytes = mapper.writeValueAsBytes(stats);
+        System.out.printf("%n[wire size] format=%s pageSize=%d: page %d B (gzip %d B), stats %d B (gzip %d B)%n",
+                format, pageSize, page.length, gzip(page).length, statsBytes.length, gzip(statsBytes).length);
+    }
+
+    @Benchmark
+    public byte[] serializeSummaryPage() throws IOException {
+        return mapper.writeValueAsBytes(summaryPage);
+    }
+
+    @Benchmark
+    public byte[] serializeSummaryPageGzip() throws IOException {
+        return gzip(mapper.writeValueAsBytes(summaryPage));
+    }
+
+    @Benchmark
+    public byte[] serializeStats() throws IOException {
+        return mapper.writeValueAsBytes(stats);
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+}
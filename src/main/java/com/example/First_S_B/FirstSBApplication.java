@@ -2,6 +2,7 @@ package com.example.First_S_B;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main Application Class for Krishi Saarathi Backend
@@ -12,10 +13,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * - @EnableAutoConfiguration: Tells Spring Boot to start adding beans based on classpath settings
  * - @ComponentScan: Tells Spring to look for other components in the com.example.First_S_B package
  *
+ * @EnableScheduling turns on @Scheduled background jobs (e.g. statistics reconciliation).
+ *
  * @author Krishi Saarathi Development Team
  * @version 1.0.0
  */
 @SpringBootApplication
+@EnableScheduling
 public class FirstSBApplication {
 
 	/**
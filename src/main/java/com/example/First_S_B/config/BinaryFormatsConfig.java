@@ -0,0 +1,52 @@
+package com.example.First_S_B.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary encodings of the JSON responses for low-bandwidth clients
+ *
+ * Clients that send "Accept: application/cbor" or
+ * "Accept: application/x-jackson-smile" get the same response objects
+ * encoded as CBOR or Smile; everyone else keeps getting JSON. Request
+ * bodies may use the same encodings (Content-Type).
+ *
+ * Spring MVC would register both converters on its own once the libraries
+ * are on the classpath, but with plain ObjectMappers. These beans replace
+ * them with mappers from Spring Boot's builder, so binary responses follow
+ * the same spring.jackson.* settings (dates, inclusion, modules) as JSON.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+    /**
+     * Media type of Smile, as registered by Jackson
+     */
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    /**
+     * @param builder Spring Boot's ObjectMapper builder (a new instance per injection point)
+     * @return converter for application/cbor
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * @param builder Spring Boot's ObjectMapper builder (a new instance per injection point)
+     * @return converter for application/x-jackson-smile
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
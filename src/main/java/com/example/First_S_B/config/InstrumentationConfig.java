@@ -0,0 +1,51 @@
+package com.example.First_S_B.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wires the per-request SQL instrumentation
+ *
+ * The application DataSource (the bean named dataSource: the single pool,
+ * or the ReplicaRoutingDataSource over primary and replicas) is wrapped in
+ * an InstrumentedDataSource;
+ * RequestInstrumentationFilter and the slowrequests actuator endpoint
+ * are picked up as components.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Configuration
+public class InstrumentationConfig {
+
+    /**
+     * Name of the application DataSource bean, the only one that is wrapped
+     */
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    /**
+     * Wrap the application DataSource so its statements are counted per request
+     *
+     * Only that bean: the pools behind it (e.g. the read replicas) are reached
+     * through it, and wrapping them as well would count every statement twice.
+     * Static, so the post-processor is created before the DataSource it wraps.
+     *
+     * @return post-processor that wraps the application DataSource
+     */
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof InstrumentedDataSource)) {
+                    return new InstrumentedDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.First_S_B.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource that counts SQL statements and fetched rows per HTTP request
+ *
+ * Connections, statements and result sets are wrapped in lightweight
+ * proxies. Each execute call and each row read is added to the
+ * SqlRequestStats of the current thread; outside a request the proxies
+ * only delegate. This covers JPA and JdbcTemplate alike, since both go
+ * through this DataSource.
+ *
+ * The pool stays underneath (DelegatingDataSource), so pool metrics and
+ * health checks still find it.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    public InstrumentedDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        return wrap(Connection.class, new ConnectionHandler(connection));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = super.getConnection(username, password);
+        return wrap(Connection.class, new ConnectionHandler(connection));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Identity semantics for the proxy itself, so proxies work as map keys
+     * (Hibernate tracks open statements in a HashMap)
+     */
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> null;
+        };
+    }
+
+    private static boolean isIdentityMethod(Method method) {
+        return (method.getName().equals("equals") && method.getParameterCount() == 1)
+                || (method.getName().equals("hashCode") && method.getParameterCount() == 0);
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return wrap(method.getReturnType(), new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String sql;
+        private int batchSize;
+        private String lastBatchSql;
+        private SqlRequestStats.CapturedStatement lastExecuted;
+
+        StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            String name = method.getName();
+            if (name.equals("addBatch")) {
+                batchSize++;
+                if (args != null && args.length == 1 && args[0] instanceof String text) {
+                    lastBatchSql = text;
+                }
+                return invokeTarget(target, method, args);
+            }
+            if (name.equals("clearBatch")) {
+                batchSize = 0;
+                return invokeTarget(target, method, args);
+            }
+            if (name.equals("getResultSet")) {
+                return wrapResultSet(invokeTarget(target, method, args));
+            }
+            if (!name.startsWith("execute")) {
+                return invokeTarget(target, method, args);
+            }
+
+            SqlRequestStats stats = SqlRequestStats.current();
+            if (stats == null) {
+                return invokeTarget(target, method, args);
+            }
+
+            long startNanos = System.nanoTime();
+            try {
+                return wrapResultSet(invokeTarget(target, method, args));
+            } finally {
+                lastExecuted = stats.statementExecuted(describe(name, args), System.nanoTime() - startNanos);
+                if (name.startsWith("executeBatch") || name.startsWith("executeLargeBatch")) {
+                    batchSize = 0;
+                }
+            }
+        }
+
+        private String describe(String name, Object[] args) {
+            String text = args != null && args.length > 0 && args[0] instanceof String given ? given : sql;
+            if (name.startsWith("executeBatch") || name.startsWith("executeLargeBatch")) {
+                return "[batch of " + batchSize + "] " + (text != null ? text : lastBatchSql);
+            }
+            return text;
+        }
+
+        private Object wrapResultSet(Object result) {
+            SqlRequestStats stats = SqlRequestStats.current();
+            if (result instanceof ResultSet resultSet && stats != null) {
+                // executeQuery records the statement after returning, so link rows lazily
+                return wrap(ResultSet.class, new ResultSetHandler(resultSet, stats, this));
+            }
+            return result;
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final SqlRequestStats stats;
+        private final StatementHandler statement;
+
+        ResultSetHandler(ResultSet target, SqlRequestStats stats, StatementHandler statement) {
+            this.target = target;
+            this.stats = stats;
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            Object result = invokeTarget(target, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                stats.rowFetched(statement.lastExecuted);
+            }
+            return result;
+        }
+    }
+}
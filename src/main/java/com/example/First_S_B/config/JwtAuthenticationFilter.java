@@ -1,4 +1,86 @@
 package com.example.First_S_B.config;
 
-public class JwtAuthenticationFilter {
+import com.example.First_S_B.dto.AppUserDetails;
+import com.example.First_S_B.dto.AuthenticatedUser;
+import com.example.First_S_B.service.CustomUserDetailsService;
+import com.example.First_S_B.service.JwtService;
+import com.example.First_S_B.service.TokenRevocationService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authenticates requests that carry "Authorization: Bearer {jwt}"
+ *
+ * The Authentication is built from the token claims (user id, email, role).
+ * The account is also checked to still be active with the same role, using
+ * the cached user details, so deactivation and role changes take effect
+ * immediately without a database query per request. Tokens revoked by
+ * logout are rejected through the in-memory denylist of
+ * TokenRevocationService. Requests without a
+ * valid token continue unauthenticated and are handled by the
+ * authorization rules in SecurityConfig.
+ *
+ * Created by SecurityConfig (not a @Component) so it only runs inside
+ * the Spring Security filter chain.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   CustomUserDetailsService userDetailsService,
+                                   TokenRevocationService tokenRevocationService) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            AuthenticatedUser user = jwtService.verify(header.substring(BEARER_PREFIX.length()));
+            if (user != null && !tokenRevocationService.isRevoked(user) && isStillValid(user)) {
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(authentication);
+                SecurityContextHolder.setContext(context);
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Check that the account behind a token is still active and has the role the token claims
+     */
+    private boolean isStillValid(AuthenticatedUser user) {
+        try {
+            AppUserDetails details = userDetailsService.loadUserById(user.getUserId());
+            return details.isEnabled() && details.getRole().equals(user.getRole());
+        } catch (UsernameNotFoundException e) {
+            return false;
+        }
+    }
 }
@@ -0,0 +1,186 @@
+package com.example.First_S_B.config;
+
+import com.example.First_S_B.service.LoadSheddingService;
+import com.example.First_S_B.service.LoadSheddingService.Priority;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Refuses user API requests early (503 + Retry-After) when the server is saturated
+ *
+ * Every /users/** request takes a slot from LoadSheddingService before
+ * anything else runs, including token verification, so a refused request
+ * costs almost nothing. The slot is freed when the response is complete;
+ * for streamed responses that is when the async request ends.
+ *
+ * Only durations that reflect server queueing are used as latency
+ * samples. Streamed responses and uploads (photo, bulk import) are not:
+ * their duration depends on the client's bandwidth, and slow 2G/3G
+ * uploads would otherwise drive the limit down for everyone.
+ *
+ * Lanes, first matching rule wins (everything else is NORMAL):
+ * - CRITICAL: role list and statistics (served from memory)
+ * - HEAVY: full listings, streams, exports, profile queries and imports
+ *
+ * Runs after RequestInstrumentationFilter, so refused requests are measured too.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private static final List<Rule> RULES = List.of(
+            rule(HttpMethod.GET, "/users/roles", Priority.CRITICAL, true),
+            rule(HttpMethod.GET, "/users/stats", Priority.CRITICAL, true),
+            rule(HttpMethod.GET, "/users", Priority.HEAVY, true),
+            rule(HttpMethod.GET, "/users/stream", Priority.HEAVY, true),
+            rule(HttpMethod.GET, "/users/role/{roleName}", Priority.HEAVY, true),
+            rule(HttpMethod.GET, "/users/role/{roleName}/stream", Priority.HEAVY, true),
+            rule(HttpMethod.GET, "/users/export", Priority.HEAVY, true),
+            rule(HttpMethod.GET, "/users/profiles", Priority.HEAVY, true),
+            rule(HttpMethod.POST, "/users/import", Priority.HEAVY, false),
+            rule(HttpMethod.PUT, "/users/{id}/profile-image", Priority.NORMAL, false));
+
+    /**
+     * Lane of requests without a rule
+     */
+    private static final Rule DEFAULT_RULE = new Rule(null, null, Priority.NORMAL, true);
+
+    private final LoadSheddingService loadSheddingService;
+    private final ObjectMapper objectMapper;
+
+    public LoadSheddingFilter(LoadSheddingService loadSheddingService, ObjectMapper objectMapper) {
+        this.loadSheddingService = loadSheddingService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!loadSheddingService.isEnabled()) {
+            return true;
+        }
+        String path = path(request);
+        return !path.equals("/users") && !path.startsWith("/users/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Rule rule = classify(request.getMethod(), path(request));
+        Priority priority = rule.priority();
+        if (!loadSheddingService.tryAcquire(priority)) {
+            reject(response);
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        boolean async = false;
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            filterChain.doFilter(request, response);
+            status = response.getStatus();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete());
+                async = true;
+            }
+        } finally {
+            // Async requests are released by ReleaseOnComplete
+            if (!async && rule.sampleLatency()) {
+                loadSheddingService.release(priority, startNanos, status);
+            } else if (!async) {
+                loadSheddingService.release();
+            }
+        }
+    }
+
+    /**
+     * Rule for a request: the first matching one, else NORMAL with latency sampled
+     *
+     * @param method HTTP method
+     * @param path request path without the context path
+     * @return lane and sampling of the request
+     */
+    static Rule classify(String method, String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (Rule rule : RULES) {
+            if (rule.method().matches(method) && rule.pattern().matches(container)) {
+                return rule;
+            }
+        }
+        return DEFAULT_RULE;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("success", false);
+        body.put("message", "Server is busy, please retry shortly");
+
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(loadSheddingService.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static Rule rule(HttpMethod method, String pattern, Priority priority, boolean sampleLatency) {
+        return new Rule(method, PathPatternParser.defaultInstance.parse(pattern), priority, sampleLatency);
+    }
+
+    /**
+     * @param sampleLatency whether the request's duration is fed to the adaptive limit
+     */
+    record Rule(HttpMethod method, PathPattern pattern, Priority priority, boolean sampleLatency) {
+    }
+
+    /**
+     * Frees the slot of a streamed response once the async request is over
+     */
+    private final class ReleaseOnComplete implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            loadSheddingService.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // onComplete follows
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // onComplete follows
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
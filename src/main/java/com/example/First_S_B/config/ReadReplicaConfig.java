@@ -0,0 +1,88 @@
+package com.example.First_S_B.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes read-only transactions to read replicas when app.datasource.replica-urls is set
+ *
+ * Replaces Spring Boot's DataSource with a ReplicaRoutingDataSource over a
+ * primary pool (spring.datasource.*) and one pool per replica URL. All
+ * pools take their settings from spring.datasource.hikari.*. Without
+ * replica URLs this configuration is skipped and everything uses the
+ * single primary pool as before.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica-urls")
+public class ReadReplicaConfig {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    /**
+     * @return the replica pools, health-checked on app.datasource.replica-health-check-interval-ms
+     */
+    @Bean
+    public ReadReplicas readReplicas(DataSourceProperties properties,
+                                     Environment environment,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.datasource.replica-urls}") List<String> urls,
+                                     @Value("${app.datasource.replica-username:${spring.datasource.username:}}") String username,
+                                     @Value("${app.datasource.replica-password:${spring.datasource.password:}}") String password,
+                                     @Value("${app.datasource.replica-lag-query:}") String lagQuery,
+                                     @Value("${app.datasource.replica-max-lag-ms:2000}") long maxLagMillis) {
+        List<DataSource> pools = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            HikariDataSource pool = pool(environment, meterRegistry, "replica-" + (pools.size() + 1));
+            pool.setJdbcUrl(url.trim());
+            pool.setUsername(username);
+            pool.setPassword(password);
+            pool.setDriverClassName(properties.determineDriverClassName());
+            pool.setReadOnly(true);
+            pools.add(pool);
+        }
+        return new ReadReplicas(pools, lagQuery, maxLagMillis, meterRegistry);
+    }
+
+    /**
+     * @return the application DataSource: primary for writes, replicas for read-only transactions
+     */
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties,
+                                 Environment environment,
+                                 MeterRegistry meterRegistry,
+                                 ReadReplicas readReplicas,
+                                 @Value("${app.datasource.read-your-writes-window-ms:10000}") long readYourWritesWindowMillis) {
+        HikariDataSource primary = pool(environment, meterRegistry, "primary");
+        primary.setJdbcUrl(properties.determineUrl());
+        primary.setUsername(properties.determineUsername());
+        primary.setPassword(properties.determinePassword());
+        primary.setDriverClassName(properties.determineDriverClassName());
+        return new ReplicaRoutingDataSource(primary, readReplicas,
+                Duration.ofMillis(readYourWritesWindowMillis), meterRegistry);
+    }
+
+    private static HikariDataSource pool(Environment environment, MeterRegistry meterRegistry, String name) {
+        HikariDataSource pool = new HikariDataSource();
+        Binder.get(environment).bind(HIKARI_PREFIX, Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+}
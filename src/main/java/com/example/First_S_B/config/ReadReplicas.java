@@ -0,0 +1,197 @@
+package com.example.First_S_B.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The read replicas behind ReplicaRoutingDataSource, with health checks and load-based selection
+ *
+ * A replica is used only while healthy: its last health check could run a
+ * query and, if a lag query is configured, it was at most maxLagMillis
+ * behind the primary. A replica that fails to hand out a connection is
+ * taken out until the next successful check. Among healthy replicas the
+ * one with the fewest connections in use is picked (Hikari pools), ties
+ * going round-robin.
+ *
+ * Metrics (Micrometer): datasource.replica.healthy and
+ * datasource.replica.lag (ms), tagged by replica name.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public class ReadReplicas implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicas.class);
+
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * One replica pool and what the last health check found
+     */
+    static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile long lagMillis;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        String name() {
+            return name;
+        }
+
+        boolean healthy() {
+            return healthy;
+        }
+
+        /**
+         * @return connections in use, or 0 when the pool doesn't report it
+         */
+        int activeConnections() {
+            if (dataSource instanceof HikariDataSource hikari) {
+                HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                return pool != null ? pool.getActiveConnections() : 0;
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * @param dataSources replica pools, named replica-1, replica-2, ... in this order
+     * @param lagQuery query returning the replica's lag in ms as its only value, or blank to skip lag checks
+     * @param maxLagMillis replicas further behind are not used
+     * @param meterRegistry registry for the health and lag gauges (may be null)
+     */
+    public ReadReplicas(List<DataSource> dataSources, String lagQuery, long maxLagMillis, MeterRegistry meterRegistry) {
+        List<Replica> list = new ArrayList<>(dataSources.size());
+        for (int i = 0; i < dataSources.size(); i++) {
+            list.add(new Replica("replica-" + (i + 1), dataSources.get(i)));
+        }
+        this.replicas = List.copyOf(list);
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLagMillis = maxLagMillis;
+
+        if (meterRegistry != null) {
+            for (Replica replica : replicas) {
+                Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                        .tag("replica", replica.name)
+                        .description("Whether the replica currently receives read-only transactions")
+                        .register(meterRegistry);
+                Gauge.builder("datasource.replica.lag", replica, r -> r.lagMillis)
+                        .tag("replica", replica.name)
+                        .description("Replication lag found by the last health check (ms)")
+                        .baseUnit("milliseconds")
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    /**
+     * Open a connection to the least loaded healthy replica
+     *
+     * Tries the other healthy replicas if one fails.
+     *
+     * @return a replica connection, or null if no replica is available
+     */
+    public Connection getConnection() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        boolean[] tried = new boolean[size];
+
+        for (int attempt = 0; attempt < size; attempt++) {
+            int chosen = -1;
+            int chosenLoad = Integer.MAX_VALUE;
+            for (int offset = 0; offset < size; offset++) {
+                int index = (start + offset) % size;
+                Replica replica = replicas.get(index);
+                if (tried[index] || !replica.healthy) {
+                    continue;
+                }
+                int load = replica.activeConnections();
+                if (load < chosenLoad) {
+                    chosen = index;
+                    chosenLoad = load;
+                }
+            }
+            if (chosen < 0) {
+                return null;
+            }
+            tried[chosen] = true;
+            Replica replica = replicas.get(chosen);
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.healthy = false;
+                log.warn("Read replica {} failed to open a connection, using it again after a successful health check: {}",
+                        replica.name, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check every replica: reachable and, with a lag query, not too far behind
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica-health-check-interval-ms:5000}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (lagQuery != null) {
+                    try (Statement statement = connection.createStatement();
+                         ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                        replica.lagMillis = resultSet.next() ? resultSet.getLong(1) : 0;
+                    }
+                    healthy = replica.lagMillis <= maxLagMillis;
+                } else {
+                    healthy = connection.isValid(2);
+                }
+            } catch (SQLException e) {
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                log.info("Read replica {} is now {} (lag {} ms)", replica.name, healthy ? "healthy" : "unhealthy", replica.lagMillis);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    List<Replica> replicas() {
+        return replicas;
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.debug("Failed to close read replica {}", replica.name, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.example.First_S_B.config;
+
+import com.example.First_S_B.dto.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to the read replicas and everything else to the primary
+ *
+ * Read-only transactions are the Spring Data finder and count methods and
+ * methods marked @Transactional(readOnly = true): listings, stats, search
+ * rebuilds, streams. Connections are fetched lazily
+ * (LazyConnectionDataSourceProxy), when the first statement runs, so the
+ * transaction's read-only flag is known by then. Statements outside a
+ * transaction, writes and schema setup go to the primary.
+ *
+ * Read-your-writes: while a client runs a read-write transaction and for
+ * readYourWritesWindow after it completes, its read-only transactions go
+ * to the primary, so a user who just registered or edited a profile sees
+ * the change even if the replicas lag behind. Clients are identified by
+ * the authenticated user id and by a random id in the ryw-client cookie.
+ * The cookie is issued on a write without one, so a registration followed
+ * by a login (before the client has a token) also reads its own row. The
+ * remote address is never used: behind a NAT or carrier-grade NAT one
+ * writer would send many clients to the primary.
+ *
+ * Read-your-writes only covers the client that wrote. Reads that must see
+ * other clients' writes at once (the account checks behind login and token
+ * validation, after an admin deactivated a user or changed their role) run
+ * through readFromPrimary.
+ *
+ * Reads fall back to the primary when no replica is healthy.
+ *
+ * Metrics (Micrometer): datasource.routing.connections, tagged by target
+ * (replica, primary) and reason (read-only, recent-write, required,
+ * no-replica, read-write).
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    /**
+     * Cookie identifying a client that wrote before it had a token
+     */
+    static final String CLIENT_COOKIE = "ryw-client";
+
+    private static final int MAX_CLIENT_ID_LENGTH = 64;
+    private static final String CLIENT_ID_ATTRIBUTE = ReplicaRoutingDataSource.class.getName() + ".clientId";
+
+    /**
+     * Set while the current thread runs inside readFromPrimary
+     */
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final ReadReplicas replicas;
+    private final Duration readYourWritesWindow;
+    private final Cache<String, Boolean> recentWriters;
+
+    private final Counter toReplica;
+    private final Counter recentWriteToPrimary;
+    private final Counter requiredToPrimary;
+    private final Counter noReplicaToPrimary;
+    private final Counter readWriteToPrimary;
+
+    /**
+     * @param primary pool of the primary database
+     * @param replicas read replicas
+     * @param readYourWritesWindow how long a client's reads stay on the primary after its write
+     * @param meterRegistry registry for the routing counters
+     */
+    public ReplicaRoutingDataSource(DataSource primary, ReadReplicas replicas,
+                                    Duration readYourWritesWindow, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.readYourWritesWindow = readYourWritesWindow;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .maximumSize(1_000_000)
+                .build();
+
+        this.toReplica = routingCounter(meterRegistry, "replica", "read-only");
+        this.recentWriteToPrimary = routingCounter(meterRegistry, "primary", "recent-write");
+        this.requiredToPrimary = routingCounter(meterRegistry, "primary", "required");
+        this.noReplicaToPrimary = routingCounter(meterRegistry, "primary", "no-replica");
+        this.readWriteToPrimary = routingCounter(meterRegistry, "primary", "read-write");
+
+        setTargetDataSource(new WriteTrackingDataSource());
+        setReadOnlyDataSource(new ReadOnlyDataSource());
+        afterPropertiesSet();
+    }
+
+    /**
+     * Run reads that must not see a lagging replica on the primary
+     *
+     * Only read-only transactions that start inside the call are affected.
+     * Without read replicas configured this simply runs the reads.
+     *
+     * @param reads the reads, e.g. a repository lookup
+     * @return the result of reads
+     */
+    public static <T> T readFromPrimary(Supplier<T> reads) {
+        Boolean previous = PRIMARY_READS.get();
+        PRIMARY_READS.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_READS.remove();
+            } else {
+                PRIMARY_READS.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Close the primary pool (the replicas are closed by their own bean)
+     */
+    @Override
+    public void close() throws IOException {
+        if (primary instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * Whether the current client wrote within the read-your-writes window
+     */
+    boolean isRecentWriter() {
+        for (String client : currentClients(false)) {
+            if (recentWriters.getIfPresent(client) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remember the current client as a writer now and again when its transaction completes
+     */
+    void recordWrite() {
+        List<String> clients = currentClients(true);
+        if (clients.isEmpty()) {
+            return;
+        }
+        remember(clients);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remember(clients);
+                }
+            });
+        }
+    }
+
+    private void remember(List<String> clients) {
+        for (String client : clients) {
+            recentWriters.put(client, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Keys for the client of the current request: user id (if authenticated) and client cookie
+     *
+     * @param issue whether to issue a client cookie to an anonymous client that has none
+     */
+    private List<String> currentClients(boolean issue) {
+        List<String> clients = new ArrayList<>(2);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean authenticated = authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser;
+        if (authenticated) {
+            clients.add("user:" + ((AuthenticatedUser) authentication.getPrincipal()).getUserId());
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            String clientId = clientId(servletAttributes, issue && !authenticated);
+            if (clientId != null) {
+                clients.add("client:" + clientId);
+            }
+        }
+        return clients;
+    }
+
+    /**
+     * Client id from the cookie (or issued earlier in this request), else a new one if requested
+     */
+    private String clientId(ServletRequestAttributes attributes, boolean issue) {
+        HttpServletRequest request = attributes.getRequest();
+        String clientId = (String) request.getAttribute(CLIENT_ID_ATTRIBUTE);
+        if (clientId != null) {
+            return clientId;
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (CLIENT_COOKIE.equals(cookie.getName()) && !cookie.getValue().isEmpty()
+                        && cookie.getValue().length() <= MAX_CLIENT_ID_LENGTH) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        HttpServletResponse response = attributes.getResponse();
+        if (!issue || response == null || response.isCommitted()) {
+            return null;
+        }
+        clientId = UUID.randomUUID().toString();
+        request.setAttribute(CLIENT_ID_ATTRIBUTE, clientId);
+        ResponseCookie cookie = ResponseCookie.from(CLIENT_COOKIE, clientId)
+                .path(request.getContextPath().isEmpty() ? "/" : request.getContextPath())
+                .maxAge(Duration.ofSeconds(Math.max(1, readYourWritesWindow.toSeconds())))
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Lax")
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        return clientId;
+    }
+
+    private static Counter routingCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("datasource.routing.connections")
+                .tag("target", target)
+                .tag("reason", reason)
+                .description("Connections handed to transactions, by database and why it was chosen")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The primary, used by everything that is not a read-only transaction
+     */
+    private final class WriteTrackingDataSource extends DelegatingDataSource {
+
+        WriteTrackingDataSource() {
+            super(primary);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (TransactionSynchronizationManager.isActualTransactionActive()
+                    && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                recordWrite();
+                readWriteToPrimary.increment();
+            }
+            return super.getConnection();
+        }
+    }
+
+    /**
+     * A replica, or the primary when required, the client just wrote or no replica is available
+     */
+    private final class ReadOnlyDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (PRIMARY_READS.get() != null) {
+                requiredToPrimary.increment();
+                return primary.getConnection();
+            }
+            if (isRecentWriter()) {
+                recentWriteToPrimary.increment();
+                return primary.getConnection();
+            }
+            Connection connection = replicas.getConnection();
+            if (connection == null) {
+                noReplicaToPrimary.increment();
+                return primary.getConnection();
+            }
+            toReplica.increment();
+            return connection;
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.First_S_B.config;
+
+import com.example.First_S_B.dto.SlowRequest;
+import com.example.First_S_B.service.SlowRequestLog;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the SQL cost of every HTTP request, per endpoint
+ *
+ * Collects statements, rows and JDBC time through InstrumentedDataSource
+ * and publishes them tagged like http.server.requests (method, uri pattern):
+ * - app.requests.sql.statements - statements per request
+ * - app.requests.sql.rows - rows fetched per request
+ * - app.requests.sql.time - JDBC execution time per request
+ *
+ * Requests slower than app.instrumentation.slow-request-threshold-ms go
+ * to the SlowRequestLog with the SQL they issued.
+ *
+ * Runs before Spring Security so rejected requests are measured as well.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestInstrumentationFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final SlowRequestLog slowRequestLog;
+    private final int maxCapturedStatements;
+
+    /**
+     * Meters by method and uri pattern, registered on first use; uri patterns keep this small
+     */
+    private final Map<String, RequestMeters> metersByEndpoint = new ConcurrentHashMap<>();
+
+    public RequestInstrumentationFilter(MeterRegistry meterRegistry,
+                                        SlowRequestLog slowRequestLog,
+                                        @Value("${app.instrumentation.max-captured-statements:100}") int maxCapturedStatements) {
+        this.meterRegistry = meterRegistry;
+        this.slowRequestLog = slowRequestLog;
+        this.maxCapturedStatements = maxCapturedStatements;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.begin(maxCapturedStatements);
+        long startNanos = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlRequestStats.end();
+            record(request, response, stats, System.nanoTime() - startNanos);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response,
+                        SqlRequestStats stats, long durationNanos) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : (response.getStatus() == 404 ? "NOT_FOUND" : "UNKNOWN");
+        String method = request.getMethod();
+
+        RequestMeters meters = metersByEndpoint.computeIfAbsent(method + " " + uri, key -> meters(method, uri));
+        meters.statements().record(stats.getStatements());
+        meters.rows().record(stats.getRows());
+        meters.jdbcTime().record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+
+        if (slowRequestLog.isSlow(durationNanos)) {
+            List<SlowRequest.Statement> statements = new ArrayList<>();
+            for (SqlRequestStats.CapturedStatement statement : stats.getCaptured()) {
+                statements.add(new SlowRequest.Statement(statement.getSql(),
+                        statement.getNanos() / 1e6, statement.getRows()));
+            }
+            String path = request.getQueryString() != null
+                    ? request.getRequestURI() + "?" + request.getQueryString()
+                    : request.getRequestURI();
+            slowRequestLog.record(new SlowRequest(Instant.now(), method, path, uri, response.getStatus(),
+                    durationNanos / 1e6, stats.getStatements(), stats.getRows(), stats.getJdbcNanos() / 1e6,
+                    statements, stats.isTruncated()));
+        }
+    }
+
+    private RequestMeters meters(String method, String uri) {
+        return new RequestMeters(
+                DistributionSummary.builder("app.requests.sql.statements")
+                        .description("SQL statements executed per HTTP request")
+                        .tags("method", method, "uri", uri)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry),
+                DistributionSummary.builder("app.requests.sql.rows")
+                        .description("Rows fetched from the database per HTTP request")
+                        .tags("method", method, "uri", uri)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry),
+                Timer.builder("app.requests.sql.time")
+                        .description("JDBC execution time per HTTP request")
+                        .tags("method", method, "uri", uri)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry));
+    }
+
+    /**
+     * The meters of one endpoint
+     */
+    private record RequestMeters(DistributionSummary statements, DistributionSummary rows, Timer jdbcTime) {
+    }
+}
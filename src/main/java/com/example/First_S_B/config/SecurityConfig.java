@@ -1,17 +1,34 @@
 package com.example.First_S_B.config;
 
+import com.example.First_S_B.service.CustomUserDetailsService;
+import com.example.First_S_B.service.JwtService;
+import com.example.First_S_B.service.TokenRevocationService;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
 
 /**
  * Security Configuration for Krishi Saarathi Application
  *
  * This class configures Spring Security settings.
- * Currently set to permit all requests for development phase.
- * Later we'll implement JWT-based authentication for production.
+ * Requests are authenticated statelessly with JWT bearer tokens
+ * (see JwtAuthenticationFilter); no HTTP session is created.
  *
  * @author Krishi Saarathi Team
  * @version 1.0.0
@@ -24,26 +41,92 @@ public class SecurityConfig {
      * Configure HTTP Security
      *
      * This method configures how Spring Security handles HTTP requests.
-     * For development, we're allowing all requests without authentication.
+     * Login, registration and role listing are public, admin listings and
+     * bulk operations need the ADMIN role, everything else needs a valid token.
      *
      * @param http HttpSecurity configuration object
+     * @param jwtService service used to verify bearer tokens
+     * @param userDetailsService cached user details, to reject tokens of deactivated users
+     * @param tokenRevocationService denylist of tokens revoked by logout
      * @return SecurityFilterChain the configured security filter chain
      * @throws Exception if configuration fails
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   JwtService jwtService,
+                                                   CustomUserDetailsService userDetailsService,
+                                                   TokenRevocationService tokenRevocationService) throws Exception {
 
         // Configure HTTP security
         http
                 // Disable CSRF protection (not needed for REST APIs with JWT)
                 .csrf(csrf -> csrf.disable())
 
+                // Tokens carry the authentication, never create a session
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+
+                // Answer 401 (instead of 403) when no valid token is present
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+
                 // Configure authorization rules
                 .authorizeHttpRequests(auth -> auth
-                        // Allow all requests without authentication (for development)
-                        .anyRequest().permitAll()
-                );
+                        // Streaming responses finish with an async dispatch, the request was authorized before
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers("/", "/hello", "/error", "/actuator/health").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/auth/login", "/users/register").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/users/roles").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/users", "/users/stream", "/users/role/**", "/users/sync", "/users/search", "/users/profiles", "/users/events", "/users/export").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/users/import", "/users/*/deactivate", "/users/*/verify").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.PUT, "/users/*/role").hasRole("ADMIN")
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        .anyRequest().authenticated()
+                )
+
+                // Authenticate bearer tokens before the default username/password handling
+                .addFilterBefore(new JwtAuthenticationFilter(jwtService, userDetailsService, tokenRevocationService), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
+
+    /**
+     * Password encoder used for registration and login
+     *
+     * New hashes use BCrypt with the configured work factor and are stored
+     * with a "{bcrypt}" prefix. Passwords saved before hashing was introduced
+     * have no prefix and are compared as plain text, so existing accounts can
+     * still log in; they are re-hashed on their next successful login.
+     *
+     * Always call it through PasswordHashingService, never on request threads.
+     *
+     * @param strength BCrypt log2 work factor (app.security.bcrypt-strength)
+     * @return PasswordEncoder delegating on the stored hash prefix
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt-strength:10}") int strength) {
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt",
+                Map.of("bcrypt", new BCryptPasswordEncoder(strength)));
+        encoder.setDefaultPasswordEncoderForMatches(new LegacyPlainTextPasswordEncoder());
+        return encoder;
+    }
+
+    /**
+     * Matches passwords stored before hashing was introduced (no encoder prefix)
+     */
+    private static final class LegacyPlainTextPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            throw new UnsupportedOperationException("Plain-text passwords are only accepted for matching");
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            if (rawPassword == null || encodedPassword == null) {
+                return false;
+            }
+            return MessageDigest.isEqual(rawPassword.toString().getBytes(StandardCharsets.UTF_8),
+                    encodedPassword.getBytes(StandardCharsets.UTF_8));
+        }
+    }
 }
@@ -0,0 +1,43 @@
+package com.example.First_S_B.config;
+
+import com.example.First_S_B.service.SlowRequestLog;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint listing recent slow requests and their SQL
+ *
+ * GET /actuator/slowrequests lists them (newest first),
+ * DELETE /actuator/slowrequests clears the log.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "slowrequests")
+public class SlowRequestsEndpoint {
+
+    private final SlowRequestLog slowRequestLog;
+
+    public SlowRequestsEndpoint(SlowRequestLog slowRequestLog) {
+        this.slowRequestLog = slowRequestLog;
+    }
+
+    @ReadOperation
+    public Map<String, Object> slowRequests() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("thresholdMillis", slowRequestLog.getThresholdMillis());
+        response.put("requests", slowRequestLog.getRecent());
+        return response;
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowRequestLog.clear();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.First_S_B.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SQL activity of the HTTP request running on the current thread
+ *
+ * Started and ended by RequestInstrumentationFilter, filled in by
+ * InstrumentedDataSource. Work done outside a request (startup, scheduled
+ * tasks, NDJSON streams written on async threads) is not attributed.
+ *
+ * Only used by the request thread, so it is not thread-safe.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private final int maxCapturedStatements;
+    private final List<CapturedStatement> captured = new ArrayList<>();
+    private int statements;
+    private long rows;
+    private long jdbcNanos;
+
+    private SqlRequestStats(int maxCapturedStatements) {
+        this.maxCapturedStatements = maxCapturedStatements;
+    }
+
+    /**
+     * Start collecting for the current thread
+     *
+     * @param maxCapturedStatements how many statements to keep the SQL of
+     * @return the new collector
+     */
+    static SqlRequestStats begin(int maxCapturedStatements) {
+        SqlRequestStats stats = new SqlRequestStats(maxCapturedStatements);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * @return the collector of the current thread, or null outside a request
+     */
+    static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stop collecting for the current thread
+     */
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Record one executed statement (a batch counts as one round trip)
+     *
+     * @param sql statement text
+     * @param nanos execution time
+     * @return the captured statement, or null once the capture limit is reached
+     */
+    CapturedStatement statementExecuted(String sql, long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+        if (captured.size() >= maxCapturedStatements) {
+            return null;
+        }
+        CapturedStatement statement = new CapturedStatement(sql, nanos);
+        captured.add(statement);
+        return statement;
+    }
+
+    /**
+     * Record one row read from a result set
+     *
+     * @param statement statement the row belongs to (may be null)
+     */
+    void rowFetched(CapturedStatement statement) {
+        rows++;
+        if (statement != null) {
+            statement.rows++;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    /**
+     * @return captured statements in execution order
+     */
+    public List<CapturedStatement> getCaptured() {
+        return Collections.unmodifiableList(captured);
+    }
+
+    /**
+     * @return true if more statements ran than were captured
+     */
+    public boolean isTruncated() {
+        return statements > captured.size();
+    }
+
+    /**
+     * One statement issued by the request
+     */
+    public static final class CapturedStatement {
+
+        private final String sql;
+        private final long nanos;
+        private long rows;
+
+        CapturedStatement(String sql, long nanos) {
+            this.sql = sql;
+            this.nanos = nanos;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.First_S_B.controller;
+
+import com.example.First_S_B.exception.IdempotencyKeyReusedException;
+import com.example.First_S_B.exception.InvalidImageException;
+import com.example.First_S_B.exception.ServiceOverloadedException;
+import com.example.First_S_B.exception.SyncTokenExpiredException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Translates exceptions shared by all controllers into JSON error responses
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    /**
+     * Answer 503 Service Unavailable with Retry-After when the server sheds load
+     *
+     * @param e the overload exception
+     * @return error response with Retry-After header
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Map<String, Object>> handleOverloaded(ServiceOverloadedException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(response);
+    }
+
+    /**
+     * Answer 410 Gone when a sync token is too old, telling the client to resync from scratch
+     *
+     * @param e the expired token exception
+     * @return error response with "resyncRequired": true
+     */
+    @ExceptionHandler(SyncTokenExpiredException.class)
+    public ResponseEntity<Map<String, Object>> handleSyncTokenExpired(SyncTokenExpiredException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", e.getMessage());
+        response.put("resyncRequired", true);
+
+        return ResponseEntity.status(HttpStatus.GONE).body(response);
+    }
+
+    /**
+     * Answer 422 Unprocessable Entity when an Idempotency-Key comes back with a different body
+     *
+     * @param e the key reuse exception
+     * @return error response
+     */
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyKeyReused(IdempotencyKeyReusedException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(response);
+    }
+
+    /**
+     * Answer 413 or 415 when an uploaded image is too large or not a supported image
+     *
+     * @param e the rejection
+     * @return error response
+     */
+    @ExceptionHandler(InvalidImageException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidImage(InvalidImageException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", e.getMessage());
+
+        return ResponseEntity.status(e.getStatus()).body(response);
+    }
+}
@@ -1,4 +1,166 @@
 package com.example.First_S_B.controller;
 
+import com.example.First_S_B.dto.AppUserDetails;
+import com.example.First_S_B.dto.AuthenticationRequest;
+import com.example.First_S_B.dto.AuthenticatedUser;
+import com.example.First_S_B.dto.AuthenticationResponse;
+import com.example.First_S_B.event.UserLifecycleEvent;
+import com.example.First_S_B.model.User;
+import com.example.First_S_B.repository.UserRepository;
+import com.example.First_S_B.service.CustomUserDetailsService;
+import com.example.First_S_B.service.JwtService;
+import com.example.First_S_B.service.PasswordHashingService;
+import com.example.First_S_B.service.TokenRevocationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * REST Controller for Authentication
+ *
+ * Exchanges email and password for a JWT access token, and revokes it on logout.
+ *
+ * Base URL: /api/v1/auth
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/auth")
+@CrossOrigin(origins = "*") // Allow Flutter app to access
 public class AuthenticationController {
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * POST /api/v1/auth/login
+     * Log in with email and password
+     *
+     * The password is verified on the bounded hashing pool (503 when saturated).
+     * If the stored hash uses an outdated work factor it is re-hashed and saved,
+     * unless the pool is saturated (the login still succeeds with the old hash).
+     *
+     * @param request JSON object with email and password
+     * @return Access token with user id and role, or error message
+     */
+    @PostMapping("/login")
+    public ResponseEntity<?> login(@RequestBody AuthenticationRequest request) {
+        if (request.getEmail() == null || request.getPassword() == null) {
+            return ResponseEntity.badRequest().body(error("Missing required fields: email, password"));
+        }
+
+        AppUserDetails user;
+        try {
+            user = (AppUserDetails) userDetailsService.loadUserByUsername(request.getEmail());
+        } catch (UsernameNotFoundException e) {
+            // Spend the same time as a real check so unknown emails can't be detected by timing
+            passwordHashingService.matchesUnknownUser(request.getPassword());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error("Invalid email or password"));
+        }
+
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error("Invalid email or password"));
+        }
+
+        // Transparently upgrade hashes made with an old work factor (or stored before hashing);
+        // skipped while the hashing pool is saturated, the next login retries
+        passwordHashingService.rehash(request.getPassword(), user.getPassword()).ifPresent(hash -> {
+            userRepository.updatePassword(user.getUserId(), hash, LocalDateTime.now());
+            // Cached details still hold the old hash
+            userRepository.findById(user.getUserId()).ifPresent(saved -> eventPublisher.publishEvent(
+                    new UserLifecycleEvent(UserLifecycleEvent.Type.PASSWORD_CHANGED, saved)));
+        });
+
+        String token = jwtService.generateToken(user.getUserId(), user.getUsername(), user.getRole());
+
+        return ResponseEntity.ok(new AuthenticationResponse(token, "Bearer", jwtService.getExpirationMillis(),
+                user.getUserId(), user.getUsername(), user.getRole()));
+    }
+
+    /**
+     * POST /api/v1/auth/logout
+     * Revoke the access token this request was sent with
+     *
+     * The token is rejected from now on, across restarts, until it expires.
+     *
+     * @param principal the authenticated user (from the bearer token)
+     * @return Success or error message
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@AuthenticationPrincipal AuthenticatedUser principal) {
+        if (!tokenRevocationService.revoke(principal)) {
+            return ResponseEntity.badRequest().body(error("Token has no revocable id"));
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Logged out");
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * POST /api/v1/auth/change-password
+     * Change the password of the logged-in user
+     *
+     * @param principal the authenticated user (from the bearer token)
+     * @param body JSON object with currentPassword and newPassword
+     * @return Success or error message
+     */
+    @PostMapping("/change-password")
+    public ResponseEntity<?> changePassword(@AuthenticationPrincipal AuthenticatedUser principal,
+                                            @RequestBody Map<String, String> body) {
+        String currentPassword = body.get("currentPassword");
+        String newPassword = body.get("newPassword");
+        if (currentPassword == null || newPassword == null) {
+            return ResponseEntity.badRequest().body(error("Missing required fields: currentPassword, newPassword"));
+        }
+        if (newPassword.length() < 6) {
+            return ResponseEntity.badRequest().body(error("New password must be at least 6 characters"));
+        }
+
+        User user = userRepository.findById(principal.getUserId()).orElse(null);
+        if (user == null || !passwordHashingService.matches(currentPassword, user.getPassword())) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error("Current password is incorrect"));
+        }
+
+        user.setPassword(passwordHashingService.encode(newPassword));
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserLifecycleEvent(UserLifecycleEvent.Type.PASSWORD_CHANGED, savedUser));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Password changed");
+        return ResponseEntity.ok(response);
+    }
+
+    private Map<String, Object> error(String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", message);
+        return response;
+    }
 }
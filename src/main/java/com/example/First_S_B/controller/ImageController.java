@@ -0,0 +1,104 @@
+package com.example.First_S_B.controller;
+
+import com.example.First_S_B.service.ProfileImageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * REST Controller serving stored profile images and thumbnails
+ *
+ * Image ids are content hashes, so a URL always returns the same bytes and
+ * responses are cacheable for a year. The route needs a token, so only
+ * the client may keep them (private): shared caches and CDNs would serve
+ * them without checking one. Files are sent with Tomcat's sendfile
+ * (the kernel copies the file to the socket, no pass through the heap)
+ * when the connector supports it, otherwise through a file channel.
+ *
+ * Base URL: /api/v1/images
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/images")
+@CrossOrigin(origins = "*") // Allow Flutter app to access
+public class ImageController {
+
+    private static final String CACHE_FOREVER = "private, max-age=31536000, immutable";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private ProfileImageService profileImageService;
+
+    /**
+     * GET /api/v1/images/{id}?size={px}
+     * Get a profile image: a JPEG thumbnail when size is given, else the original
+     *
+     * The size is rounded up to the next of app.images.thumbnail-sizes
+     * (or down to the largest). A thumbnail that doesn't exist yet is made
+     * first; 503 with Retry-After if that can't happen in time.
+     *
+     * @param id image id from profileImageUrl
+     * @param size longest side wanted, in pixels (optional)
+     */
+    @GetMapping("/{id}")
+    public void getImage(@PathVariable String id,
+                         @RequestParam(required = false) Integer size,
+                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        if (profileImageService.original(id) == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String etag = "\"" + id + (size == null ? "" : "-" + profileImageService.bucket(size)) + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_FOREVER);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        if (etag.equals(ifNoneMatch)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        Path file = size == null ? profileImageService.original(id) : profileImageService.thumbnailFile(id, size);
+        long length = Files.size(file);
+        response.setContentType(file.getFileName().toString().endsWith(".png")
+                ? MediaType.IMAGE_PNG_VALUE : MediaType.IMAGE_JPEG_VALUE);
+        response.setContentLengthLong(length);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat sends the file after this method returns
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file)) {
+            long position = 0;
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            while (position < length) {
+                position += channel.transferTo(position, length - position, out);
+            }
+        }
+    }
+}
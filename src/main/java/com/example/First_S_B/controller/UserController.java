@@ -1,17 +1,47 @@
 package com.example.First_S_B.controller;
 
+import com.example.First_S_B.dto.SyncPage;
+import com.example.First_S_B.dto.UserExportFilter;
+import com.example.First_S_B.dto.UserSearchHit;
+import com.example.First_S_B.dto.UserSummary;
+import com.example.First_S_B.event.UserLifecycleEvent;
+import com.example.First_S_B.eventlog.EventLogReader;
+import com.example.First_S_B.eventlog.EventRecord;
+import com.example.First_S_B.exception.ServiceOverloadedException;
 import com.example.First_S_B.model.Role;
 import com.example.First_S_B.model.User;
-import com.example.First_S_B.repository.RoleRepository;
 import com.example.First_S_B.repository.UserRepository;
+import com.example.First_S_B.service.IdempotentRequests;
+import com.example.First_S_B.service.NewUserValidator;
+import com.example.First_S_B.service.PasswordHashingService;
+import com.example.First_S_B.service.RoleRegistry;
+import com.example.First_S_B.service.SyncService;
+import com.example.First_S_B.service.UserEventLogService;
+import com.example.First_S_B.service.UserExportService;
+import com.example.First_S_B.service.UserImportService;
+import com.example.First_S_B.service.UserSearchService;
+import com.example.First_S_B.service.UserStatsService;
+import com.example.First_S_B.service.UserStreamingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
 
 /**
  * REST Controller for User Management
@@ -33,29 +63,101 @@ public class UserController {
     private UserRepository userRepository;
 
     @Autowired
-    private RoleRepository roleRepository;
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private NewUserValidator newUserValidator;
+
+    @Autowired
+    private UserStreamingService userStreamingService;
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private UserSearchService userSearchService;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private IdempotentRequests idempotentRequests;
+
+    @Autowired
+    private UserEventLogService userEventLogService;
+
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.users.page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${app.users.max-page-size:500}")
+    private int maxPageSize;
+
+    @Value("${app.search.max-results:100}")
+    private int maxSearchResults;
 
     /**
      * GET /api/v1/users/roles
      * Get all available roles in the system
      *
+     * Served from the in-memory RoleRegistry as pre-encoded bytes (JSON, CBOR or Smile), no database query.
+     * Send the returned ETag in If-None-Match to get 304 Not Modified while the roles are unchanged.
+     *
      * @return List of all roles with their details
      */
     @GetMapping("/roles")
-    public ResponseEntity<List<Role>> getAllRoles() {
-        List<Role> roles = roleRepository.findAll();
-        return ResponseEntity.ok(roles);
+    public ResponseEntity<byte[]> getAllRoles(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                              @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return roleRegistry.rolesResponse().toResponse(accept, ifNoneMatch, acceptEncoding);
     }
 
     /**
      * POST /api/v1/users/register
      * Register a new user with specified role
      *
+     * Open to anyone, so only FARMER, DRIVER and MARKET can be requested.
+     * ADMIN is rejected with 400; an admin grants it with PUT /users/{id}/role.
+     * The email must be well-formed and the password at least 6 characters,
+     * as for bulk import (NewUserValidator).
+     *
+     * Clients that retry should send an Idempotency-Key header (any unique
+     * string, e.g. a UUID, reused for every retry of the same registration).
+     * Retries then get the first attempt's response, marked with
+     * Idempotent-Replayed: true, instead of registering again or failing.
+     *
      * @param userRequest JSON object with user details
+     * @param idempotencyKey optional key identifying this registration across retries
      * @return Created user or error message
      */
     @PostMapping("/register")
-    public ResponseEntity<Map<String, Object>> registerUser(@RequestBody Map<String, String> userRequest) {
+    public ResponseEntity<Map<String, Object>> registerUser(
+            @RequestBody Map<String, String> userRequest,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return register(userRequest);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > IdempotentRequests.MAX_KEY_LENGTH) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Idempotency-Key must be 1 to " + IdempotentRequests.MAX_KEY_LENGTH + " characters");
+            return ResponseEntity.badRequest().body(response);
+        }
+        return idempotentRequests.execute("register", idempotencyKey, userRequest, () -> register(userRequest));
+    }
+
+    private ResponseEntity<Map<String, Object>> register(Map<String, String> userRequest) {
         Map<String, Object> response = new HashMap<>();
 
         try {
@@ -65,9 +167,11 @@ public class UserController {
             String firstName = userRequest.get("firstName");
             String roleName = userRequest.get("role");
 
-            if (email == null || password == null || firstName == null || roleName == null) {
+            // Same rules as bulk import; admins are only made by other admins (PUT /users/{id}/role)
+            String invalid = newUserValidator.validate(email, password, firstName, roleName, false);
+            if (invalid != null) {
                 response.put("success", false);
-                response.put("message", "Missing required fields: email, password, firstName, role");
+                response.put("message", invalid);
                 return ResponseEntity.badRequest().body(response);
             }
 
@@ -78,27 +182,22 @@ public class UserController {
                 return ResponseEntity.badRequest().body(response);
             }
 
-            // Find the role
-            Optional<Role> roleOpt = roleRepository.findByRoleName(roleName.toUpperCase());
-            if (!roleOpt.isPresent()) {
-                response.put("success", false);
-                response.put("message", "Invalid role. Must be: ADMIN, FARMER, DRIVER, or MARKET");
-                return ResponseEntity.badRequest().body(response);
-            }
+            Role role = roleRegistry.findByName(roleName);
 
             // Create new user
             User user = new User();
             user.setEmail(email);
-            user.setPassword(password); // In production, hash the password
+            user.setPassword(passwordHashingService.encode(password)); // Hashed on the bounded hashing pool
             user.setFirstName(firstName);
             user.setLastName(userRequest.get("lastName"));
             user.setPhoneNumber(userRequest.get("phoneNumber"));
-            user.setRole(roleOpt.get());
+            user.setRole(role);
             user.setIsActive(true);
             user.setIsVerified(false);
 
             // Save user
             User savedUser = userRepository.save(user);
+            eventPublisher.publishEvent(new UserLifecycleEvent(UserLifecycleEvent.Type.REGISTERED, savedUser));
 
             response.put("success", true);
             response.put("message", "User registered successfully");
@@ -108,6 +207,18 @@ public class UserController {
 
             return ResponseEntity.ok(response);
 
+        } catch (ServiceOverloadedException e) {
+            throw e; // answered with 503 + Retry-After by ApiExceptionHandler
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent registration took the email between the check and the insert
+            if (userRepository.existsByEmail(userRequest.get("email"))) {
+                response.put("success", false);
+                response.put("message", "Email already registered");
+                return ResponseEntity.badRequest().body(response);
+            }
+            response.put("success", false);
+            response.put("message", "Registration failed: " + e.getMostSpecificCause().getMessage());
+            return ResponseEntity.internalServerError().body(response);
         } catch (Exception e) {
             response.put("success", false);
             response.put("message", "Registration failed: " + e.getMessage());
@@ -116,41 +227,358 @@ public class UserController {
     }
 
     /**
-     * GET /api/v1/users
-     * Get all users (for admin purposes)
+     * POST /api/v1/users/import
+     * Bulk-register users from a CSV (text/csv, header row required)
+     * or NDJSON (application/x-ndjson) upload
+     *
+     * The body is streamed and inserted in chunks, it is never held in memory.
+     * Columns: email, password, firstName, lastName, phoneNumber, role,
+     * address, city, state, pincode
+     *
+     * @param request HTTP request whose body is the upload
+     * @return Import report with per-row errors
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<Map<String, Object>> importUsers(HttpServletRequest request) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        Map<String, Object> report = MediaType.APPLICATION_NDJSON.includes(contentType)
+                ? userImportService.importNdjson(request.getInputStream())
+                : userImportService.importCsv(request.getInputStream());
+        return ResponseEntity.ok(report);
+    }
+
+    /**
+     * GET /api/v1/users?after={id}&size={n}
+     * Get one page of users (for admin purposes)
+     *
+     * Uses keyset pagination on id: pass the returned nextCursor as "after"
+     * to fetch the following page. nextCursor is null on the last page.
+     *
+     * @param after last user id seen by the client (omit for the first page)
+     * @param size page size, capped at app.users.max-page-size
      */
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<Map<String, Object>> getAllUsers(@RequestParam(required = false) Long after,
+                                                           @RequestParam(required = false) Integer size) {
+        int pageSize = resolvePageSize(size);
+        List<UserSummary> users = userRepository.findPageAfter(after != null ? after : 0L, Limit.of(pageSize + 1));
+        return ResponseEntity.ok(buildPage(users, pageSize));
     }
 
     /**
-     * GET /api/v1/users/role/{roleName}
-     * Get all users by role
+     * GET /api/v1/users/stream
+     * Stream all users as NDJSON (one user per line)
+     *
+     * Memory stays flat regardless of table size, use this for full dumps.
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        StreamingResponseBody body = out -> userStreamingService.writeAllUsers(out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * GET /api/v1/users/role/{roleName}?after={id}&size={n}
+     * Get one page of users by role
      *
      * @param roleName Role name (ADMIN, FARMER, DRIVER, MARKET)
+     * @param after last user id seen by the client (omit for the first page)
+     * @param size page size, capped at app.users.max-page-size
      */
     @GetMapping("/role/{roleName}")
-    public ResponseEntity<List<User>> getUsersByRole(@PathVariable String roleName) {
-        List<User> users = userRepository.findByRoleName(roleName.toUpperCase());
-        return ResponseEntity.ok(users);
+    public ResponseEntity<Map<String, Object>> getUsersByRole(@PathVariable String roleName,
+                                                              @RequestParam(required = false) Long after,
+                                                              @RequestParam(required = false) Integer size) {
+        int pageSize = resolvePageSize(size);
+        List<UserSummary> users = userRepository.findPageByRoleNameAfter(
+                roleName.toUpperCase(Locale.ROOT), after != null ? after : 0L, Limit.of(pageSize + 1));
+        return ResponseEntity.ok(buildPage(users, pageSize));
+    }
+
+    /**
+     * GET /api/v1/users/role/{roleName}/stream
+     * Stream all users with a role as NDJSON (one user per line)
+     *
+     * @param roleName Role name (ADMIN, FARMER, DRIVER, MARKET)
+     */
+    @GetMapping("/role/{roleName}/stream")
+    public ResponseEntity<StreamingResponseBody> streamUsersByRole(@PathVariable String roleName) {
+        String role = roleName.toUpperCase(Locale.ROOT);
+        StreamingResponseBody body = out -> userStreamingService.writeUsersByRole(role, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * GET /api/v1/users/export?role={roleName}&state={state}&createdFrom={date}&createdTo={date}&after={id}&gzip={bool}
+     * Export users with their profile location as CSV (for scheme reporting)
+     *
+     * Streamed from a database cursor, memory stays flat regardless of table size.
+     * Rows are ordered by id. To resume after a dropped connection, drop the
+     * incomplete last line and request again with "after" set to the last id
+     * received; resumed exports have no header row and can be appended directly.
+     *
+     * @param role only users with this role (optional)
+     * @param state only users whose profile is in this state (optional, exact match)
+     * @param createdFrom only users created on or after this day (optional, yyyy-MM-dd)
+     * @param createdTo only users created on or before this day (optional, yyyy-MM-dd)
+     * @param after only users with a greater id (optional, for resuming)
+     * @param gzip download a users.csv.gz file instead of users.csv
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(required = false) String role,
+                                                             @RequestParam(required = false) String state,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+                                                             @RequestParam(required = false) Long after,
+                                                             @RequestParam(defaultValue = "false") boolean gzip) {
+        UserExportFilter filter = new UserExportFilter(
+                role != null ? role.toUpperCase(Locale.ROOT) : null,
+                state,
+                createdFrom != null ? createdFrom.atStartOfDay() : null,
+                createdTo != null ? createdTo.plusDays(1).atStartOfDay() : null,
+                after != null ? after : 0L);
+        StreamingResponseBody body = out -> userExportService.writeCsv(filter, gzip, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : "text/csv;charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(gzip ? "users.csv.gz" : "users.csv").build().toString())
+                .body(body);
+    }
+
+    /**
+     * GET /api/v1/users/sync?token={token}&role={roleName}&size={n}
+     * Get the users (with profiles) changed since the client's last sync
+     *
+     * For offline clients that keep a local copy: the first call without a
+     * token returns all users page by page; later calls return only what was
+     * created, updated, deactivated or deleted since. Apply "users" as
+     * upserts and "removed" as deletes, store "nextToken", and call again
+     * right away while "hasMore" is true. A 410 response means the token is
+     * too old: clear the local copy and sync again without a token.
+     * Admin only: the feed carries every user's contact details and profile.
+     *
+     * @param token nextToken of the previous call (omit for a full sync)
+     * @param role only sync users with this role (optional, must stay the same for a token)
+     * @param size maximum number of changed users per page, capped at app.users.max-page-size
+     */
+    @GetMapping("/sync")
+    public ResponseEntity<Map<String, Object>> syncUsers(@RequestParam(required = false) String token,
+                                                         @RequestParam(required = false) String role,
+                                                         @RequestParam(required = false) Integer size) {
+        Map<String, Object> response = new HashMap<>();
+        SyncPage page;
+        try {
+            page = syncService.sync(token, role, resolvePageSize(size));
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        response.put("users", page.getUsers());
+        response.put("removed", page.getRemoved());
+        response.put("size", page.getUsers().size() + page.getRemoved().size());
+        response.put("hasMore", page.isHasMore());
+        response.put("nextToken", page.getNextToken());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * GET /api/v1/users/events?from={offset}&limit={n}
+     * Read the user event log (registrations, verifications, deactivations, role and profile changes)
+     *
+     * Served from the local event log (see UserEventLogService), no database query.
+     * Call again with "nextOffset" to continue; an empty "events" list means
+     * the caller has caught up with "endOffset".
+     *
+     * @param from offset of the first event (default: oldest kept)
+     * @param limit maximum number of events (default app.users.page-size, capped at app.users.max-page-size)
+     */
+    @GetMapping("/events")
+    public ResponseEntity<Map<String, Object>> getUserEvents(@RequestParam(required = false) Long from,
+                                                             @RequestParam(required = false) Integer limit) {
+        EventLogReader reader = userEventLogService.reader(from == null ? 0 : from);
+        List<EventRecord> events = reader.poll(resolvePageSize(limit));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("events", events);
+        response.put("size", events.size());
+        response.put("nextOffset", reader.position());
+        response.put("startOffset", userEventLogService.startOffset());
+        response.put("endOffset", userEventLogService.endOffset());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * GET /api/v1/users/search?q={text}&role={roleName}&limit={n}
+     * Find users by partial name, phone number or email (typos allowed)
+     *
+     * Served from an in-memory index (see UserSearchService), results are ranked best first.
+     *
+     * @param q search text
+     * @param role only return users with this role (optional)
+     * @param limit maximum number of results (default 20, capped at app.search.max-results)
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> searchUsers(@RequestParam String q,
+                                                           @RequestParam(required = false) String role,
+                                                           @RequestParam(defaultValue = "20") int limit) {
+        List<UserSearchHit> results = userSearchService.search(q, role, Math.min(Math.max(limit, 1), maxSearchResults));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("query", q);
+        response.put("results", results);
+        response.put("size", results.size());
+        response.put("indexReady", userSearchService.isReady());
+        return ResponseEntity.ok(response);
     }
 
     /**
      * GET /api/v1/users/stats
      * Get user statistics by role
+     *
+     * Served from in-memory counters (see UserStatsService), no database query.
+     * Also reports new registrations per role over the last hour and day.
+     * The encoded response is cached until the counters change; send the returned ETag
+     * in If-None-Match to get 304 Not Modified in the meantime.
      */
     @GetMapping("/stats")
-    public ResponseEntity<Map<String, Object>> getUserStats() {
-        Map<String, Object> stats = new HashMap<>();
+    public ResponseEntity<byte[]> getUserStats(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return userStatsService.statsResponse().toResponse(accept, ifNoneMatch, acceptEncoding);
+    }
+
+    /**
+     * POST /api/v1/users/{id}/deactivate
+     * Deactivate a user account (the user can no longer log in)
+     *
+     * @param id ID of the user to deactivate
+     * @return Success or error message
+     */
+    @PostMapping("/{id}/deactivate")
+    public ResponseEntity<Map<String, Object>> deactivateUser(@PathVariable Long id) {
+        Map<String, Object> response = new HashMap<>();
+
+        User user = userRepository.findById(id).orElse(null);
+        if (user == null) {
+            response.put("success", false);
+            response.put("message", "User not found");
+            return ResponseEntity.status(404).body(response);
+        }
+
+        if (Boolean.TRUE.equals(user.getIsActive())) {
+            user.setIsActive(false);
+            User savedUser = userRepository.save(user);
+            eventPublisher.publishEvent(new UserLifecycleEvent(UserLifecycleEvent.Type.DEACTIVATED, savedUser));
+        }
+
+        response.put("success", true);
+        response.put("message", "User deactivated");
+        response.put("userId", user.getId());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * POST /api/v1/users/{id}/verify
+     * Mark a user account as verified (e.g. after checking their documents)
+     *
+     * @param id ID of the user to verify
+     * @return Success or error message
+     */
+    @PostMapping("/{id}/verify")
+    public ResponseEntity<Map<String, Object>> verifyUser(@PathVariable Long id) {
+        Map<String, Object> response = new HashMap<>();
+
+        User user = userRepository.findById(id).orElse(null);
+        if (user == null) {
+            response.put("success", false);
+            response.put("message", "User not found");
+            return ResponseEntity.status(404).body(response);
+        }
 
-        stats.put("totalUsers", userRepository.count());
-        stats.put("adminCount", userRepository.countByRoleName("ADMIN"));
-        stats.put("farmerCount", userRepository.countByRoleName("FARMER"));
-        stats.put("driverCount", userRepository.countByRoleName("DRIVER"));
-        stats.put("marketCount", userRepository.countByRoleName("MARKET"));
+        if (!Boolean.TRUE.equals(user.getIsVerified())) {
+            user.setIsVerified(true);
+            User savedUser = userRepository.save(user);
+            eventPublisher.publishEvent(new UserLifecycleEvent(UserLifecycleEvent.Type.VERIFIED, savedUser));
+        }
+
+        response.put("success", true);
+        response.put("message", "User verified");
+        response.put("userId", user.getId());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * PUT /api/v1/users/{id}/role
+     * Change a user's role
+     *
+     * Existing tokens of the user stop working until the user logs in again,
+     * because their role claim no longer matches.
+     *
+     * @param id ID of the user
+     * @param body JSON object with the new role name ("role")
+     * @return Success or error message
+     */
+    @PutMapping("/{id}/role")
+    public ResponseEntity<Map<String, Object>> changeUserRole(@PathVariable Long id,
+                                                              @RequestBody Map<String, String> body) {
+        Map<String, Object> response = new HashMap<>();
+
+        Role role = body.get("role") == null ? null : roleRegistry.findByName(body.get("role"));
+        if (role == null) {
+            response.put("success", false);
+            response.put("message", "Invalid role. Must be: ADMIN, FARMER, DRIVER, or MARKET");
+            return ResponseEntity.badRequest().body(response);
+        }
 
-        return ResponseEntity.ok(stats);
+        User user = userRepository.findById(id).orElse(null);
+        if (user == null) {
+            response.put("success", false);
+            response.put("message", "User not found");
+            return ResponseEntity.status(404).body(response);
+        }
+
+        String previousRoleName = user.getRole().getRoleName();
+        if (!previousRoleName.equals(role.getRoleName())) {
+            user.setRole(role);
+            User savedUser = userRepository.save(user);
+            eventPublisher.publishEvent(new UserLifecycleEvent(UserLifecycleEvent.Type.ROLE_CHANGED,
+                    savedUser, previousRoleName));
+        }
+
+        response.put("success", true);
+        response.put("message", "Role updated");
+        response.put("userId", user.getId());
+        response.put("role", role.getRoleName());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Clamp the requested page size to the configured bounds
+     */
+    private int resolvePageSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
+    }
+
+    /**
+     * Build a keyset page response from a result fetched with one extra row
+     *
+     * @param users up to pageSize + 1 users ordered by id
+     * @param pageSize requested page size
+     */
+    private Map<String, Object> buildPage(List<UserSummary> users, int pageSize) {
+        boolean hasMore = users.size() > pageSize;
+        List<UserSummary> page = hasMore ? users.subList(0, pageSize) : users;
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("users", page);
+        response.put("size", page.size());
+        response.put("hasMore", hasMore);
+        response.put("nextCursor", hasMore ? page.get(page.size() - 1).getId() : null);
+        return response;
     }
 }
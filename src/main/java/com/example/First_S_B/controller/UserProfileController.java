@@ -0,0 +1,396 @@
+package com.example.First_S_B.controller;
+
+import com.example.First_S_B.dto.AuthenticatedUser;
+import com.example.First_S_B.dto.NearbyUser;
+import com.example.First_S_B.dto.ProfileMatch;
+import com.example.First_S_B.dto.ProfileQuery;
+import com.example.First_S_B.event.UserProfileChangedEvent;
+import com.example.First_S_B.model.User;
+import com.example.First_S_B.model.UserProfile;
+import com.example.First_S_B.repository.UserProfileRepository;
+import com.example.First_S_B.repository.UserRepository;
+import com.example.First_S_B.service.NearbyUserService;
+import com.example.First_S_B.service.PincodeDirectory;
+import com.example.First_S_B.service.ProfileImageService;
+import com.example.First_S_B.service.ProfileQueryService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * REST Controller for user profiles and location-based matching
+ *
+ * Farmers find nearby drivers and markets here; drivers and markets keep
+ * their PIN code and availability up to date so they can be found.
+ *
+ * Base URL: /api/v1/users
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/users")
+@CrossOrigin(origins = "*") // Allow Flutter app to access
+public class UserProfileController {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private NearbyUserService nearbyUserService;
+
+    @Autowired
+    private PincodeDirectory pincodeDirectory;
+
+    @Autowired
+    private ProfileQueryService profileQueryService;
+
+    @Autowired
+    private ProfileImageService profileImageService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.geo.max-radius-km:200}")
+    private double maxRadiusKm;
+
+    @Value("${app.geo.max-results:50}")
+    private int maxResults;
+
+    @Value("${app.users.page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${app.users.max-page-size:500}")
+    private int maxPageSize;
+
+    /**
+     * PUT /api/v1/users/{id}/profile
+     * Create or update a user's profile (the user themselves or an admin)
+     *
+     * Only the fields present in the body are changed.
+     *
+     * @param id ID of the user
+     * @param body JSON object with any of address, city, state, pincode, additionalInfo (object)
+     * @return The saved profile or error message
+     */
+    @PutMapping("/{id}/profile")
+    public ResponseEntity<Map<String, Object>> updateProfile(@AuthenticationPrincipal AuthenticatedUser principal,
+                                                             @PathVariable Long id,
+                                                             @RequestBody Map<String, Object> body) {
+        if (!isSelfOrAdmin(principal, id)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error("You can only change your own profile"));
+        }
+
+        Object pincode = body.get("pincode");
+        if (pincode != null && !PincodeDirectory.isValid(pincode.toString())) {
+            return ResponseEntity.badRequest().body(error("Invalid pincode. Must be 6 digits"));
+        }
+
+        User user = userRepository.findById(id).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error("User not found"));
+        }
+        UserProfile profile = findOrCreateProfile(user);
+
+        if (body.containsKey("address")) {
+            profile.setAddress(asText(body.get("address")));
+        }
+        if (body.containsKey("city")) {
+            profile.setCity(asText(body.get("city")));
+        }
+        if (body.containsKey("state")) {
+            profile.setState(asText(body.get("state")));
+        }
+        if (body.containsKey("pincode")) {
+            profile.setPincode(asText(pincode));
+        }
+        if (body.containsKey("additionalInfo")) {
+            try {
+                Object info = body.get("additionalInfo");
+                profile.setAdditionalInfo(info == null ? null : objectMapper.writeValueAsString(info));
+            } catch (JsonProcessingException e) {
+                return ResponseEntity.badRequest().body(error("Invalid additionalInfo"));
+            }
+        }
+
+        UserProfile saved = save(user, profile);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Profile updated");
+        response.put("userId", user.getId());
+        response.put("address", saved.getAddress());
+        response.put("city", saved.getCity());
+        response.put("state", saved.getState());
+        response.put("pincode", saved.getPincode());
+        response.put("available", !Boolean.FALSE.equals(saved.getIsAvailable()));
+        response.put("located", pincodeDirectory.locate(saved.getPincode()).isPresent());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * PUT /api/v1/users/{id}/availability
+     * Mark a driver or market as available or busy (the user themselves or an admin)
+     *
+     * Busy users are left out of nearby searches until they become available again.
+     *
+     * @param id ID of the user
+     * @param body JSON object with "available" (true or false)
+     * @return Success or error message
+     */
+    @PutMapping("/{id}/availability")
+    public ResponseEntity<Map<String, Object>> updateAvailability(@AuthenticationPrincipal AuthenticatedUser principal,
+                                                                  @PathVariable Long id,
+                                                                  @RequestBody Map<String, Object> body) {
+        if (!isSelfOrAdmin(principal, id)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error("You can only change your own availability"));
+        }
+        if (!(body.get("available") instanceof Boolean available)) {
+            return ResponseEntity.badRequest().body(error("Missing required field: available (true or false)"));
+        }
+
+        User user = userRepository.findById(id).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error("User not found"));
+        }
+        UserProfile profile = findOrCreateProfile(user);
+        if (!available.equals(profile.getIsAvailable()) || profile.getId() == null) {
+            profile.setIsAvailable(available);
+            save(user, profile);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", available ? "Marked as available" : "Marked as busy");
+        response.put("userId", user.getId());
+        response.put("available", available);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * PUT /api/v1/users/{id}/profile-image
+     * Upload a profile photo (the user themselves or an admin)
+     *
+     * The body is the raw JPEG or PNG (Content-Type image/jpeg or image/png),
+     * at most app.images.max-upload-bytes. It is streamed to disk, never held
+     * in memory. List screens should load one of the returned thumbnail URLs,
+     * not the original.
+     *
+     * @param id ID of the user
+     * @param request HTTP request whose body is the image
+     * @return Image id, original URL and thumbnail URLs by size
+     */
+    @PutMapping(value = "/{id}/profile-image", consumes = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE})
+    public ResponseEntity<Map<String, Object>> uploadProfileImage(@AuthenticationPrincipal AuthenticatedUser principal,
+                                                                  @PathVariable Long id,
+                                                                  HttpServletRequest request) throws IOException {
+        if (!isSelfOrAdmin(principal, id)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error("You can only change your own profile image"));
+        }
+
+        User user = userRepository.findById(id).orElse(null);
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error("User not found"));
+        }
+
+        ProfileImageService.StoredImage image = profileImageService.store(request.getInputStream());
+        String url = request.getContextPath() + "/images/" + image.id();
+        UserProfile profile = findOrCreateProfile(user);
+        if (!url.equals(profile.getProfileImageUrl())) {
+            profile.setProfileImageUrl(url);
+            save(user, profile);
+        }
+
+        Map<String, String> thumbnailUrls = new LinkedHashMap<>();
+        for (int size : profileImageService.thumbnailSizes()) {
+            thumbnailUrls.put(Integer.toString(size), url + "?size=" + size);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Profile image updated");
+        response.put("userId", user.getId());
+        response.put("imageId", image.id());
+        response.put("profileImageUrl", url);
+        response.put("thumbnailUrls", thumbnailUrls);
+        response.put("deduplicated", image.deduplicated());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * GET /api/v1/users/nearby?role=DRIVER&pincode={pin}&radiusKm={km}&limit={n}
+     * Find the nearest active, available drivers (or markets)
+     *
+     * The origin is the given PIN code, or lat/lon coordinates, or else the
+     * PIN code of the caller's own profile. Served from an in-memory grid
+     * index (see NearbyUserService).
+     *
+     * @param role role to look for (default DRIVER)
+     * @param pincode origin PIN code (optional)
+     * @param lat origin latitude (optional, together with lon)
+     * @param lon origin longitude (optional, together with lat)
+     * @param radiusKm maximum distance (default 25, capped at app.geo.max-radius-km)
+     * @param limit maximum number of users (default 10, capped at app.geo.max-results)
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<Map<String, Object>> findNearby(@AuthenticationPrincipal AuthenticatedUser principal,
+                                                          @RequestParam(defaultValue = "DRIVER") String role,
+                                                          @RequestParam(required = false) String pincode,
+                                                          @RequestParam(required = false) Double lat,
+                                                          @RequestParam(required = false) Double lon,
+                                                          @RequestParam(defaultValue = "25") double radiusKm,
+                                                          @RequestParam(defaultValue = "10") int limit) {
+        String roleName = role.toUpperCase(Locale.ROOT);
+        if (!nearbyUserService.getIndexedRoles().contains(roleName)) {
+            return ResponseEntity.badRequest().body(error("Nearby search supports roles: " + nearbyUserService.getIndexedRoles()));
+        }
+
+        Map<String, Object> origin = new HashMap<>();
+        double latitude;
+        double longitude;
+        if (lat != null && lon != null) {
+            if (Math.abs(lat) > 90 || Math.abs(lon) > 180) {
+                return ResponseEntity.badRequest().body(error("Invalid coordinates"));
+            }
+            latitude = lat;
+            longitude = lon;
+        } else {
+            String originPincode = pincode != null ? pincode
+                    : userProfileRepository.findByUserId(principal.getUserId()).map(UserProfile::getPincode).orElse(null);
+            if (originPincode == null) {
+                return ResponseEntity.badRequest().body(error("Give a pincode or lat/lon, or add a pincode to your profile"));
+            }
+            PincodeDirectory.Location location = pincodeDirectory.locate(originPincode).orElse(null);
+            if (location == null) {
+                return ResponseEntity.badRequest().body(error("Unknown pincode: " + originPincode));
+            }
+            latitude = location.latitude();
+            longitude = location.longitude();
+            origin.put("pincode", originPincode);
+            origin.put("exact", location.exact());
+        }
+        origin.put("latitude", latitude);
+        origin.put("longitude", longitude);
+
+        double radius = Math.min(Math.max(radiusKm, 0), maxRadiusKm);
+        List<NearbyUser> results = nearbyUserService.findNearby(latitude, longitude, roleName, radius,
+                Math.min(Math.max(limit, 1), maxResults));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("origin", origin);
+        response.put("role", roleName);
+        response.put("radiusKm", radius);
+        response.put("results", results);
+        response.put("size", results.size());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * GET /api/v1/users/profiles?role={roleName}&state={state}&where={attr:op:value}&fields={a,b}&after={id}&size={n}
+     * Find profiles by role, location and additionalInfo attributes (admin)
+     *
+     * Conditions are evaluated by PostgreSQL on the JSONB column, e.g.
+     * where=crops:contains:wheat&where=landAcres:gt:5 (operators: eq, contains, gt, gte, lt, lte).
+     * With fields only those attributes are returned. Uses keyset pagination on the
+     * profile id: pass the returned nextCursor as "after".
+     *
+     * @param role only users with this role (optional)
+     * @param state only profiles in this state (optional)
+     * @param city only profiles in this city (optional)
+     * @param where attribute conditions, all must match (optional, repeatable)
+     * @param fields comma-separated attributes to return (optional, default all)
+     * @param after profile id to continue after (optional)
+     * @param size page size (optional, capped at app.users.max-page-size)
+     */
+    @GetMapping("/profiles")
+    public ResponseEntity<Map<String, Object>> findProfiles(@RequestParam(required = false) String role,
+                                                            @RequestParam(required = false) String state,
+                                                            @RequestParam(required = false) String city,
+                                                            @RequestParam(required = false) List<String> where,
+                                                            @RequestParam(required = false) String fields,
+                                                            @RequestParam(required = false) Long after,
+                                                            @RequestParam(required = false) Integer size) {
+        ProfileQuery query = new ProfileQuery().role(role).state(state).city(city);
+        try {
+            if (where != null) {
+                where.forEach(query::where);
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(error(e.getMessage()));
+        }
+        Set<String> fieldNames = new LinkedHashSet<>();
+        if (fields != null) {
+            Arrays.stream(fields.split(",")).map(String::trim).filter(name -> !name.isEmpty()).forEach(fieldNames::add);
+        }
+
+        int pageSize = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        List<ProfileMatch> matches = profileQueryService.find(query, fieldNames, after == null ? 0 : after, pageSize + 1);
+
+        boolean hasMore = matches.size() > pageSize;
+        List<ProfileMatch> page = hasMore ? matches.subList(0, pageSize) : matches;
+        Map<String, Object> response = new HashMap<>();
+        response.put("profiles", page);
+        response.put("size", page.size());
+        response.put("hasMore", hasMore);
+        response.put("nextCursor", hasMore ? page.get(page.size() - 1).getProfileId() : null);
+        return ResponseEntity.ok(response);
+    }
+
+    private static boolean isSelfOrAdmin(AuthenticatedUser principal, Long userId) {
+        return principal != null && (userId.equals(principal.getUserId()) || "ADMIN".equals(principal.getRole()));
+    }
+
+    private UserProfile findOrCreateProfile(User user) {
+        return userProfileRepository.findByUserId(user.getId()).orElseGet(() -> {
+            UserProfile profile = new UserProfile();
+            profile.setUser(user);
+            return profile;
+        });
+    }
+
+    /**
+     * Save the profile and let the nearby-user index pick up the change
+     */
+    private UserProfile save(User user, UserProfile profile) {
+        UserProfile saved = userProfileRepository.save(profile);
+        eventPublisher.publishEvent(new UserProfileChangedEvent(user.getId(), user.getRole().getRoleName(),
+                Boolean.TRUE.equals(user.getIsActive()), saved.getPincode(),
+                !Boolean.FALSE.equals(saved.getIsAvailable())));
+        return saved;
+    }
+
+    private static String asText(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    private Map<String, Object> error(String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", message);
+        return response;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.First_S_B.dto;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+
+/**
+ * Spring Security UserDetails that also carries the user id and role name
+ *
+ * Returned by CustomUserDetailsService so a successful login can issue
+ * a JWT without loading the user a second time.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public class AppUserDetails extends User {
+
+    private final Long userId;
+    private final String role;
+
+    public AppUserDetails(Long userId, String email, String password, String role, boolean active) {
+        super(email, password, active, true, true, true, List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+        this.userId = userId;
+        this.role = role;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.First_S_B.dto;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Principal of a request authenticated with a JWT
+ *
+ * Built only from the verified token claims (user id, email, role),
+ * so authenticating a request never needs a database query.
+ * Instances are immutable and cached together with the verified token;
+ * the token id is also kept as two longs so revocation checks don't allocate.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public class AuthenticatedUser {
+
+    private final Long userId;
+    private final String email;
+    private final String role;
+    private final String tokenId;
+    private final long expiresAtMillis;
+    private final long tokenIdHigh;
+    private final long tokenIdLow;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long userId, String email, String role, String tokenId, long expiresAtMillis) {
+        this.userId = userId;
+        this.email = email;
+        this.role = role;
+        this.tokenId = tokenId;
+        this.expiresAtMillis = expiresAtMillis;
+        UUID uuid = parseTokenId(tokenId);
+        this.tokenIdHigh = uuid == null ? 0 : uuid.getMostSignificantBits();
+        this.tokenIdLow = uuid == null ? 0 : uuid.getLeastSignificantBits();
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    /**
+     * @return the token's unique id (jti claim)
+     */
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    /**
+     * @return token expiry in epoch milliseconds
+     */
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    /**
+     * @return most significant half of the token id as a UUID, 0 (with the low half) if it isn't one
+     */
+    public long getTokenIdHigh() {
+        return tokenIdHigh;
+    }
+
+    /**
+     * @return least significant half of the token id as a UUID
+     */
+    public long getTokenIdLow() {
+        return tokenIdLow;
+    }
+
+    /**
+     * @return Spring Security authorities derived from the role (ROLE_FARMER, ...)
+     */
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    private static UUID parseTokenId(String tokenId) {
+        if (tokenId == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(tokenId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
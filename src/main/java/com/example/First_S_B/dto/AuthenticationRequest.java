@@ -1,4 +1,21 @@
 package com.example.First_S_B.dto;
 
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Login request body for POST /api/v1/auth/login
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class AuthenticationRequest {
+
+    private String email;
+
+    private String password;
 }
@@ -1,4 +1,34 @@
 package com.example.First_S_B.dto;
 
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Login response body with the issued JWT
+ *
+ * The client sends the token back as "Authorization: Bearer {token}".
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class AuthenticationResponse {
+
+    private String token;
+
+    private String tokenType;
+
+    /**
+     * Token lifetime in milliseconds
+     */
+    private long expiresIn;
+
+    private Long userId;
+
+    private String email;
+
+    private String role;
 }
@@ -0,0 +1,29 @@
+package com.example.First_S_B.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of one entry of a change feed read by delta sync
+ *
+ * Feeds are ordered by (changedAt, rowId), which is also the cursor stored in sync tokens.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public interface ChangedRow {
+
+    /**
+     * @return primary key of the changed row (tie-breaker within one timestamp)
+     */
+    Long getRowId();
+
+    /**
+     * @return id of the user the row belongs to
+     */
+    Long getUserId();
+
+    /**
+     * @return time of the change (updated_at, or deleted_at for tombstones)
+     */
+    LocalDateTime getChangedAt();
+}
@@ -0,0 +1,20 @@
+package com.example.First_S_B.dto;
+
+import lombok.Value;
+
+/**
+ * One result of GET /users/nearby
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Value
+public class NearbyUser {
+
+    UserSummary user;
+
+    /**
+     * Straight-line distance from the requested location, in kilometres
+     */
+    double distanceKm;
+}
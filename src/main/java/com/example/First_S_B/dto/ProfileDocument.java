@@ -0,0 +1,25 @@
+package com.example.First_S_B.dto;
+
+import lombok.Value;
+
+/**
+ * A profile row matched by a ProfileQuery, with additionalInfo as unparsed JSON text
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Value
+public class ProfileDocument {
+
+    Long profileId;
+    Long userId;
+    String role;
+    String city;
+    String state;
+    String pincode;
+
+    /**
+     * Raw JSON of additionalInfo (may be null)
+     */
+    String additionalInfo;
+}
@@ -0,0 +1,26 @@
+package com.example.First_S_B.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Value;
+
+/**
+ * One result of GET /users/profiles
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Value
+public class ProfileMatch {
+
+    Long profileId;
+    Long userId;
+    String role;
+    String city;
+    String state;
+    String pincode;
+
+    /**
+     * additionalInfo, or only the requested attributes of it
+     */
+    JsonNode attributes;
+}
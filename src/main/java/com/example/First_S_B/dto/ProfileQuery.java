@@ -0,0 +1,163 @@
+package com.example.First_S_B.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Typed filter over user profiles, including attributes of additionalInfo
+ *
+ * Example: farmers in Maharashtra growing wheat on more than 5 acres
+ * <pre>
+ * new ProfileQuery()
+ *         .role("FARMER")
+ *         .state("Maharashtra")
+ *         .where("crops", Operator.CONTAINS, "wheat")
+ *         .where("landAcres", Operator.GT, new BigDecimal("5"));
+ * </pre>
+ * All conditions must match. The repository turns them into JSONB
+ * operators so PostgreSQL filters the rows (see schema-postgresql.sql
+ * for the supporting indexes).
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public class ProfileQuery {
+
+    /**
+     * Attribute names are inlined into SQL (so expression indexes can match), hence the strict format
+     */
+    private static final Pattern ATTRIBUTE_NAME = Pattern.compile("[A-Za-z][A-Za-z0-9_]{0,62}");
+
+    /**
+     * Comparison applied to one attribute
+     */
+    public enum Operator {
+        /** Attribute equals the value */
+        EQ,
+        /** Attribute is an array containing the value */
+        CONTAINS,
+        /** Numeric attribute greater than the value */
+        GT,
+        /** Numeric attribute greater than or equal to the value */
+        GTE,
+        /** Numeric attribute less than the value */
+        LT,
+        /** Numeric attribute less than or equal to the value */
+        LTE;
+
+        public boolean isNumeric() {
+            return this != EQ && this != CONTAINS;
+        }
+    }
+
+    /**
+     * One attribute condition
+     *
+     * @param attribute top-level key of additionalInfo
+     * @param operator comparison
+     * @param value String, Boolean or BigDecimal (always BigDecimal for numeric operators)
+     */
+    public record Condition(String attribute, Operator operator, Object value) {
+    }
+
+    private String roleName;
+    private String state;
+    private String city;
+    private final List<Condition> conditions = new ArrayList<>();
+
+    /**
+     * Only profiles of users with this role
+     */
+    public ProfileQuery role(String roleName) {
+        this.roleName = roleName == null ? null : roleName.toUpperCase(Locale.ROOT);
+        return this;
+    }
+
+    /**
+     * Only profiles in this state (exact match)
+     */
+    public ProfileQuery state(String state) {
+        this.state = state;
+        return this;
+    }
+
+    /**
+     * Only profiles in this city (exact match)
+     */
+    public ProfileQuery city(String city) {
+        this.city = city;
+        return this;
+    }
+
+    /**
+     * Add a condition on an additionalInfo attribute
+     *
+     * @throws IllegalArgumentException if the attribute name or value type is not allowed
+     */
+    public ProfileQuery where(String attribute, Operator operator, Object value) {
+        if (attribute == null || !ATTRIBUTE_NAME.matcher(attribute).matches()) {
+            throw new IllegalArgumentException("Invalid attribute name: " + attribute);
+        }
+        if (operator.isNumeric()) {
+            if (!(value instanceof Number number)) {
+                throw new IllegalArgumentException(operator + " needs a numeric value for " + attribute);
+            }
+            value = number instanceof BigDecimal ? number : new BigDecimal(number.toString());
+        } else if (!(value instanceof String || value instanceof Boolean || value instanceof Number)) {
+            throw new IllegalArgumentException(operator + " needs a string, number or boolean value for " + attribute);
+        }
+        conditions.add(new Condition(attribute, operator, value));
+        return this;
+    }
+
+    /**
+     * Add a condition written as attribute:operator:value, e.g. "landAcres:gt:5" or "crops:contains:wheat"
+     *
+     * Values that look like numbers or true/false are typed accordingly; anything else is a string.
+     *
+     * @throws IllegalArgumentException if the expression is malformed
+     */
+    public ProfileQuery where(String expression) {
+        String[] parts = expression.split(":", 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Expected attribute:operator:value but got: " + expression);
+        }
+        Operator operator;
+        try {
+            operator = Operator.valueOf(parts[1].toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown operator '" + parts[1] + "', use one of eq, contains, gt, gte, lt, lte");
+        }
+        return where(parts[0], operator, parseValue(parts[2]));
+    }
+
+    public String getRoleName() {
+        return roleName;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public List<Condition> getConditions() {
+        return List.copyOf(conditions);
+    }
+
+    private static Object parseValue(String text) {
+        if ("true".equalsIgnoreCase(text) || "false".equalsIgnoreCase(text)) {
+            return Boolean.valueOf(text);
+        }
+        try {
+            return new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            return text;
+        }
+    }
+}
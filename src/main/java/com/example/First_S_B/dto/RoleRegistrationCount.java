@@ -0,0 +1,27 @@
+package com.example.First_S_B.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection for registrations per role and minute returned by one grouped query
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public interface RoleRegistrationCount {
+
+    /**
+     * @return name of the role
+     */
+    String getRoleName();
+
+    /**
+     * @return start of the minute the users were created in
+     */
+    LocalDateTime getMinute();
+
+    /**
+     * @return number of users of the role created in that minute
+     */
+    Long getUserCount();
+}
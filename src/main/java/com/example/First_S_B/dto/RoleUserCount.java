@@ -0,0 +1,25 @@
+package com.example.First_S_B.dto;
+
+/**
+ * Projection for per-role user counts returned by one grouped query
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public interface RoleUserCount {
+
+    /**
+     * @return name of the role
+     */
+    String getRoleName();
+
+    /**
+     * @return number of users with the role
+     */
+    Long getUserCount();
+
+    /**
+     * @return number of active users with the role
+     */
+    Long getActiveCount();
+}
@@ -0,0 +1,101 @@
+package com.example.First_S_B.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A request that took longer than the slow-request threshold, with the SQL it issued
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public class SlowRequest {
+
+    private final Instant timestamp;
+    private final String method;
+    private final String path;
+    private final String pattern;
+    private final int status;
+    private final double durationMillis;
+    private final int sqlStatements;
+    private final long sqlRows;
+    private final double sqlMillis;
+    private final List<Statement> statements;
+    private final boolean statementsTruncated;
+
+    public SlowRequest(Instant timestamp, String method, String path, String pattern, int status,
+                       double durationMillis, int sqlStatements, long sqlRows, double sqlMillis,
+                       List<Statement> statements, boolean statementsTruncated) {
+        this.timestamp = timestamp;
+        this.method = method;
+        this.path = path;
+        this.pattern = pattern;
+        this.status = status;
+        this.durationMillis = durationMillis;
+        this.sqlStatements = sqlStatements;
+        this.sqlRows = sqlRows;
+        this.sqlMillis = sqlMillis;
+        this.statements = List.copyOf(statements);
+        this.statementsTruncated = statementsTruncated;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return matched mapping such as /users/role/{roleName}
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public double getDurationMillis() {
+        return durationMillis;
+    }
+
+    public int getSqlStatements() {
+        return sqlStatements;
+    }
+
+    public long getSqlRows() {
+        return sqlRows;
+    }
+
+    public double getSqlMillis() {
+        return sqlMillis;
+    }
+
+    public List<Statement> getStatements() {
+        return statements;
+    }
+
+    /**
+     * @return true if the request issued more statements than were captured
+     */
+    public boolean isStatementsTruncated() {
+        return statementsTruncated;
+    }
+
+    /**
+     * One SQL statement issued by the request
+     *
+     * @param sql statement text (parameters are not included)
+     * @param millis execution time
+     * @param rows rows read from its result set
+     */
+    public record Statement(String sql, double millis, long rows) {
+    }
+}
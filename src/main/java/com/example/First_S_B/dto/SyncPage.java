@@ -0,0 +1,35 @@
+package com.example.First_S_B.dto;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * One page of changes returned by GET /users/sync
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Value
+public class SyncPage {
+
+    /**
+     * Users to insert or replace on the client
+     */
+    List<SyncedUser> users;
+
+    /**
+     * Ids of users to delete on the client (deleted, deactivated, or no longer in the synced role)
+     */
+    List<Long> removed;
+
+    /**
+     * Token to pass on the next call
+     */
+    String nextToken;
+
+    /**
+     * Whether more changes are ready right away (call again with nextToken before showing "up to date")
+     */
+    boolean hasMore;
+}
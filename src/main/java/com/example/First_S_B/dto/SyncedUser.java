@@ -0,0 +1,61 @@
+package com.example.First_S_B.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user with its profile, as sent to offline clients by GET /users/sync
+ *
+ * Selected by a JPQL constructor expression in UserRepository. The profile
+ * fields are null when the user has no profile.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Value
+public class SyncedUser {
+
+    Long id;
+
+    String email;
+
+    String firstName;
+
+    String lastName;
+
+    String phoneNumber;
+
+    /**
+     * Role name (ADMIN, FARMER, DRIVER, MARKET)
+     */
+    String role;
+
+    Boolean isActive;
+
+    Boolean isVerified;
+
+    LocalDateTime updatedAt;
+
+    String address;
+
+    String city;
+
+    String state;
+
+    String pincode;
+
+    Boolean isAvailable;
+
+    /**
+     * URL of the profile photo; add ?size= for a thumbnail (null if none)
+     */
+    String profileImageUrl;
+
+    /**
+     * Role-specific profile data, written to the response as the stored JSON
+     */
+    @JsonRawValue
+    String additionalInfo;
+}
@@ -0,0 +1,19 @@
+package com.example.First_S_B.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Which users a bulk export includes, and where it resumes
+ *
+ * @param roleName only users with this role (null for all)
+ * @param state only users whose profile is in this state, exact match (null for all)
+ * @param createdFrom only users created at or after this time (null for no lower bound)
+ * @param createdBefore only users created before this time (null for no upper bound)
+ * @param afterId only users with a greater id; the last id received when resuming, 0 to start
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public record UserExportFilter(String roleName, String state, LocalDateTime createdFrom,
+                               LocalDateTime createdBefore, long afterId) {
+}
@@ -0,0 +1,30 @@
+package com.example.First_S_B.dto;
+
+/**
+ * Projection of the fields that decide whether and where a user appears in nearby searches
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public interface UserLocation {
+
+    /**
+     * @return id of the user
+     */
+    Long getUserId();
+
+    /**
+     * @return name of the user's role
+     */
+    String getRoleName();
+
+    /**
+     * @return PIN code from the profile
+     */
+    String getPincode();
+
+    /**
+     * @return whether the user accepts requests (null means available)
+     */
+    Boolean getAvailable();
+}
@@ -0,0 +1,20 @@
+package com.example.First_S_B.dto;
+
+import lombok.Value;
+
+/**
+ * One result of GET /users/search
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Value
+public class UserSearchHit {
+
+    UserSummary user;
+
+    /**
+     * Match quality, higher is better (share of matched trigrams plus prefix/exact bonus)
+     */
+    double score;
+}
@@ -0,0 +1,43 @@
+package com.example.First_S_B.dto;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model of a user for list and stream endpoints
+ *
+ * Selected directly by JPQL constructor expressions in UserRepository:
+ * only the columns the API returns, with the role name joined in, and no
+ * password. Instances are plain objects, not managed entities, so large
+ * results add nothing to the persistence context.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Value
+public class UserSummary {
+
+    Long id;
+
+    String email;
+
+    String firstName;
+
+    String lastName;
+
+    String phoneNumber;
+
+    /**
+     * Role name (ADMIN, FARMER, DRIVER, MARKET)
+     */
+    String role;
+
+    Boolean isActive;
+
+    Boolean isVerified;
+
+    LocalDateTime createdAt;
+
+    LocalDateTime updatedAt;
+}
@@ -0,0 +1,26 @@
+package com.example.First_S_B.event;
+
+/**
+ * Application event published whenever a role is created, updated or deleted
+ *
+ * Listeners that keep roles in memory (e.g. RoleRegistry) reload on this event,
+ * so every write path for roles must publish it after the change is saved.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public class RoleChangedEvent {
+
+    private final String roleName;
+
+    public RoleChangedEvent(String roleName) {
+        this.roleName = roleName;
+    }
+
+    /**
+     * @return name of the role that changed
+     */
+    public String getRoleName() {
+        return roleName;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.First_S_B.event;
+
+import com.example.First_S_B.model.User;
+
+import java.time.Instant;
+
+/**
+ * Application event published after a user account changes state
+ *
+ * Write paths publish this event once the change has been saved, and
+ * in-memory views of the users table (statistics, caches, indexes)
+ * update themselves from it instead of re-querying the database.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public class UserLifecycleEvent {
+
+    /**
+     * Kind of change that happened to the user
+     */
+    public enum Type {
+        REGISTERED,
+        VERIFIED,
+        DEACTIVATED,
+        ROLE_CHANGED,
+        PASSWORD_CHANGED
+    }
+
+    private final Type type;
+    private final User user;
+    private final String previousRoleName;
+    private final Instant occurredAt;
+
+    public UserLifecycleEvent(Type type, User user) {
+        this(type, user, null);
+    }
+
+    /**
+     * @param type kind of change
+     * @param user the saved user
+     * @param previousRoleName role before the change (only for ROLE_CHANGED)
+     */
+    public UserLifecycleEvent(Type type, User user, String previousRoleName) {
+        this.type = type;
+        this.user = user;
+        this.previousRoleName = previousRoleName;
+        this.occurredAt = Instant.now();
+    }
+
+    /**
+     * @return kind of change
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the saved user (may be detached, only basic fields and role are loaded)
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * @return role name before a ROLE_CHANGED event, null for other types
+     */
+    public String getPreviousRoleName() {
+        return previousRoleName;
+    }
+
+    /**
+     * @return when the change was saved
+     */
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+}
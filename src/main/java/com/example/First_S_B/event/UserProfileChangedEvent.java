@@ -0,0 +1,54 @@
+package com.example.First_S_B.event;
+
+/**
+ * Application event published after a user's profile or availability is saved
+ *
+ * Carries the values in-memory indexes need (e.g. the nearby-user grid),
+ * so listeners don't have to load the profile again.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public class UserProfileChangedEvent {
+
+    private final Long userId;
+    private final String roleName;
+    private final boolean active;
+    private final String pincode;
+    private final boolean available;
+
+    /**
+     * @param userId id of the user
+     * @param roleName current role of the user
+     * @param active whether the account is active
+     * @param pincode PIN code from the profile (may be null)
+     * @param available whether the user currently accepts requests
+     */
+    public UserProfileChangedEvent(Long userId, String roleName, boolean active, String pincode, boolean available) {
+        this.userId = userId;
+        this.roleName = roleName;
+        this.active = active;
+        this.pincode = pincode;
+        this.available = available;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getRoleName() {
+        return roleName;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public String getPincode() {
+        return pincode;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.First_S_B.eventlog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sequential reader of a SegmentedEventLog, from an offset onwards
+ *
+ * Reads straight from the segment mappings, so replaying history costs no
+ * database queries and runs at memory or disk speed. poll() returns what is
+ * available now and never blocks; calling it again later returns records
+ * appended in the meantime (tailing). Not thread-safe: use one reader per
+ * consumer thread.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public class EventLogReader {
+
+    private final SegmentedEventLog log;
+    private SegmentedEventLog.Segment segment;
+    private int position;
+    private long nextOffset;
+
+    EventLogReader(SegmentedEventLog log, long fromOffset) {
+        this.log = log;
+        seek(fromOffset);
+    }
+
+    /**
+     * Read the next records
+     *
+     * @param maxRecords most records to return
+     * @return records in offset order, empty if the reader has caught up
+     */
+    public List<EventRecord> poll(int maxRecords) {
+        List<EventRecord> records = new ArrayList<>(Math.min(maxRecords, 1024));
+        while (records.size() < maxRecords) {
+            EventRecord record = next();
+            if (record == null) {
+                break;
+            }
+            records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * @return offset of the record the next poll() starts with
+     */
+    public long position() {
+        return nextOffset;
+    }
+
+    private EventRecord next() {
+        while (true) {
+            int end = segment.end;
+            EventRecord record = position < end ? EventRecord.readFrom(segment.buffer, position, nextOffset) : null;
+            if (record != null) {
+                position += EventRecord.HEADER_BYTES + EventRecord.bodyLength(segment.buffer, position);
+                nextOffset++;
+                return record;
+            }
+            // End of this segment's records: move on if a newer segment exists
+            SegmentedEventLog.Segment following = log.segmentAfter(segment);
+            if (following == null) {
+                return null;
+            }
+            if (position >= end && position < segment.end) {
+                // Appended between reading end and the roll that created the next segment
+                continue;
+            }
+            segment = following;
+            position = 0;
+            nextOffset = following.baseOffset;
+        }
+    }
+
+    /**
+     * Jump to the nearest indexed record at or before the offset, then walk the rest
+     */
+    private void seek(long offset) {
+        segment = log.segmentFor(offset);
+        int entry = segment.floorEntry(offset);
+        position = entry >= 0 ? segment.entryPosition(entry) : 0;
+        nextOffset = entry >= 0 ? segment.entryOffset(entry) : segment.baseOffset;
+        while (nextOffset < offset) {
+            int bodyLength = EventRecord.bodyLength(segment.buffer, position);
+            if (position >= segment.end || bodyLength <= 0) {
+                break;
+            }
+            position += EventRecord.HEADER_BYTES + bodyLength;
+            nextOffset++;
+        }
+    }
+}
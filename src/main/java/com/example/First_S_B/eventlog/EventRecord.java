@@ -0,0 +1,175 @@
+package com.example.First_S_B.eventlog;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * One user lifecycle event in the event log, and its binary record format
+ *
+ * On disk a record is
+ * <pre>
+ *   int   body length
+ *   int   CRC32C of the body
+ *   body: byte  type code
+ *         long  timestamp (epoch ms)
+ *         long  user id
+ *         byte  flags (1 = active, 2 = available)
+ *         str   role name
+ *         str   detail (previous role for ROLE_CHANGED, PIN code for PROFILE_UPDATED)
+ * </pre>
+ * where str is a short length (-1 for null) followed by UTF-8 bytes.
+ * Most records take 40 to 60 bytes. A length of 0 marks the end of the
+ * written part of a segment.
+ *
+ * @param offset position in the log (0 for the first event ever written)
+ * @param type kind of event
+ * @param timestampMillis when the change was saved
+ * @param userId id of the user
+ * @param roleName role of the user after the change
+ * @param detail previous role name or PIN code, see type (may be null)
+ * @param active whether the account is active after the change
+ * @param available whether the user accepts requests (PROFILE_UPDATED only)
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public record EventRecord(long offset, Type type, long timestampMillis, long userId,
+                          String roleName, String detail, boolean active, boolean available) {
+
+    /**
+     * Bytes before the body: length and checksum
+     */
+    static final int HEADER_BYTES = 8;
+
+    /**
+     * Longest string kept in a record (in UTF-8 bytes); longer values are truncated
+     */
+    static final int MAX_STRING_BYTES = 1024;
+
+    /**
+     * Largest possible record, header included
+     */
+    static final int MAX_RECORD_BYTES = HEADER_BYTES + 1 + 8 + 8 + 1 + 2 * (2 + MAX_STRING_BYTES);
+
+    private static final byte ACTIVE = 1;
+    private static final byte AVAILABLE = 2;
+
+    /**
+     * Kind of event. Codes are stored on disk and must never change.
+     */
+    public enum Type {
+        REGISTERED(1),
+        VERIFIED(2),
+        DEACTIVATED(3),
+        ROLE_CHANGED(4),
+        PASSWORD_CHANGED(5),
+        PROFILE_UPDATED(6);
+
+        private final byte code;
+
+        Type(int code) {
+            this.code = (byte) code;
+        }
+
+        static Type fromCode(byte code) {
+            for (Type type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown event type code " + code);
+        }
+    }
+
+    /**
+     * Write this event (without its offset) at the buffer's position
+     *
+     * @param buffer target with at least MAX_RECORD_BYTES remaining
+     * @return bytes written
+     */
+    int writeTo(ByteBuffer buffer) {
+        int start = buffer.position();
+        buffer.position(start + HEADER_BYTES);
+        buffer.put(type.code);
+        buffer.putLong(timestampMillis);
+        buffer.putLong(userId);
+        buffer.put((byte) ((active ? ACTIVE : 0) | (available ? AVAILABLE : 0)));
+        putString(buffer, roleName);
+        putString(buffer, detail);
+        int end = buffer.position();
+
+        int bodyLength = end - start - HEADER_BYTES;
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().position(start + HEADER_BYTES).limit(end));
+        buffer.putInt(start + 4, (int) crc.getValue());
+        // Length last: a reader that sees a non-zero length sees the whole record
+        buffer.putInt(start, bodyLength);
+        return end - start;
+    }
+
+    /**
+     * Read the record at the given position of a segment
+     *
+     * @param buffer segment contents (its position is not changed)
+     * @param position where the record starts
+     * @param offset the record's offset in the log
+     * @return the event, or null if there is no complete, intact record there
+     */
+    static EventRecord readFrom(ByteBuffer buffer, int position, long offset) {
+        int bodyLength = bodyLength(buffer, position);
+        if (bodyLength <= 0) {
+            return null;
+        }
+        ByteBuffer body = buffer.duplicate().position(position + HEADER_BYTES).limit(position + HEADER_BYTES + bodyLength);
+        CRC32C crc = new CRC32C();
+        crc.update(body.duplicate());
+        if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+            return null;
+        }
+        Type type = Type.fromCode(body.get());
+        long timestampMillis = body.getLong();
+        long userId = body.getLong();
+        byte flags = body.get();
+        String roleName = getString(body);
+        String detail = getString(body);
+        return new EventRecord(offset, type, timestampMillis, userId, roleName, detail,
+                (flags & ACTIVE) != 0, (flags & AVAILABLE) != 0);
+    }
+
+    /**
+     * Body length of the record at a position: 0 at the end of the written data, -1 if damaged
+     */
+    static int bodyLength(ByteBuffer buffer, int position) {
+        if (position + HEADER_BYTES > buffer.limit()) {
+            return 0;
+        }
+        int bodyLength = buffer.getInt(position);
+        if (bodyLength < 0 || bodyLength > MAX_RECORD_BYTES - HEADER_BYTES
+                || position + HEADER_BYTES + bodyLength > buffer.limit()) {
+            return -1;
+        }
+        return bodyLength;
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, MAX_STRING_BYTES);
+        buffer.putShort((short) length);
+        buffer.put(bytes, 0, length);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
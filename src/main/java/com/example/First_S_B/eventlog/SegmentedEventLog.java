@@ -0,0 +1,405 @@
+package com.example.First_S_B.eventlog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of EventRecords in memory-mapped segment files
+ *
+ * Records get consecutive offsets starting at 0. The log is a directory of
+ * segments named after the offset of their first record
+ * (00000000000000000000.log, ...), each a file of segmentBytes mapped into
+ * memory. Appends copy the record into the mapping of the newest segment;
+ * when it has no room for another record, it is flushed and a new segment
+ * starts (roll). flush() forces the bytes written since the last flush to
+ * disk, so callers choose how many appends share one fsync.
+ *
+ * After a crash the newest segment is scanned on open: the log continues
+ * after the last record with a valid checksum, so a torn last write is
+ * dropped rather than read. Records that were appended but not yet flushed
+ * when the machine (not just the process) went down may be lost.
+ *
+ * Each segment keeps a sparse in-memory index: the position of a record
+ * at least every INDEX_INTERVAL_BYTES. It is filled on append and rebuilt
+ * when the newest segment is recovered; older segments found on open are
+ * indexed on the first seek into them. A reader starting at an offset
+ * binary-searches the index and scans at most one interval.
+ *
+ * Appends, flushes and rolls are serialized; readers (EventLogReader) run
+ * concurrently on any thread and see a record as soon as it is appended.
+ * Old segments are removed with deleteSegmentsOlderThan().
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public class SegmentedEventLog implements Closeable {
+
+    private static final String SUFFIX = ".log";
+
+    /**
+     * Most bytes between two index entries, so a seek scans about one page
+     */
+    static final int INDEX_INTERVAL_BYTES = 4096;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final ConcurrentNavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+    private volatile Segment active;
+    private int flushedPosition;
+    private boolean closed;
+
+    /**
+     * One segment file and its mapping
+     */
+    static final class Segment {
+
+        final long baseOffset;
+        final Path path;
+        final MappedByteBuffer buffer;
+
+        /**
+         * Bytes of complete records; readers never look past it in the active segment
+         */
+        volatile int end;
+
+        /**
+         * Offset the next record appended to this segment gets
+         */
+        volatile long nextOffset;
+
+        /**
+         * Sparse index: offsets (relative to baseOffset) and positions of indexed records,
+         * written by one thread at a time and published through indexEntries
+         */
+        private final int[] indexOffsets;
+        private final int[] indexPositions;
+        private volatile int indexEntries;
+
+        /**
+         * False for a segment found on open until its index has been built
+         */
+        private volatile boolean indexed = true;
+
+        Segment(long baseOffset, Path path, MappedByteBuffer buffer) {
+            this.baseOffset = baseOffset;
+            this.path = path;
+            this.buffer = buffer;
+            int capacity = buffer.capacity() / INDEX_INTERVAL_BYTES + 1;
+            this.indexOffsets = new int[capacity];
+            this.indexPositions = new int[capacity];
+        }
+
+        /**
+         * Add a record to the index if it is INDEX_INTERVAL_BYTES past the last entry
+         */
+        void index(long offset, int position) {
+            int entries = indexEntries;
+            if (entries == 0 || position - indexPositions[entries - 1] >= INDEX_INTERVAL_BYTES) {
+                indexOffsets[entries] = (int) (offset - baseOffset);
+                indexPositions[entries] = position;
+                indexEntries = entries + 1;
+            }
+        }
+
+        /**
+         * Index entry of the last indexed record at or before an offset
+         *
+         * @return entry number, or -1 if the offset is before the first indexed record
+         */
+        int floorEntry(long offset) {
+            ensureIndexed();
+            long relative = offset - baseOffset;
+            int low = 0;
+            int high = indexEntries - 1;
+            int found = -1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (indexOffsets[middle] <= relative) {
+                    found = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return found;
+        }
+
+        long entryOffset(int entry) {
+            return baseOffset + indexOffsets[entry];
+        }
+
+        int entryPosition(int entry) {
+            return indexPositions[entry];
+        }
+
+        int indexEntries() {
+            return indexEntries;
+        }
+
+        /**
+         * Build the index of a segment found on open, by walking its records once
+         */
+        private void ensureIndexed() {
+            if (indexed) {
+                return;
+            }
+            synchronized (this) {
+                if (indexed) {
+                    return;
+                }
+                int position = 0;
+                long offset = baseOffset;
+                int bodyLength;
+                while (position < end && (bodyLength = EventRecord.bodyLength(buffer, position)) > 0) {
+                    index(offset, position);
+                    position += EventRecord.HEADER_BYTES + bodyLength;
+                    offset++;
+                }
+                indexed = true;
+            }
+        }
+    }
+
+    /**
+     * Open the log in a directory, creating it if needed and recovering the newest segment
+     *
+     * @param directory directory holding the segment files
+     * @param segmentBytes size of each segment file
+     * @throws IOException if the directory or a segment can't be opened
+     */
+    public SegmentedEventLog(Path directory, int segmentBytes) throws IOException {
+        if (segmentBytes < EventRecord.MAX_RECORD_BYTES * 2) {
+            throw new IllegalArgumentException("Segment size must be at least " + EventRecord.MAX_RECORD_BYTES * 2 + " bytes");
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+
+        List<Long> baseOffsets = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.matches("\\d{20}" + SUFFIX.replace(".", "\\.")))
+                    .forEach(name -> baseOffsets.add(Long.parseLong(name.substring(0, 20))));
+        }
+        baseOffsets.sort(null);
+
+        for (int i = 0; i < baseOffsets.size() - 1; i++) {
+            long baseOffset = baseOffsets.get(i);
+            Segment sealed = open(baseOffset, FileChannel.MapMode.READ_ONLY);
+            sealed.end = sealed.buffer.limit();
+            sealed.nextOffset = baseOffsets.get(i + 1);
+            sealed.indexed = false;
+            segments.put(baseOffset, sealed);
+        }
+        if (baseOffsets.isEmpty()) {
+            active = create(0);
+        } else {
+            active = open(baseOffsets.get(baseOffsets.size() - 1), FileChannel.MapMode.READ_WRITE);
+            recover(active);
+        }
+        segments.put(active.baseOffset, active);
+        flushedPosition = active.end;
+    }
+
+    /**
+     * Append an event
+     *
+     * @param event event to store (its offset is ignored)
+     * @return offset assigned to the event
+     */
+    public synchronized long append(EventRecord event) {
+        ensureOpen();
+        Segment segment = active;
+        if (segmentBytes - segment.end < EventRecord.MAX_RECORD_BYTES) {
+            segment = roll();
+        }
+        long offset = segment.nextOffset;
+        int position = segment.end;
+        int written = event.writeTo(segment.buffer.position(position));
+        segment.index(offset, position);
+        segment.nextOffset = offset + 1;
+        // Publishes the record to readers
+        segment.end += written;
+        return offset;
+    }
+
+    /**
+     * Force the records appended since the last flush to disk
+     */
+    public synchronized void flush() {
+        if (closed) {
+            return;
+        }
+        Segment segment = active;
+        int end = segment.end;
+        if (end > flushedPosition) {
+            segment.buffer.force(flushedPosition, end - flushedPosition);
+            flushedPosition = end;
+        }
+    }
+
+    /**
+     * @return offset of the oldest record still in the log
+     */
+    public long startOffset() {
+        return segments.firstKey();
+    }
+
+    /**
+     * @return offset the next appended record will get
+     */
+    public long endOffset() {
+        return active.nextOffset;
+    }
+
+    /**
+     * Read the log from an offset
+     *
+     * @param fromOffset first offset to read; clamped to [startOffset, endOffset]
+     * @return reader positioned at the offset, for use by one thread
+     */
+    public EventLogReader reader(long fromOffset) {
+        return new EventLogReader(this, Math.max(startOffset(), Math.min(fromOffset, endOffset())));
+    }
+
+    /**
+     * Delete full segments whose last write is older than a cutoff
+     *
+     * The segment being written is never deleted. Readers still positioned in
+     * a deleted segment finish it and continue with the oldest remaining one.
+     *
+     * @param cutoff segments last written before this are deleted
+     * @return number of deleted segments
+     */
+    public int deleteSegmentsOlderThan(Instant cutoff) {
+        int deleted = 0;
+        for (Segment segment : segments.values()) {
+            if (segment == active) {
+                break;
+            }
+            try {
+                if (Files.getLastModifiedTime(segment.path).toInstant().isBefore(cutoff)) {
+                    segments.remove(segment.baseOffset);
+                    Files.deleteIfExists(segment.path);
+                    deleted++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot delete event log segment " + segment.path, e);
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * @return number of segment files
+     */
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Flush and stop accepting appends
+     */
+    @Override
+    public synchronized void close() {
+        flush();
+        closed = true;
+    }
+
+    /**
+     * The segment holding an offset, or the oldest segment if the offset is no longer kept
+     */
+    Segment segmentFor(long offset) {
+        Map.Entry<Long, Segment> entry = segments.floorEntry(offset);
+        return entry != null ? entry.getValue() : segments.firstEntry().getValue();
+    }
+
+    /**
+     * The segment after the given one, or null if it is the newest
+     */
+    Segment segmentAfter(Segment segment) {
+        Map.Entry<Long, Segment> entry = segments.higherEntry(segment.baseOffset);
+        return entry != null ? entry.getValue() : null;
+    }
+
+    private Segment roll() {
+        Segment sealed = active;
+        sealed.buffer.force();
+        try {
+            Files.setLastModifiedTime(sealed.path, FileTime.from(Instant.now()));
+            Segment next = create(sealed.nextOffset);
+            segments.put(next.baseOffset, next);
+            active = next;
+            flushedPosition = 0;
+            return next;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create event log segment in " + directory, e);
+        }
+    }
+
+    private Segment create(long baseOffset) throws IOException {
+        Segment segment = open(baseOffset, FileChannel.MapMode.READ_WRITE);
+        segment.nextOffset = baseOffset;
+        return segment;
+    }
+
+    private Segment open(long baseOffset, FileChannel.MapMode mode) throws IOException {
+        Path path = directory.resolve(String.format("%020d%s", baseOffset, SUFFIX));
+        boolean write = mode == FileChannel.MapMode.READ_WRITE;
+        try (FileChannel channel = write
+                ? FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(mode, 0, write ? segmentBytes : channel.size());
+            return new Segment(baseOffset, path, buffer);
+        }
+    }
+
+    /**
+     * Find the end of the intact records of the newest segment, index them and clear a torn record after them
+     */
+    private static void recover(Segment segment) {
+        ByteBuffer buffer = segment.buffer;
+        int position = 0;
+        long offset = segment.baseOffset;
+        while (true) {
+            int bodyLength = EventRecord.bodyLength(buffer, position);
+            if (bodyLength <= 0 || EventRecord.readFrom(buffer, position, offset) == null) {
+                break;
+            }
+            segment.index(offset, position);
+            position += EventRecord.HEADER_BYTES + bodyLength;
+            offset++;
+        }
+        if (position + EventRecord.HEADER_BYTES <= buffer.limit() && buffer.getInt(position) != 0) {
+            int clearTo = Math.min(buffer.limit(), position + EventRecord.MAX_RECORD_BYTES);
+            for (int i = position; i < clearTo; i++) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+        segment.end = position;
+        segment.nextOffset = offset;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Event log is closed");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.First_S_B.exception;
+
+/**
+ * Thrown when an Idempotency-Key is sent again with a different request body
+ *
+ * A key names one operation; replaying its stored response for other input
+ * would silently drop the new request. Answered with HTTP 422 by
+ * ApiExceptionHandler, so the client picks a fresh key.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
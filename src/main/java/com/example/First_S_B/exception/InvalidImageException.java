@@ -0,0 +1,30 @@
+package com.example.First_S_B.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when an uploaded profile image is rejected
+ *
+ * Answered by ApiExceptionHandler with the status given here: 413 for
+ * uploads over the size limit, 415 for content that isn't a supported
+ * image.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public class InvalidImageException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public InvalidImageException(String message, HttpStatus status) {
+        super(message);
+        this.status = status;
+    }
+
+    /**
+     * @return HTTP status to answer with
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
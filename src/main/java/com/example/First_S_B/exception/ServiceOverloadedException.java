@@ -0,0 +1,27 @@
+package com.example.First_S_B.exception;
+
+/**
+ * Thrown when a request is rejected because a bounded resource is saturated
+ *
+ * Answered with HTTP 503 and a Retry-After header by ApiExceptionHandler,
+ * so clients back off instead of piling more work onto a busy server.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * @return seconds the client should wait before retrying
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.First_S_B.exception;
+
+/**
+ * Thrown when a sync token is older than the tombstone retention
+ *
+ * Deletes since the token may already be forgotten, so the client has to
+ * drop its copy and sync again from scratch. Answered with HTTP 410 Gone
+ * by ApiExceptionHandler.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public class SyncTokenExpiredException extends RuntimeException {
+
+    public SyncTokenExpiredException(String message) {
+        super(message);
+    }
+}
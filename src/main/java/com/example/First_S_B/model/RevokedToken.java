@@ -0,0 +1,48 @@
+package com.example.First_S_B.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Access token revoked before its expiry (for example by logout)
+ *
+ * The table is the durable copy of the in-memory denylist kept by
+ * TokenRevocationService, which reloads the unexpired rows at startup and
+ * deletes rows once their token has expired.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        // Supports loading unexpired rows at startup and pruning expired ones
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    /**
+     * Unique id of the token (its jti claim, a UUID)
+     */
+    @Id
+    @Column(name = "token_id", length = 36)
+    private String tokenId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * When the token would have expired; the row is not needed after that
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+}
@@ -0,0 +1,43 @@
+package com.example.First_S_B.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of a deleted user or profile row, so delta sync can tell clients to drop it
+ *
+ * Rows are written by database triggers (see schema-postgresql.sql), which
+ * also catch deletes that bypass JPA, and pruned by SyncService once older
+ * than the tombstone retention.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "sync_tombstones", indexes = {
+        // Supports delta sync (WHERE (deleted_at, id) > cursor ORDER BY deleted_at, id) and pruning
+        @Index(name = "idx_sync_tombstones_deleted_at_id", columnList = "deleted_at, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sync_tombstones_seq")
+    @SequenceGenerator(name = "sync_tombstones_seq", sequenceName = "sync_tombstones_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * ID of the user that was deleted, or whose profile was deleted
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -18,14 +18,20 @@ import java.time.LocalDateTime;
  * @version 1.0.0
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        // Supports keyset pagination of users by role (WHERE role_id = ? AND id > ? ORDER BY id)
+        @Index(name = "idx_users_role_id_id", columnList = "role_id, id"),
+        // Supports delta sync (WHERE (updated_at, id) > cursor ORDER BY updated_at, id)
+        @Index(name = "idx_users_updated_at_id", columnList = "updated_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "email", nullable = false, unique = true)
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 
@@ -20,7 +22,10 @@ import java.time.LocalDateTime;
  * @version 1.0.0
  */
 @Entity
-@Table(name = "user_profiles")
+@Table(name = "user_profiles", indexes = {
+        // Supports delta sync (WHERE (updated_at, id) > cursor ORDER BY updated_at, id)
+        @Index(name = "idx_user_profiles_updated_at_id", columnList = "updated_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,9 +33,11 @@ public class UserProfile {
 
     /**
      * Primary key for the UserProfile entity
+     * Taken from a pooled sequence (50 ids per round trip) so inserts can be JDBC-batched
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_profiles_seq")
+    @SequenceGenerator(name = "user_profiles_seq", sequenceName = "user_profiles_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -65,6 +72,13 @@ public class UserProfile {
     @Column(name = "pincode", length = 10)
     private String pincode;
 
+    /**
+     * Whether the user currently accepts requests (drivers and markets toggle this)
+     * Only available users are offered in nearby searches
+     */
+    @Column(name = "is_available")
+    private Boolean isAvailable = true;
+
     /**
      * URL to user's profile image
      * Can be stored in cloud storage or local file system
@@ -80,6 +94,7 @@ public class UserProfile {
      * - Markets: business details, product categories, operating hours
      */
     @Column(name = "additional_info", columnDefinition = "JSONB")
+    @JdbcTypeCode(SqlTypes.JSON)
     private String additionalInfo;
 
     /**
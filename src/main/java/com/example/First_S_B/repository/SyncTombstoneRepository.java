@@ -0,0 +1,52 @@
+package com.example.First_S_B.repository;
+
+import com.example.First_S_B.dto.ChangedRow;
+import com.example.First_S_B.model.SyncTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for SyncTombstone entity
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    /**
+     * Fetch the next tombstones after a sync cursor, oldest first (keyset on deleted_at, id)
+     *
+     * @param changedAt deleted_at of the cursor
+     * @param afterKey tombstone id of the cursor (tie-breaker within changedAt)
+     * @param horizon only deletes strictly before this time
+     * @param limit maximum number of rows to return
+     * @return List<ChangedRow> - rowId is the tombstone id
+     */
+    @Query("SELECT t.id AS rowId, t.userId AS userId, t.deletedAt AS changedAt FROM SyncTombstone t " +
+            "WHERE t.deletedAt >= :changedAt AND (t.deletedAt > :changedAt OR t.id > :afterKey) " +
+            "AND t.deletedAt < :horizon ORDER BY t.deletedAt, t.id")
+    List<ChangedRow> findChangedAfter(@Param("changedAt") LocalDateTime changedAt,
+                                      @Param("afterKey") Long afterKey,
+                                      @Param("horizon") LocalDateTime horizon,
+                                      Limit limit);
+
+    /**
+     * Remove tombstones older than the retention period
+     *
+     * @param cutoff delete tombstones with deleted_at before this time
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SyncTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,22 +1,35 @@
 package com.example.First_S_B.repository;
 
+import com.example.First_S_B.dto.ChangedRow;
+import com.example.First_S_B.dto.UserLocation;
 import com.example.First_S_B.model.UserProfile;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for UserProfile entity
  *
  * This interface provides CRUD operations for user profile information.
  * Each user has exactly one profile with extended information.
+ * Queries on additionalInfo attributes come from UserProfileRepositoryCustom.
  *
  * @author Krishi Saarathi Team
  * @version 1.0.0
  */
 @Repository
-public interface UserProfileRepository extends JpaRepository<UserProfile, Long> {
+public interface UserProfileRepository extends JpaRepository<UserProfile, Long>, UserProfileRepositoryCustom {
 
     /**
      * Find user profile by user ID
@@ -29,6 +42,37 @@ public interface UserProfileRepository extends JpaRepository<UserProfile, Long>
      */
     Optional<UserProfile> findByUserId(Long userId);
 
+    /**
+     * Stream the locations of active users with the given roles that have a PIN code
+     *
+     * Must be consumed inside a read-only transaction and closed afterwards.
+     *
+     * @param roleNames roles to include
+     * @return Stream<UserLocation> - one row per matching user
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = UserRepository.STREAM_FETCH_SIZE))
+    @Query("SELECT u.id AS userId, r.roleName AS roleName, p.pincode AS pincode, p.isAvailable AS available " +
+            "FROM UserProfile p JOIN p.user u JOIN u.role r " +
+            "WHERE u.isActive = true AND r.roleName IN :roleNames AND p.pincode IS NOT NULL")
+    Stream<UserLocation> streamLocationsByRoleNames(@Param("roleNames") Collection<String> roleNames);
+
+    /**
+     * Fetch the next profiles changed after a sync cursor, oldest change first (keyset on updated_at, id)
+     *
+     * @param changedAt updated_at of the cursor
+     * @param afterKey profile id of the cursor (tie-breaker within changedAt)
+     * @param horizon only changes strictly before this time
+     * @param limit maximum number of rows to return
+     * @return List<ChangedRow> - rowId is the profile id
+     */
+    @Query("SELECT p.id AS rowId, p.user.id AS userId, p.updatedAt AS changedAt FROM UserProfile p " +
+            "WHERE p.updatedAt >= :changedAt AND (p.updatedAt > :changedAt OR p.id > :afterKey) " +
+            "AND p.updatedAt < :horizon ORDER BY p.updatedAt, p.id")
+    List<ChangedRow> findChangedAfter(@Param("changedAt") LocalDateTime changedAt,
+                                      @Param("afterKey") Long afterKey,
+                                      @Param("horizon") LocalDateTime horizon,
+                                      Limit limit);
+
     /**
      * Delete user profile by user ID
      *
@@ -0,0 +1,29 @@
+package com.example.First_S_B.repository;
+
+import com.example.First_S_B.dto.ProfileDocument;
+import com.example.First_S_B.dto.ProfileQuery;
+
+import java.util.List;
+
+/**
+ * Profile queries that Spring Data can't derive: filters on JSONB attributes of additionalInfo
+ *
+ * Implemented by UserProfileRepositoryImpl and exposed through UserProfileRepository.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public interface UserProfileRepositoryCustom {
+
+    /**
+     * Find profiles of active users matching all conditions of the query
+     *
+     * Uses keyset pagination on the profile id.
+     *
+     * @param query role, location and attribute conditions
+     * @param afterId only return profiles with a larger id (0 for the first page)
+     * @param limit maximum number of rows
+     * @return List<ProfileDocument> - matching profiles ordered by id
+     */
+    List<ProfileDocument> findByQuery(ProfileQuery query, long afterId, int limit);
+}
@@ -0,0 +1,138 @@
+package com.example.First_S_B.repository;
+
+import com.example.First_S_B.dto.ProfileDocument;
+import com.example.First_S_B.dto.ProfileQuery;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+
+/**
+ * JSONB attribute queries for UserProfileRepository, in native PostgreSQL SQL
+ *
+ * Conditions become predicates PostgreSQL can answer from indexes
+ * (see schema-postgresql.sql):
+ * - EQ and CONTAINS use containment, additional_info @> '{"crops":["wheat"]}',
+ *   served by the GIN (jsonb_path_ops) index on additional_info
+ * - GT/GTE/LT/LTE compare numericAttribute(name), the exact expression the
+ *   numeric expression indexes are built on (non-numbers become NULL)
+ * Attribute names are validated by ProfileQuery and inlined as literals,
+ * because the planner only matches an expression index against constants.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public class UserProfileRepositoryImpl implements UserProfileRepositoryCustom {
+
+    private static final String SELECT = "SELECT p.id, p.user_id, r.role_name, p.city, p.state, p.pincode, " +
+            "CAST(p.additional_info AS text) AS additional_info " +
+            "FROM user_profiles p JOIN users u ON u.id = p.user_id JOIN roles r ON r.id = u.role_id " +
+            "WHERE u.is_active = TRUE AND p.id > :afterId";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public UserProfileRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public List<ProfileDocument> findByQuery(ProfileQuery query, long afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("afterId", afterId)
+                .addValue("limit", limit);
+        String sql = SELECT + where(query, params) + " ORDER BY p.id LIMIT :limit";
+
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new ProfileDocument(
+                rs.getLong("id"),
+                rs.getLong("user_id"),
+                rs.getString("role_name"),
+                rs.getString("city"),
+                rs.getString("state"),
+                rs.getString("pincode"),
+                rs.getString("additional_info")));
+    }
+
+    /**
+     * Render the query's conditions as SQL predicates (each starting with " AND"), binding values into params
+     */
+    String where(ProfileQuery query, MapSqlParameterSource params) {
+        StringBuilder sql = new StringBuilder();
+        if (query.getRoleName() != null) {
+            sql.append(" AND r.role_name = :roleName");
+            params.addValue("roleName", query.getRoleName());
+        }
+        if (query.getState() != null) {
+            sql.append(" AND p.state = :state");
+            params.addValue("state", query.getState());
+        }
+        if (query.getCity() != null) {
+            sql.append(" AND p.city = :city");
+            params.addValue("city", query.getCity());
+        }
+
+        List<ProfileQuery.Condition> conditions = query.getConditions();
+        for (int i = 0; i < conditions.size(); i++) {
+            ProfileQuery.Condition condition = conditions.get(i);
+            String param = "c" + i;
+            switch (condition.operator()) {
+                case EQ, CONTAINS -> {
+                    sql.append(" AND p.additional_info @> CAST(:").append(param).append(" AS jsonb)");
+                    params.addValue(param, containmentDocument(condition));
+                }
+                default -> {
+                    sql.append(" AND ").append(numericAttribute("p.additional_info", condition.attribute()))
+                            .append(comparison(condition.operator())).append(':').append(param);
+                    params.addValue(param, condition.value());
+                }
+            }
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Numeric value of a top-level attribute, NULL if missing or not a JSON number
+     *
+     * Immutable, so it can back an expression index; index and query must use exactly this form.
+     *
+     * @param column the JSONB column (optionally qualified)
+     * @param attribute validated attribute name
+     */
+    static String numericAttribute(String column, String attribute) {
+        return "(CASE WHEN jsonb_typeof(" + column + " -> '" + attribute + "') = 'number' " +
+                "THEN CAST(" + column + " ->> '" + attribute + "' AS numeric) END)";
+    }
+
+    private static String comparison(ProfileQuery.Operator operator) {
+        return switch (operator) {
+            case GT -> " > ";
+            case GTE -> " >= ";
+            case LT -> " < ";
+            case LTE -> " <= ";
+            default -> throw new IllegalArgumentException("Not a numeric operator: " + operator);
+        };
+    }
+
+    /**
+     * JSON document for a containment test: {"attr": value} for EQ, {"attr": [value]} for CONTAINS
+     */
+    private String containmentDocument(ProfileQuery.Condition condition) {
+        ObjectNode document = objectMapper.createObjectNode();
+        if (condition.operator() == ProfileQuery.Operator.CONTAINS) {
+            document.putArray(condition.attribute()).addPOJO(condition.value());
+        } else {
+            document.putPOJO(condition.attribute(), condition.value());
+        }
+        try {
+            return objectMapper.writeValueAsString(document);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot encode value of " + condition.attribute(), e);
+        }
+    }
+}
@@ -1,13 +1,27 @@
 package com.example.First_S_B.repository;
 
+import com.example.First_S_B.dto.ChangedRow;
+import com.example.First_S_B.dto.RoleRegistrationCount;
+import com.example.First_S_B.dto.RoleUserCount;
+import com.example.First_S_B.dto.SyncedUser;
+import com.example.First_S_B.dto.UserSummary;
 import com.example.First_S_B.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for User entity
@@ -21,6 +35,21 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * Number of rows the JDBC driver pulls per round trip when streaming.
+     * PostgreSQL only uses a server-side cursor when this is set and the
+     * connection is not in auto-commit mode (i.e. inside a transaction).
+     */
+    String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * Select clause building UserSummary read models: API columns only, role name joined in
+     */
+    String SELECT_SUMMARY = "SELECT new com.example.First_S_B.dto.UserSummary(" +
+            "u.id, u.email, u.firstName, u.lastName, u.phoneNumber, r.roleName, " +
+            "u.isActive, u.isVerified, u.createdAt, u.updatedAt) " +
+            "FROM User u JOIN u.role r ";
+
     /**
      * Find a user by email address
      *
@@ -43,6 +72,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByEmailAndIsActive(String email, Boolean isActive);
 
+    /**
+     * Find a user by ID and check if active
+     *
+     * @param id user's ID
+     * @param isActive whether the user is active
+     * @return Optional<User> - active user if found, empty otherwise
+     */
+    Optional<User> findByIdAndIsActive(Long id, Boolean isActive);
+
     /**
      * Check if email already exists in the system
      *
@@ -53,16 +91,45 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     boolean existsByEmail(String email);
 
+    /**
+     * Find which of the given emails are already registered
+     *
+     * Set-based replacement for calling existsByEmail once per email,
+     * used by bulk import to check a whole chunk in one query.
+     *
+     * @param emails emails to check
+     * @return List<String> - the subset of emails that already exist
+     */
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Replace a user's password hash without loading the entity
+     *
+     * Used to transparently re-hash passwords on login when the work factor changes
+     *
+     * @param id ID of the user
+     * @param password new encoded password
+     * @param updatedAt modification time to store
+     * @return number of rows updated
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password, u.updatedAt = :updatedAt WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id,
+                       @Param("password") String password,
+                       @Param("updatedAt") LocalDateTime updatedAt);
+
     /**
      * Find all users by role name
      *
      * This method uses a JPQL query to join with Role entity
      *
      * @param roleName name of the role (ADMIN, FARMER, DRIVER, MARKET)
-     * @return List<User> - all users with the specified role
+     * @return List<UserSummary> - all users with the specified role
      */
-    @Query("SELECT u FROM User u JOIN u.role r WHERE r.roleName = :roleName")
-    List<User> findByRoleName(@Param("roleName") String roleName);
+    @Query(SELECT_SUMMARY + "WHERE r.roleName = :roleName ORDER BY u.id")
+    List<UserSummary> findByRoleName(@Param("roleName") String roleName);
 
     /**
      * Find all active users by role name
@@ -71,10 +138,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
      *
      * @param roleName name of the role
      * @param isActive whether users are active
-     * @return List<User> - active users with the specified role
+     * @return List<UserSummary> - active users with the specified role
+     */
+    @Query(SELECT_SUMMARY + "WHERE r.roleName = :roleName AND u.isActive = :isActive ORDER BY u.id")
+    List<UserSummary> findActiveUsersByRoleName(@Param("roleName") String roleName, @Param("isActive") Boolean isActive);
+
+    /**
+     * Load the read models of the given users (e.g. search hits)
+     *
+     * @param ids user ids
+     * @return List<UserSummary> - the users that exist, in no particular order
      */
-    @Query("SELECT u FROM User u JOIN u.role r WHERE r.roleName = :roleName AND u.isActive = :isActive")
-    List<User> findActiveUsersByRoleName(@Param("roleName") String roleName, @Param("isActive") Boolean isActive);
+    @Query(SELECT_SUMMARY + "WHERE u.id IN :ids")
+    List<UserSummary> findSummariesByIds(@Param("ids") Collection<Long> ids);
 
     /**
      * Count users by role name
@@ -86,4 +162,108 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT COUNT(u) FROM User u JOIN u.role r WHERE r.roleName = :roleName")
     long countByRoleName(@Param("roleName") String roleName);
+
+    /**
+     * Count users and active users for every role in one grouped query
+     *
+     * Used to seed and reconcile the in-memory statistics counters
+     *
+     * @return List<RoleUserCount> - one entry per role that has users
+     */
+    @Query("SELECT r.roleName AS roleName, COUNT(u) AS userCount, " +
+           "SUM(CASE WHEN u.isActive = true THEN 1L ELSE 0L END) AS activeCount " +
+           "FROM User u JOIN u.role r GROUP BY r.roleName")
+    List<RoleUserCount> countUsersGroupedByRole();
+
+    /**
+     * Count registrations per role and minute in a time range, in one grouped query
+     *
+     * Used to seed the rolling registration windows of the statistics at startup
+     *
+     * @param from first creation time counted
+     * @param to creation times from here on are not counted
+     * @return List<RoleRegistrationCount> - one entry per role and minute with registrations
+     */
+    @Query("SELECT r.roleName AS roleName, truncate(u.createdAt, minute) AS minute, COUNT(u) AS userCount " +
+           "FROM User u JOIN u.role r WHERE u.createdAt >= :from AND u.createdAt < :to " +
+           "GROUP BY r.roleName, truncate(u.createdAt, minute)")
+    List<RoleRegistrationCount> countRegistrationsByRoleAndMinute(@Param("from") LocalDateTime from,
+                                                                  @Param("to") LocalDateTime to);
+
+    /**
+     * Fetch one page of users ordered by id (keyset pagination)
+     *
+     * Seeks past the last id the client has seen instead of using OFFSET,
+     * so every page costs the same no matter how deep the client pages.
+     *
+     * @param afterId last id of the previous page (0 for the first page)
+     * @param limit maximum number of users to return
+     * @return List<UserSummary> - users with id greater than afterId
+     */
+    @Query(SELECT_SUMMARY + "WHERE u.id > :afterId ORDER BY u.id")
+    List<UserSummary> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Fetch one page of users with the given role ordered by id (keyset pagination)
+     *
+     * @param roleName name of the role (ADMIN, FARMER, DRIVER, MARKET)
+     * @param afterId last id of the previous page (0 for the first page)
+     * @param limit maximum number of users to return
+     * @return List<UserSummary> - users with the role and id greater than afterId
+     */
+    @Query(SELECT_SUMMARY + "WHERE r.roleName = :roleName AND u.id > :afterId ORDER BY u.id")
+    List<UserSummary> findPageByRoleNameAfter(@Param("roleName") String roleName,
+                                       @Param("afterId") Long afterId,
+                                       Limit limit);
+
+    /**
+     * Fetch the next users changed after a sync cursor, oldest change first (keyset on updated_at, id)
+     *
+     * @param changedAt updated_at of the cursor
+     * @param afterKey user id of the cursor (tie-breaker within changedAt)
+     * @param horizon only changes strictly before this time
+     * @param limit maximum number of rows to return
+     * @return List<ChangedRow> - rowId and userId are both the user id
+     */
+    @Query("SELECT u.id AS rowId, u.id AS userId, u.updatedAt AS changedAt FROM User u " +
+            "WHERE u.updatedAt >= :changedAt AND (u.updatedAt > :changedAt OR u.id > :afterKey) " +
+            "AND u.updatedAt < :horizon ORDER BY u.updatedAt, u.id")
+    List<ChangedRow> findChangedAfter(@Param("changedAt") LocalDateTime changedAt,
+                                      @Param("afterKey") Long afterKey,
+                                      @Param("horizon") LocalDateTime horizon,
+                                      Limit limit);
+
+    /**
+     * Find users together with their profiles, for delta sync
+     *
+     * @param ids user ids
+     * @return List<SyncedUser> - the users that exist, in no particular order
+     */
+    @Query("SELECT new com.example.First_S_B.dto.SyncedUser(" +
+            "u.id, u.email, u.firstName, u.lastName, u.phoneNumber, r.roleName, u.isActive, u.isVerified, " +
+            "u.updatedAt, p.address, p.city, p.state, p.pincode, p.isAvailable, p.profileImageUrl, p.additionalInfo) " +
+            "FROM User u JOIN u.role r LEFT JOIN u.userProfile p WHERE u.id IN :ids")
+    List<SyncedUser> findSyncedUsersByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Stream all users ordered by id from a server-side cursor
+     *
+     * Must be consumed inside a read-only transaction and closed afterwards.
+     * Rows become UserSummary objects, which are not managed by the persistence context.
+     *
+     * @return Stream<UserSummary> - all users, fetched STREAM_FETCH_SIZE rows at a time
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(SELECT_SUMMARY + "ORDER BY u.id")
+    Stream<UserSummary> streamAll();
+
+    /**
+     * Stream all users with the given role ordered by id from a server-side cursor
+     *
+     * @param roleName name of the role
+     * @return Stream<UserSummary> - users with the specified role
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(SELECT_SUMMARY + "WHERE r.roleName = :roleName ORDER BY u.id")
+    Stream<UserSummary> streamByRoleName(@Param("roleName") String roleName);
 }
@@ -0,0 +1,180 @@
+package com.example.First_S_B.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adjusts itself to measured latency
+ *
+ * Requests hold a slot while they run; a request is admitted only while
+ * fewer than limit * share slots are taken, so lanes with a smaller share
+ * are throttled first and leave room for the others.
+ *
+ * Completed requests report their latency. Per window (at least
+ * windowNanos and windowMinSamples long) the average latency is compared
+ * with a slowly moving baseline (gradient algorithm):
+ * - latency near the baseline: the limit grows by about sqrt(limit)
+ * - latency above baseline * rttTolerance: the limit shrinks in
+ *   proportion, by at most half
+ * - any failed request (server error) in the window: the limit is
+ *   multiplied by backoffRatio (multiplicative decrease)
+ * Changes are smoothed and kept between minLimit and maxLimit. When fewer
+ * than half the slots were used the limit is left alone, since the
+ * window says nothing about how much more the server could take.
+ *
+ * Thread-safe: admission is a compare-and-set on the in-flight count,
+ * latency samples are folded in under a short lock.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class AdaptiveConcurrencyLimit {
+
+    /**
+     * Weight of one window in the latency baseline (an average over about 600 windows)
+     */
+    private static final double BASELINE_WEIGHT = 1.0 / 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final double backoffRatio;
+    private final long windowNanos;
+    private final int windowMinSamples;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile int limit;
+
+    // Guarded by this
+    private double estimatedLimit;
+    private double baselineRttNanos;
+    private long windowStartNanos;
+    private long windowRttSumNanos;
+    private int windowSamples;
+    private int windowMaxInflight;
+    private boolean windowDropped;
+
+    /**
+     * @param initialLimit limit until the first window has been measured
+     * @param minLimit lowest limit
+     * @param maxLimit highest limit
+     * @param rttTolerance latency increase over the baseline that is still accepted (1.5 = 50%)
+     * @param smoothing share of each computed limit taken over (0-1], lower reacts slower
+     * @param backoffRatio factor applied to the limit after a window with failed requests
+     * @param windowNanos minimum length of a measurement window
+     * @param windowMinSamples minimum number of latency samples per window
+     */
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double rttTolerance,
+                             double smoothing, double backoffRatio, long windowNanos, int windowMinSamples) {
+        if (minLimit < 1 || maxLimit < minLimit || rttTolerance < 1 || smoothing <= 0 || smoothing > 1
+                || backoffRatio <= 0 || backoffRatio >= 1 || windowNanos < 0 || windowMinSamples < 1) {
+            throw new IllegalArgumentException("Invalid concurrency limit settings");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.backoffRatio = backoffRatio;
+        this.windowNanos = windowNanos;
+        this.windowMinSamples = windowMinSamples;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Take a slot if the lane's share of the limit isn't used up
+     *
+     * @param share part of the limit the lane may use (0-1], at least one slot
+     * @return true if admitted; the caller must then call release exactly once
+     */
+    boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inflight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Free a slot without reporting latency (for requests whose duration says nothing about load)
+     */
+    void release() {
+        inflight.decrementAndGet();
+    }
+
+    /**
+     * Free a slot and report how the request went
+     *
+     * @param rttNanos time the request took
+     * @param dropped true if the request failed because the server couldn't cope
+     * @param nowNanos current System.nanoTime()
+     * @return change of the limit (0 unless this sample closed a window)
+     */
+    int release(long rttNanos, boolean dropped, long nowNanos) {
+        int inflightBefore = inflight.getAndDecrement();
+        synchronized (this) {
+            if (windowSamples == 0) {
+                windowStartNanos = nowNanos;
+            }
+            windowRttSumNanos += rttNanos;
+            windowSamples++;
+            windowMaxInflight = Math.max(windowMaxInflight, inflightBefore);
+            windowDropped |= dropped;
+
+            if (nowNanos - windowStartNanos < windowNanos || (windowSamples < windowMinSamples && !windowDropped)) {
+                return 0;
+            }
+            int before = limit;
+            update((double) windowRttSumNanos / windowSamples, windowMaxInflight, windowDropped);
+            windowRttSumNanos = 0;
+            windowSamples = 0;
+            windowMaxInflight = 0;
+            windowDropped = false;
+            return limit - before;
+        }
+    }
+
+    /**
+     * @return current limit
+     */
+    int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return slots currently taken
+     */
+    int getInflight() {
+        return inflight.get();
+    }
+
+    private void update(double rttNanos, int maxInflight, boolean dropped) {
+        double next;
+        if (dropped) {
+            next = estimatedLimit * backoffRatio;
+        } else {
+            if (baselineRttNanos == 0) {
+                baselineRttNanos = rttNanos;
+            } else {
+                baselineRttNanos += (rttNanos - baselineRttNanos) * BASELINE_WEIGHT;
+                // Latency far below the baseline: the baseline was taken under load, let it catch up
+                if (baselineRttNanos > 2 * rttNanos) {
+                    baselineRttNanos *= 0.95;
+                }
+            }
+            if (maxInflight < estimatedLimit / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * baselineRttNanos / rttNanos));
+            double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            next = estimatedLimit * (1 - smoothing) + target * smoothing;
+        }
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -1,4 +1,126 @@
 package com.example.First_S_B.service;
 
-public class CustomUserDetailsService {
+import com.example.First_S_B.config.ReplicaRoutingDataSource;
+import com.example.First_S_B.dto.AppUserDetails;
+import com.example.First_S_B.event.UserLifecycleEvent;
+import com.example.First_S_B.model.User;
+import com.example.First_S_B.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Loads users for Spring Security during login and token checks
+ *
+ * Only active users are returned; the returned details carry the
+ * user id and role name needed to issue a JWT.
+ *
+ * Details are cached by email and by id (bounded, TTL-based), so checking
+ * an active session does not depend on database latency. Unknown and
+ * inactive users are cached too, as empty entries with a short TTL, so
+ * tokens of deleted users or guessed emails don't reach the database on
+ * every request. Deactivation, role change and password change evict
+ * entries immediately through UserLifecycleEvent. Lookups always read the
+ * primary, so an entry loaded right after such a change (the next request
+ * of that user) never comes from a replica that hasn't seen it yet.
+ *
+ * Each entry is loaded inside the cache's atomic compute, so an eviction
+ * that arrives while a load is running waits for it and then removes the
+ * result; a load that started before the change can't put stale details
+ * back. Cache statistics are published as Micrometer cache.* metrics
+ * (cache=userDetailsByEmail / userDetailsById).
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Service
+public class CustomUserDetailsService implements UserDetailsService {
+
+    private final UserRepository userRepository;
+    private final Cache<String, Optional<AppUserDetails>> byEmail;
+    private final Cache<Long, Optional<AppUserDetails>> byId;
+    private final Counter invalidations;
+
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.user-details-cache.max-size:50000}") long maxSize,
+                                    @Value("${app.user-details-cache.ttl-seconds:300}") long ttlSeconds,
+                                    @Value("${app.user-details-cache.negative-ttl-seconds:30}") long negativeTtlSeconds) {
+        this.userRepository = userRepository;
+        Expiry<Object, Optional<AppUserDetails>> expiry = Expiry.creating((key, details) ->
+                Duration.ofSeconds(details.isPresent() ? ttlSeconds : negativeTtlSeconds));
+        this.byEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(expiry)
+                .recordStats()
+                .build();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(expiry)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, byEmail, "userDetailsByEmail");
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "userDetailsById");
+        this.invalidations = Counter.builder("user.details.cache.invalidations")
+                .description("User details evicted because the account changed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Load an active user by email
+     *
+     * @param email user's email address (the login username)
+     * @return UserDetails with password hash and ROLE_{role} authority
+     * @throws UsernameNotFoundException if no active user has this email
+     */
+    @Override
+    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        return byEmail.get(email, key -> ReplicaRoutingDataSource.readFromPrimary(
+                        () -> userRepository.findByEmailAndIsActive(key, true)).map(this::toDetails))
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
+    }
+
+    /**
+     * Load an active user by id
+     *
+     * @param id ID of the user
+     * @return UserDetails with password hash and ROLE_{role} authority
+     * @throws UsernameNotFoundException if no active user has this id
+     */
+    public AppUserDetails loadUserById(Long id) throws UsernameNotFoundException {
+        return byId.get(id, key -> ReplicaRoutingDataSource.readFromPrimary(
+                        () -> userRepository.findByIdAndIsActive(key, true)).map(this::toDetails))
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + id));
+    }
+
+    /**
+     * Evict a user as soon as the account changes
+     *
+     * @param event lifecycle event published by the write path
+     */
+    @EventListener
+    public void onUserLifecycle(UserLifecycleEvent event) {
+        User user = event.getUser();
+        if (byEmail.asMap().remove(user.getEmail()) != null | byId.asMap().remove(user.getId()) != null) {
+            invalidations.increment();
+        }
+    }
+
+    private AppUserDetails toDetails(User user) {
+        return new AppUserDetails(user.getId(), user.getEmail(), user.getPassword(),
+                user.getRole().getRoleName(), user.getIsActive());
+    }
 }
@@ -1,9 +1,13 @@
 package com.example.First_S_B.service;
 
+import com.example.First_S_B.event.RoleChangedEvent;
 import com.example.First_S_B.model.Role;
 import com.example.First_S_B.repository.RoleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 /**
@@ -23,6 +27,12 @@ public class DataInitializationService implements CommandLineRunner {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     /**
      * This method runs when the application starts
      *
@@ -38,6 +48,10 @@ public class DataInitializationService implements CommandLineRunner {
     public void run(String... args) {
         System.out.println("🌱 Initializing default data...");
 
+        alignIdSequence("roles", "roles_seq");
+        alignIdSequence("users", "users_seq");
+        alignIdSequence("user_profiles", "user_profiles_seq");
+
         createRoleIfNotExists("ADMIN", "System Administrator with full platform access");
         createRoleIfNotExists("FARMER", "Agricultural producers using farming services");
         createRoleIfNotExists("DRIVER", "Transportation providers for agricultural logistics");
@@ -61,12 +75,37 @@ public class DataInitializationService implements CommandLineRunner {
             role.setRoleName(roleName);
             role.setDescription(description);
             roleRepository.save(role);
+            eventPublisher.publishEvent(new RoleChangedEvent(roleName));
             System.out.println("📝 Created role: " + roleName);
         } else {
             System.out.println("✓ Role already exists: " + roleName);
         }
     }
 
+    /**
+     * Move an id sequence past the highest id already in its table
+     *
+     * Tables created before ids came from sequences already contain rows,
+     * while the sequence Hibernate created for them starts at 1. Without this
+     * the first inserts would collide with existing ids.
+     *
+     * @param table table whose id column is fed by the sequence
+     * @param sequence name of the PostgreSQL sequence
+     */
+    private void alignIdSequence(String table, String sequence) {
+        try {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            Long lastValue = jdbcTemplate.queryForObject("SELECT last_value FROM " + sequence, Long.class);
+            if (maxId != null && lastValue != null && maxId >= lastValue) {
+                jdbcTemplate.queryForObject("SELECT setval(CAST(? AS regclass), ?)", Long.class, sequence, maxId);
+                System.out.println("🔢 Moved " + sequence + " past existing id " + maxId);
+            }
+        } catch (DataAccessException e) {
+            // Not PostgreSQL or sequence not created yet, nothing to align
+            System.out.println("⚠️ Could not align " + sequence + ": " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
     /**
      * Display current role statistics in the console
      */
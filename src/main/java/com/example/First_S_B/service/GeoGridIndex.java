@@ -0,0 +1,244 @@
+package com.example.First_S_B.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory grid index of user locations for nearest-neighbour lookups
+ *
+ * The map is cut into square cells of a fixed size in degrees. Each cell
+ * keeps the ids and coordinates of its users in parallel arrays, so a
+ * lookup only touches the cells around the origin: rings of cells are
+ * visited outwards until the ring is farther away than the k-th nearest
+ * user found so far (or than the search radius).
+ *
+ * Thread-safe: lookups share a read lock, updates take the write lock.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class GeoGridIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE_LATITUDE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private final double cellDegrees;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final Map<Long, Cell> cellByUserId = new HashMap<>();
+
+    /**
+     * One result of a nearest-neighbour lookup
+     *
+     * @param userId id of the user
+     * @param distanceKm great-circle distance from the origin
+     */
+    record Neighbour(long userId, double distanceKm) {
+    }
+
+    /**
+     * @param cellDegrees edge length of a grid cell in degrees (0.05 is about 5.5 km)
+     */
+    GeoGridIndex(double cellDegrees) {
+        if (cellDegrees <= 0) {
+            throw new IllegalArgumentException("cellDegrees must be positive");
+        }
+        this.cellDegrees = cellDegrees;
+    }
+
+    /**
+     * Add a user, or move it if it is already indexed
+     */
+    void put(long userId, double latitude, double longitude) {
+        long key = cellKey(cellIndex(latitude), cellIndex(longitude));
+        lock.writeLock().lock();
+        try {
+            Cell previous = cellByUserId.remove(userId);
+            if (previous != null) {
+                removeFrom(previous, userId);
+            }
+            Cell cell = cells.computeIfAbsent(key, Cell::new);
+            cell.add(userId, latitude, longitude);
+            cellByUserId.put(userId, cell);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a user (no-op if not indexed)
+     */
+    void remove(long userId) {
+        lock.writeLock().lock();
+        try {
+            Cell cell = cellByUserId.remove(userId);
+            if (cell != null) {
+                removeFrom(cell, userId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the users nearest to a point
+     *
+     * @param latitude origin latitude
+     * @param longitude origin longitude
+     * @param radiusKm ignore users farther away than this
+     * @param limit maximum number of users
+     * @return up to limit users within the radius, nearest first
+     */
+    List<Neighbour> nearest(double latitude, double longitude, double radiusKm, int limit) {
+        if (limit <= 0 || radiusKm < 0) {
+            return List.of();
+        }
+        int centerLat = cellIndex(latitude);
+        int centerLon = cellIndex(longitude);
+
+        // Smallest extent of a cell within the radius: longitude degrees shrink towards the poles
+        double farthestLatitude = Math.min(89, Math.abs(latitude) + radiusKm / KM_PER_DEGREE_LATITUDE + cellDegrees);
+        double cellKm = cellDegrees * KM_PER_DEGREE_LATITUDE * Math.cos(Math.toRadians(farthestLatitude));
+        int maxRing = (int) Math.ceil(radiusKm / cellKm) + 1;
+
+        PriorityQueue<Neighbour> nearest = new PriorityQueue<>(limit + 1, GeoGridIndex::compareFarthestFirst);
+        lock.readLock().lock();
+        try {
+            for (int ring = 0; ring <= maxRing; ring++) {
+                // Every cell of this ring is at least (ring - 1) cells away from the origin
+                double ringDistanceKm = (ring - 1) * cellKm;
+                if (ringDistanceKm > radiusKm
+                        || (nearest.size() == limit && ringDistanceKm > nearest.peek().distanceKm())) {
+                    break;
+                }
+                for (int dLat = -ring; dLat <= ring; dLat++) {
+                    boolean edgeRow = Math.abs(dLat) == ring;
+                    for (int dLon = -ring; dLon <= ring; dLon += edgeRow ? 1 : 2 * ring) {
+                        Cell cell = cells.get(cellKey(centerLat + dLat, centerLon + dLon));
+                        if (cell != null) {
+                            cell.collect(latitude, longitude, radiusKm, limit, nearest);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Neighbour> result = new ArrayList<>(nearest);
+        result.sort((a, b) -> compareFarthestFirst(b, a));
+        return result;
+    }
+
+    /**
+     * @return number of indexed users
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return cellByUserId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Great-circle distance between two points (haversine formula)
+     */
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private void removeFrom(Cell cell, long userId) {
+        cell.remove(userId);
+        if (cell.size == 0) {
+            cells.remove(cell.key);
+        }
+    }
+
+    private int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long cellKey(int latIndex, int lonIndex) {
+        return ((long) latIndex << 32) | (lonIndex & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Orders farther neighbours first, so the head of the bounded heap is the one to evict
+     */
+    private static int compareFarthestFirst(Neighbour a, Neighbour b) {
+        int byDistance = Double.compare(b.distanceKm(), a.distanceKm());
+        // Among equal distances the higher user id counts as farther
+        return byDistance != 0 ? byDistance : Long.compare(b.userId(), a.userId());
+    }
+
+    /**
+     * Users of one grid cell in parallel arrays (unordered, removal swaps in the last entry)
+     */
+    private static final class Cell {
+
+        private final long key;
+        private long[] userIds = new long[4];
+        private double[] latitudes = new double[4];
+        private double[] longitudes = new double[4];
+        private int size;
+
+        Cell(long key) {
+            this.key = key;
+        }
+
+        void add(long userId, double latitude, double longitude) {
+            if (size == userIds.length) {
+                int capacity = size * 2;
+                userIds = Arrays.copyOf(userIds, capacity);
+                latitudes = Arrays.copyOf(latitudes, capacity);
+                longitudes = Arrays.copyOf(longitudes, capacity);
+            }
+            userIds[size] = userId;
+            latitudes[size] = latitude;
+            longitudes[size] = longitude;
+            size++;
+        }
+
+        void remove(long userId) {
+            for (int i = 0; i < size; i++) {
+                if (userIds[i] == userId) {
+                    size--;
+                    userIds[i] = userIds[size];
+                    latitudes[i] = latitudes[size];
+                    longitudes[i] = longitudes[size];
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Offer every user of the cell within the radius to a bounded farthest-first heap
+         */
+        void collect(double latitude, double longitude, double radiusKm, int limit, PriorityQueue<Neighbour> nearest) {
+            for (int i = 0; i < size; i++) {
+                double distance = distanceKm(latitude, longitude, latitudes[i], longitudes[i]);
+                if (distance > radiusKm) {
+                    continue;
+                }
+                Neighbour candidate = new Neighbour(userIds[i], distance);
+                if (nearest.size() < limit) {
+                    nearest.offer(candidate);
+                } else if (compareFarthestFirst(candidate, nearest.peek()) > 0) {
+                    nearest.poll();
+                    nearest.offer(candidate);
+                }
+            }
+        }
+    }
+}
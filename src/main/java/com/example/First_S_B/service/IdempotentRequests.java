@@ -0,0 +1,226 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.exception.IdempotencyKeyReusedException;
+import com.example.First_S_B.exception.ServiceOverloadedException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per Idempotency-Key and replays its response
+ *
+ * Mobile clients retry writes when a response is lost. With a key, the
+ * first request runs the handler; duplicates that arrive while it is still
+ * running wait for its result instead of racing it, and duplicates that
+ * arrive later get the stored response without running the handler (or
+ * touching the database) again. Replayed responses carry the
+ * Idempotent-Replayed: true header.
+ *
+ * Responses are kept for app.idempotency.ttl-seconds after they complete,
+ * and at most app.idempotency.max-keys of them. Requests still running
+ * weigh nothing in the cache, so the size limit never evicts them and a
+ * duplicate always finds the run it should wait for. 5xx responses and
+ * exceptions are not kept, so a retry after a failure runs the handler
+ * again. A key sent with a different request body is rejected with
+ * IdempotencyKeyReusedException. Bodies are compared by an HMAC-SHA256
+ * keyed with a random per-process secret, never kept in memory: a plain
+ * hash of a registration body could be brute-forced for the password,
+ * since the other fields are easy to guess.
+ *
+ * Keys live in this server's memory: behind a load balancer, retries must
+ * reach the same instance for a replay (on another instance the request
+ * simply runs, and the database constraints still apply).
+ *
+ * Metrics (Micrometer): idempotency.requests, tagged by outcome
+ * (executed, coalesced, replayed).
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Service
+public class IdempotentRequests {
+
+    /**
+     * Response header marking a stored response sent again
+     */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /**
+     * Longest accepted Idempotency-Key
+     */
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private static final String FINGERPRINT_ALGORITHM = "HmacSHA256";
+
+    private final Cache<String, Entry> entries;
+    private final SecretKeySpec fingerprintKey;
+    private final long waitTimeoutMillis;
+    private final long retryAfterSeconds;
+
+    private final Counter executed;
+    private final Counter coalesced;
+    private final Counter replayed;
+
+    /**
+     * One operation: the hash of its request and its (eventual) response
+     */
+    private record Entry(String fingerprint, CompletableFuture<ResponseEntity<?>> response) {
+    }
+
+    public IdempotentRequests(MeterRegistry meterRegistry,
+                              @Value("${app.idempotency.max-keys:100000}") long maxKeys,
+                              @Value("${app.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                              @Value("${app.idempotency.wait-timeout-ms:10000}") long waitTimeoutMillis,
+                              @Value("${app.idempotency.retry-after-seconds:2}") long retryAfterSeconds) {
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxKeys)
+                .weigher((String key, Entry entry) -> entry.response().isDone() ? 1 : 0)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.fingerprintKey = new SecretKeySpec(secret, FINGERPRINT_ALGORITHM);
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        this.executed = outcomeCounter(meterRegistry, "executed");
+        this.coalesced = outcomeCounter(meterRegistry, "coalesced");
+        this.replayed = outcomeCounter(meterRegistry, "replayed");
+    }
+
+    /**
+     * Run a handler once for an idempotency key
+     *
+     * @param operation name of the endpoint, keys are scoped to it
+     * @param key Idempotency-Key sent by the client
+     * @param request request body, compared with the body the key was first used with
+     * @param handler produces the response for the first request with this key
+     * @return the handler's response, or the stored one with Idempotent-Replayed: true
+     * @throws IdempotencyKeyReusedException if the key was used with a different body
+     * @throws ServiceOverloadedException if the first request is still running after the wait timeout
+     */
+    public <T> ResponseEntity<T> execute(String operation, String key, Map<String, ?> request,
+                                         Supplier<ResponseEntity<T>> handler) {
+        String cacheKey = operation + ':' + key;
+        Entry mine = new Entry(fingerprint(request), new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(cacheKey, mine);
+
+        if (existing != null) {
+            if (!existing.fingerprint().equals(mine.fingerprint())) {
+                throw new IdempotencyKeyReusedException(
+                        "Idempotency-Key was already used with a different request");
+            }
+            (existing.response().isDone() ? replayed : coalesced).increment();
+            return replay(await(existing.response()));
+        }
+
+        executed.increment();
+        ResponseEntity<T> response;
+        try {
+            response = handler.get();
+        } catch (RuntimeException | Error e) {
+            entries.asMap().remove(cacheKey, mine);
+            mine.response().completeExceptionally(e);
+            throw e;
+        }
+        if (response.getStatusCode().is5xxServerError()) {
+            // Requests already waiting share this attempt; later retries run again
+            entries.asMap().remove(cacheKey, mine);
+        }
+        mine.response().complete(response);
+        // Weigh the entry again now that it is done, so it counts towards the limit
+        entries.asMap().replace(cacheKey, mine, mine);
+        return response;
+    }
+
+    /**
+     * Number of keys currently remembered (running or completed)
+     */
+    long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> await(CompletableFuture<ResponseEntity<?>> response) {
+        try {
+            return (ResponseEntity<T>) response.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ServiceOverloadedException(
+                    "A request with this Idempotency-Key is still in progress", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Interrupted while waiting for the original request", retryAfterSeconds);
+        }
+    }
+
+    private static <T> ResponseEntity<T> replay(ResponseEntity<T> original) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(original.getHeaders());
+        headers.set(REPLAYED_HEADER, "true");
+        return new ResponseEntity<>(original.getBody(), headers, original.getStatusCode());
+    }
+
+    /**
+     * HMAC over the entries in key order, each part length-prefixed so values can't run together
+     */
+    String fingerprint(Map<String, ?> request) {
+        try {
+            Mac mac = Mac.getInstance(FINGERPRINT_ALGORITHM);
+            mac.init(fingerprintKey);
+            for (Map.Entry<String, ?> entry : new TreeMap<>(request).entrySet()) {
+                update(mac, entry.getKey());
+                update(mac, entry.getValue() == null ? null : entry.getValue().toString());
+            }
+            return HexFormat.of().formatHex(mac.doFinal());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(FINGERPRINT_ALGORITHM + " not available", e);
+        }
+    }
+
+    private static void update(Mac mac, String value) {
+        if (value == null) {
+            mac.update((byte) 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        mac.update((byte) 1);
+        mac.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        mac.update(bytes);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("idempotency.requests").tag("outcome", outcome)
+                .description("Requests with an Idempotency-Key, by whether the handler ran")
+                .register(meterRegistry);
+    }
+}
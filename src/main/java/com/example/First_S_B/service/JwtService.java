@@ -1,4 +1,124 @@
 package com.example.First_S_B.service;
 
+import com.example.First_S_B.dto.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Service for issuing and verifying JWT access tokens
+ *
+ * Tokens are signed with HMAC-SHA256 and carry everything needed to
+ * authenticate a request: subject (email), user id ("uid"), role name
+ * ("role"), a unique token id (jti), issue and expiry time.
+ *
+ * Verifying a token means checking the HMAC and parsing the JSON claims.
+ * Recently verified tokens are kept in a bounded cache, so clients that
+ * reuse the same token skip that work on every request.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Service
 public class JwtService {
+
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLE = "role";
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long expirationMillis;
+    private final Cache<String, AuthenticatedUser> verifiedTokens;
+
+    public JwtService(@Value("${app.jwt-secret}") String secret,
+                      @Value("${app.jwt-expiration-milliseconds}") long expirationMillis,
+                      @Value("${app.jwt-verified-cache-size:10000}") long verifiedCacheSize,
+                      @Value("${app.jwt-verified-cache-ttl-seconds:600}") long verifiedCacheTtlSeconds) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.expirationMillis = expirationMillis;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfterWrite(Duration.ofSeconds(verifiedCacheTtlSeconds))
+                .build();
+    }
+
+    /**
+     * Issue a signed access token for a user
+     *
+     * @param userId id of the user
+     * @param email email of the user (token subject)
+     * @param role role name of the user
+     * @return compact JWT string
+     */
+    public String generateToken(Long userId, String email, String role) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(email)
+                .setId(UUID.randomUUID().toString())
+                .claim(CLAIM_USER_ID, userId)
+                .claim(CLAIM_ROLE, role)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expirationMillis))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * Verify a token and return the user it was issued to
+     *
+     * @param token compact JWT string
+     * @return the authenticated user, or null if the token is invalid or expired
+     */
+    public AuthenticatedUser verify(String token) {
+        AuthenticatedUser cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            if (cached.getExpiresAtMillis() > System.currentTimeMillis()) {
+                return cached;
+            }
+            verifiedTokens.invalidate(token);
+            return null;
+        }
+
+        AuthenticatedUser user = parse(token);
+        if (user != null) {
+            verifiedTokens.put(token, user);
+        }
+        return user;
+    }
+
+    /**
+     * @return token lifetime in milliseconds
+     */
+    public long getExpirationMillis() {
+        return expirationMillis;
+    }
+
+    private AuthenticatedUser parse(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            Object userId = claims.get(CLAIM_USER_ID);
+            String role = claims.get(CLAIM_ROLE, String.class);
+            if (!(userId instanceof Number) || role == null || claims.getExpiration() == null) {
+                return null;
+            }
+            return new AuthenticatedUser(((Number) userId).longValue(), claims.getSubject(), role,
+                    claims.getId(), claims.getExpiration().getTime());
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,158 @@
+package com.example.First_S_B.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Adaptive admission control for the user API (see LoadSheddingFilter)
+ *
+ * Under a traffic peak, queueing every request in Tomcat only makes all of
+ * them time out on the connection pool. Instead the number of requests in
+ * progress is capped by an AdaptiveConcurrencyLimit that follows measured
+ * latency, and requests over the cap are refused at once with 503 and
+ * Retry-After. Accepted requests keep their normal latency.
+ *
+ * Requests are sorted into priority lanes. HEAVY requests (full listings,
+ * streams, exports, imports) may only fill app.load-shedding.heavy-share
+ * of the limit and NORMAL ones app.load-shedding.normal-share, so cheap
+ * CRITICAL reads such as the role list are the last to be refused.
+ * CRITICAL requests are not used as latency samples, they don't wait on
+ * the database.
+ *
+ * Metrics (Micrometer): concurrency.limit, concurrency.inflight,
+ * concurrency.limit.changes (tagged up or down), concurrency.shed (tagged by priority).
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Service
+public class LoadSheddingService {
+
+    /**
+     * Priority lanes, in the order they are refused under load (HEAVY first)
+     */
+    public enum Priority {
+        CRITICAL,
+        NORMAL,
+        HEAVY
+    }
+
+    private final boolean enabled;
+    private final long retryAfterSeconds;
+    private final AdaptiveConcurrencyLimit limit;
+    private final double[] shares = new double[Priority.values().length];
+    private final Counter[] shed = new Counter[Priority.values().length];
+    private final Counter limitIncreases;
+    private final Counter limitDecreases;
+
+    public LoadSheddingService(MeterRegistry meterRegistry,
+                               @Value("${app.load-shedding.enabled:true}") boolean enabled,
+                               @Value("${app.load-shedding.initial-limit:20}") int initialLimit,
+                               @Value("${app.load-shedding.min-limit:4}") int minLimit,
+                               @Value("${app.load-shedding.max-limit:200}") int maxLimit,
+                               @Value("${app.load-shedding.rtt-tolerance:1.5}") double rttTolerance,
+                               @Value("${app.load-shedding.smoothing:0.2}") double smoothing,
+                               @Value("${app.load-shedding.backoff-ratio:0.9}") double backoffRatio,
+                               @Value("${app.load-shedding.window-ms:1000}") long windowMillis,
+                               @Value("${app.load-shedding.window-min-samples:10}") int windowMinSamples,
+                               @Value("${app.load-shedding.normal-share:0.9}") double normalShare,
+                               @Value("${app.load-shedding.heavy-share:0.5}") double heavyShare,
+                               @Value("${app.load-shedding.retry-after-seconds:1}") long retryAfterSeconds) {
+        if (normalShare <= 0 || normalShare > 1 || heavyShare <= 0 || heavyShare > 1) {
+            throw new IllegalArgumentException("Lane shares must be in (0, 1]");
+        }
+        this.enabled = enabled;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, rttTolerance, smoothing,
+                backoffRatio, Duration.ofMillis(windowMillis).toNanos(), windowMinSamples);
+        shares[Priority.CRITICAL.ordinal()] = 1.0;
+        shares[Priority.NORMAL.ordinal()] = normalShare;
+        shares[Priority.HEAVY.ordinal()] = heavyShare;
+
+        Gauge.builder("concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive limit of concurrent user API requests")
+                .register(meterRegistry);
+        Gauge.builder("concurrency.inflight", limit, AdaptiveConcurrencyLimit::getInflight)
+                .description("User API requests in progress")
+                .register(meterRegistry);
+        this.limitIncreases = Counter.builder("concurrency.limit.changes").tag("direction", "up")
+                .description("Adjustments of the concurrency limit")
+                .register(meterRegistry);
+        this.limitDecreases = Counter.builder("concurrency.limit.changes").tag("direction", "down")
+                .description("Adjustments of the concurrency limit")
+                .register(meterRegistry);
+        for (Priority priority : Priority.values()) {
+            shed[priority.ordinal()] = Counter.builder("concurrency.shed").tag("priority", priority.name())
+                    .description("Requests refused with 503 because the concurrency limit was reached")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * @return false if load shedding is switched off (app.load-shedding.enabled)
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Admit a request, or count it as shed
+     *
+     * @param priority lane of the request
+     * @return true if admitted; the caller must then call a release method exactly once
+     */
+    public boolean tryAcquire(Priority priority) {
+        if (limit.tryAcquire(shares[priority.ordinal()])) {
+            return true;
+        }
+        shed[priority.ordinal()].increment();
+        return false;
+    }
+
+    /**
+     * Release an admitted request and feed its outcome to the limit
+     *
+     * 4xx responses are not sampled (they end before the real work), nor
+     * are 503s: those come from other admission controls (hashing pool,
+     * idempotency wait, thumbnail pool) refusing work, and one saturated
+     * subsystem must not shrink the limit of every lane. Other 5xx
+     * responses (failures, pool timeouts) count as overload.
+     *
+     * @param priority lane of the request
+     * @param startNanos System.nanoTime() when the request was admitted
+     * @param status HTTP status of the response
+     */
+    public void release(Priority priority, long startNanos, int status) {
+        if (priority == Priority.CRITICAL || (status >= 400 && status < 500) || status == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+            limit.release();
+            return;
+        }
+        long now = System.nanoTime();
+        int change = limit.release(now - startNanos, status >= 500, now);
+        if (change > 0) {
+            limitIncreases.increment();
+        } else if (change < 0) {
+            limitDecreases.increment();
+        }
+    }
+
+    /**
+     * Release an admitted request without sampling its latency (long-running streams)
+     */
+    public void release() {
+        limit.release();
+    }
+
+    /**
+     * @return seconds a refused client should wait before retrying
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
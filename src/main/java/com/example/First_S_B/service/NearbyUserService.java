@@ -0,0 +1,270 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.dto.NearbyUser;
+import com.example.First_S_B.dto.UserLocation;
+import com.example.First_S_B.dto.UserSummary;
+import com.example.First_S_B.event.UserLifecycleEvent;
+import com.example.First_S_B.event.UserProfileChangedEvent;
+import com.example.First_S_B.model.User;
+import com.example.First_S_B.model.UserProfile;
+import com.example.First_S_B.repository.UserProfileRepository;
+import com.example.First_S_B.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Finds active drivers and markets near a location
+ *
+ * Keeps one GeoGridIndex per matchable role (app.geo.indexed-roles) holding
+ * the active, available users of that role, placed at the coordinates of
+ * their profile's PIN code. The index is built at startup from one streamed
+ * query and then updated from UserProfileChangedEvent (profile and
+ * availability changes) and UserLifecycleEvent (registration, deactivation,
+ * role change), so lookups never query the database for locations. Both
+ * are applied after the publishing transaction commits, so a rolled-back
+ * write never reaches the index; events published outside a transaction
+ * are applied immediately.
+ *
+ * Metrics: geo.index.users (gauge per role), geo.nearby.latency (index lookup only).
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Service
+public class NearbyUserService {
+
+    private final UserRepository userRepository;
+    private final UserProfileRepository userProfileRepository;
+    private final PincodeDirectory pincodeDirectory;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Set<String> indexedRoles;
+    private final double cellDegrees;
+    private final Timer lookupLatency;
+
+    private volatile Map<String, GeoGridIndex> indexes;
+
+    /**
+     * Guards building and pendingChanges
+     */
+    private final Object buildLock = new Object();
+    private boolean building;
+    private final List<UserProfileChangedEvent> pendingChanges = new ArrayList<>();
+
+    @Autowired
+    public NearbyUserService(UserRepository userRepository,
+                             UserProfileRepository userProfileRepository,
+                             PincodeDirectory pincodeDirectory,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.geo.indexed-roles:DRIVER,MARKET}") Set<String> indexedRoles,
+                             @Value("${app.geo.cell-size-degrees:0.05}") double cellDegrees) {
+        this.userRepository = userRepository;
+        this.userProfileRepository = userProfileRepository;
+        this.pincodeDirectory = pincodeDirectory;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.indexedRoles = indexedRoles.stream()
+                .map(role -> role.trim().toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        this.cellDegrees = cellDegrees;
+        this.indexes = newIndexes();
+
+        for (String role : this.indexedRoles) {
+            Gauge.builder("geo.index.users", this, service -> service.indexes.get(role).size())
+                    .description("Available users in the nearby-user index")
+                    .tag("role", role)
+                    .register(meterRegistry);
+        }
+        this.lookupLatency = Timer.builder("geo.nearby.latency")
+                .description("Time to find the nearest users in the index")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Load the locations of all matchable users once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (buildLock) {
+            if (building) {
+                return;
+            }
+            building = true;
+        }
+
+        Map<String, GeoGridIndex> fresh = newIndexes();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<UserLocation> locations = userProfileRepository.streamLocationsByRoleNames(indexedRoles)) {
+                    locations.forEach(location -> apply(fresh, location.getUserId(), location.getRoleName(), true,
+                            location.getPincode(), !Boolean.FALSE.equals(location.getAvailable())));
+                }
+            });
+        } finally {
+            synchronized (buildLock) {
+                for (UserProfileChangedEvent change : pendingChanges) {
+                    apply(fresh, change);
+                }
+                pendingChanges.clear();
+                indexes = fresh;
+                building = false;
+            }
+        }
+    }
+
+    /**
+     * Move, add or drop a user after their profile or availability changed
+     *
+     * @param event change published by the write path
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProfileChanged(UserProfileChangedEvent event) {
+        synchronized (buildLock) {
+            if (building) {
+                pendingChanges.add(event);
+            }
+        }
+        apply(indexes, event);
+    }
+
+    /**
+     * Keep the index current after a user is registered, deactivated or changes role
+     *
+     * @param event lifecycle event published by the write path
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserLifecycle(UserLifecycleEvent event) {
+        User user = event.getUser();
+        String roleName = user.getRole().getRoleName();
+        switch (event.getType()) {
+            case REGISTERED -> {
+                // Imported users come with a profile; users registered through the API add it later
+                UserProfile profile = user.getUserProfile();
+                if (profile != null && indexedRoles.contains(roleName)) {
+                    onProfileChanged(toEvent(user, profile));
+                }
+            }
+            case DEACTIVATED -> onProfileChanged(new UserProfileChangedEvent(user.getId(), roleName, false, null, false));
+            case ROLE_CHANGED -> {
+                boolean wasIndexed = indexedRoles.contains(event.getPreviousRoleName());
+                if (indexedRoles.contains(roleName)) {
+                    userProfileRepository.findByUserId(user.getId())
+                            .ifPresentOrElse(profile -> onProfileChanged(toEvent(user, profile)),
+                                    () -> onProfileChanged(new UserProfileChangedEvent(user.getId(), roleName, false, null, false)));
+                } else if (wasIndexed) {
+                    onProfileChanged(new UserProfileChangedEvent(user.getId(), roleName, false, null, false));
+                }
+            }
+            default -> {
+                // Password changes don't affect locations
+            }
+        }
+    }
+
+    /**
+     * Find the nearest available users of a role
+     *
+     * @param latitude origin latitude
+     * @param longitude origin longitude
+     * @param roleName role to search (must be one of app.geo.indexed-roles)
+     * @param radiusKm maximum distance
+     * @param limit maximum number of users
+     * @return users nearest first, with their distance
+     * @throws IllegalArgumentException if the role is not indexed
+     */
+    public List<NearbyUser> findNearby(double latitude, double longitude, String roleName, double radiusKm, int limit) {
+        GeoGridIndex index = indexes.get(roleName.toUpperCase(Locale.ROOT));
+        if (index == null) {
+            throw new IllegalArgumentException("Nearby search is only available for roles: " + indexedRoles);
+        }
+
+        long startNanos = System.nanoTime();
+        List<GeoGridIndex.Neighbour> neighbours = index.nearest(latitude, longitude, radiusKm, limit);
+        lookupLatency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (neighbours.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = new ArrayList<>(neighbours.size());
+        for (GeoGridIndex.Neighbour neighbour : neighbours) {
+            ids.add(neighbour.userId());
+        }
+        Map<Long, UserSummary> summaries = new HashMap<>();
+        for (UserSummary summary : userRepository.findSummariesByIds(ids)) {
+            summaries.put(summary.getId(), summary);
+        }
+
+        List<NearbyUser> results = new ArrayList<>(neighbours.size());
+        for (GeoGridIndex.Neighbour neighbour : neighbours) {
+            UserSummary summary = summaries.get(neighbour.userId());
+            if (summary != null) {
+                results.add(new NearbyUser(summary, Math.round(neighbour.distanceKm() * 100) / 100.0));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @return roles that can be searched by location
+     */
+    public Set<String> getIndexedRoles() {
+        return indexedRoles;
+    }
+
+    private static UserProfileChangedEvent toEvent(User user, UserProfile profile) {
+        return new UserProfileChangedEvent(user.getId(), user.getRole().getRoleName(),
+                Boolean.TRUE.equals(user.getIsActive()), profile.getPincode(),
+                !Boolean.FALSE.equals(profile.getIsAvailable()));
+    }
+
+    private Map<String, GeoGridIndex> newIndexes() {
+        Map<String, GeoGridIndex> created = new HashMap<>();
+        for (String role : indexedRoles) {
+            created.put(role, new GeoGridIndex(cellDegrees));
+        }
+        return created;
+    }
+
+    private void apply(Map<String, GeoGridIndex> target, UserProfileChangedEvent change) {
+        apply(target, change.getUserId(), change.getRoleName(), change.isActive(), change.getPincode(),
+                change.isAvailable());
+    }
+
+    /**
+     * Place the user in the index of its role if it is active, available and locatable; drop it everywhere else
+     */
+    private void apply(Map<String, GeoGridIndex> target, long userId, String roleName, boolean active,
+                       String pincode, boolean available) {
+        PincodeDirectory.Location location = active && available && indexedRoles.contains(roleName)
+                ? pincodeDirectory.locate(pincode).orElse(null)
+                : null;
+        for (Map.Entry<String, GeoGridIndex> entry : target.entrySet()) {
+            if (location != null && entry.getKey().equals(roleName)) {
+                entry.getValue().put(userId, location.latitude(), location.longitude());
+            } else {
+                entry.getValue().remove(userId);
+            }
+        }
+    }
+}
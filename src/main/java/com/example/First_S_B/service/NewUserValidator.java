@@ -0,0 +1,67 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.model.Role;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.regex.Pattern;
+
+/**
+ * Checks the fields of a new account
+ *
+ * One set of rules for every way an account is created: self-registration
+ * (POST /users/register) and bulk import (POST /users/import). Only the
+ * allowed roles differ, because registration is public and must not grant
+ * ADMIN.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Service
+public class NewUserValidator {
+
+    /**
+     * Role that only admins may grant
+     */
+    public static final String ADMIN_ROLE = "ADMIN";
+
+    /**
+     * Shortest accepted password
+     */
+    public static final int MIN_PASSWORD_LENGTH = 6;
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    /**
+     * Validate the fields of a new account
+     *
+     * @param email login email
+     * @param password plain-text password
+     * @param firstName first name
+     * @param roleName requested role, in any case
+     * @param adminAllowed whether the caller may create ADMIN accounts
+     * @return error message, or null if the account may be created
+     */
+    public String validate(String email, String password, String firstName, String roleName, boolean adminAllowed) {
+        if (email == null || password == null || firstName == null || roleName == null) {
+            return "Missing required fields: email, password, firstName, role";
+        }
+        if (!EMAIL_PATTERN.matcher(email).matches()) {
+            return "Invalid email address";
+        }
+        if (password.length() < MIN_PASSWORD_LENGTH) {
+            return "Password must be at least " + MIN_PASSWORD_LENGTH + " characters long";
+        }
+        Role role = roleRegistry.findByName(roleName);
+        if (adminAllowed && role == null) {
+            return "Invalid role. Must be: ADMIN, FARMER, DRIVER, or MARKET";
+        }
+        if (!adminAllowed && (role == null || ADMIN_ROLE.equals(role.getRoleName()))) {
+            return "Invalid role. Must be: FARMER, DRIVER, or MARKET";
+        }
+        return null;
+    }
+}
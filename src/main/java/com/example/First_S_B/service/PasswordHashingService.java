@@ -0,0 +1,282 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing and verification on a dedicated, bounded thread pool
+ *
+ * A BCrypt hash costs tens to hundreds of milliseconds of CPU. Running it
+ * on Tomcat worker threads lets a login or registration burst starve every
+ * other endpoint. Here the work goes to a small pool with a bounded queue;
+ * when the queue is full the request is rejected immediately with a
+ * ServiceOverloadedException (HTTP 503 + Retry-After) instead of waiting.
+ *
+ * The pool stays on platform threads in the virtual thread mode too: hashing
+ * is CPU-bound, so virtual threads would add no capacity and would remove the
+ * bound. Request threads waiting for a result are what become virtual.
+ *
+ * Metrics (Micrometer): password.hash.queue.depth, password.hash.active,
+ * password.hash.latency (submit to result, tagged by operation),
+ * password.hash.rejected.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long waitTimeoutMillis;
+    private final long retryAfterSeconds;
+
+    /**
+     * Hash compared against when a login names an unknown user, created on first use
+     */
+    private volatile String unknownUserHash;
+
+    private final Timer encodeLatency;
+    private final Timer verifyLatency;
+    private final Counter rejected;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.password-hashing.threads:0}") int threads,
+                                  @Value("${app.password-hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${app.password-hashing.wait-timeout-ms:5000}") long waitTimeoutMillis,
+                                  @Value("${app.password-hashing.retry-after-seconds:2}") long retryAfterSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        // Leave CPU for request handling: half the cores unless configured
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("password.hash.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks currently running")
+                .register(meterRegistry);
+        this.encodeLatency = Timer.builder("password.hash.latency").tag("operation", "encode")
+                .description("Time from submitting a hashing task to its result")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.verifyLatency = Timer.builder("password.hash.latency").tag("operation", "verify")
+                .description("Time from submitting a hashing task to its result")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("password.hash.rejected")
+                .description("Hashing tasks rejected because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hash a raw password with the configured work factor
+     *
+     * @param rawPassword password as entered by the user
+     * @return encoded hash including the algorithm prefix
+     * @throws ServiceOverloadedException if the hashing pool is saturated
+     */
+    public String encode(String rawPassword) {
+        long startNanos = System.nanoTime();
+        return await(submit(() -> passwordEncoder.encode(rawPassword)), encodeLatency, startNanos);
+    }
+
+    /**
+     * Check a raw password against a stored hash
+     *
+     * @param rawPassword password as entered by the user
+     * @param encodedPassword stored hash
+     * @return true if the password matches
+     * @throws ServiceOverloadedException if the hashing pool is saturated
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        long startNanos = System.nanoTime();
+        return await(submit(() -> passwordEncoder.matches(rawPassword, encodedPassword)), verifyLatency, startNanos);
+    }
+
+    /**
+     * Run a password check that always fails, for logins with an unknown email
+     *
+     * Takes as long as a real check, so response times don't reveal which emails exist.
+     *
+     * @param rawPassword password as entered by the user
+     * @throws ServiceOverloadedException if the hashing pool is saturated
+     */
+    public void matchesUnknownUser(String rawPassword) {
+        if (unknownUserHash == null) {
+            unknownUserHash = encode("unknown-user-password");
+        }
+        matches(rawPassword, unknownUserHash);
+    }
+
+    /**
+     * Whether a stored hash should be re-encoded, e.g. because the work factor changed
+     * or the password predates hashing. Cheap, runs on the caller's thread.
+     *
+     * @param encodedPassword stored hash
+     * @return true if the password should be re-hashed after a successful login
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Re-hash a password after a successful login, if its stored hash is outdated
+     *
+     * Best-effort: the upgrade can wait for a later login, so a saturated
+     * pool yields no new hash instead of failing the login with a 503.
+     *
+     * @param rawPassword password as entered by the user, already verified
+     * @param encodedPassword stored hash
+     * @return the new hash, or empty if none is needed or the pool is saturated
+     */
+    public Optional<String> rehash(String rawPassword, String encodedPassword) {
+        if (!needsRehash(encodedPassword)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(encode(rawPassword));
+        } catch (ServiceOverloadedException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Hash many passwords for a batch job (e.g. bulk import)
+     *
+     * A batch keeps at most one task per pool thread outstanding, so it leaves
+     * queue room for interactive logins and registrations. Unlike encode(),
+     * it never fails on a full queue: it waits for its own oldest task and retries.
+     *
+     * @param rawPasswords passwords to hash
+     * @return hashes in the same order
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        Deque<Future<String>> pending = new ArrayDeque<>();
+
+        int maxOutstanding = executor.getMaximumPoolSize();
+
+        for (String rawPassword : rawPasswords) {
+            if (pending.size() >= maxOutstanding) {
+                awaitQuietly(pending.removeFirst());
+            }
+            while (true) {
+                try {
+                    Future<String> future = executor.submit(() -> passwordEncoder.encode(rawPassword));
+                    futures.add(future);
+                    pending.addLast(future);
+                    break;
+                } catch (RejectedExecutionException e) {
+                    if (pending.isEmpty()) {
+                        sleepQuietly();
+                    } else {
+                        awaitQuietly(pending.removeFirst());
+                    }
+                }
+            }
+        }
+
+        List<String> hashes = new ArrayList<>(futures.size());
+        for (Future<String> future : futures) {
+            hashes.add(join(future));
+        }
+        return hashes;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceOverloadedException("Server is busy, please retry shortly", retryAfterSeconds);
+        }
+    }
+
+    private <T> T await(Future<T> future, Timer latency, long startNanos) {
+        try {
+            return future.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new ServiceOverloadedException("Server is busy, please retry shortly", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } finally {
+            latency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private <T> T join(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private void awaitQuietly(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            // reported again when the result is collected
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        }
+    }
+}
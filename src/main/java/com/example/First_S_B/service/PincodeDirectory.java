@@ -0,0 +1,120 @@
+package com.example.First_S_B.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Offline geocoding of Indian postal codes (PIN codes)
+ *
+ * Coordinates come from a local CSV table (pincode,latitude,longitude,place),
+ * loaded once at startup, so geocoding never calls an external service.
+ * Rows may hold a full 6-digit PIN code or a 3-digit prefix (the sorting
+ * district). A PIN code without its own row resolves to its district.
+ *
+ * The bundled table (geo/pincodes.csv) only covers the major districts;
+ * point app.geo.pincode-file at a full India Post directory in the same
+ * format for exact locations.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Service
+public class PincodeDirectory {
+
+    private static final Logger log = LoggerFactory.getLogger(PincodeDirectory.class);
+
+    private static final int PINCODE_LENGTH = 6;
+    private static final int DISTRICT_PREFIX_LENGTH = 3;
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+
+    private final Map<String, Location> locations = new HashMap<>();
+
+    /**
+     * Coordinates of a PIN code
+     *
+     * @param latitude degrees north
+     * @param longitude degrees east
+     * @param exact false if only the sorting district of the PIN code is known
+     */
+    public record Location(double latitude, double longitude, boolean exact) {
+    }
+
+    @Autowired
+    public PincodeDirectory(ResourceLoader resourceLoader,
+                            @Value("${app.geo.pincode-file:classpath:geo/pincodes.csv}") String location) {
+        this.resourceLoader = resourceLoader;
+        this.location = location;
+    }
+
+    /**
+     * Load the PIN code table
+     */
+    @PostConstruct
+    public void load() throws IOException {
+        Resource resource = resourceLoader.getResource(location);
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            CsvRowReader csv = new CsvRowReader(reader);
+            csv.readRow(); // header
+            List<String> row;
+            while ((row = csv.readRow()) != null) {
+                if (row.size() < 3 || row.get(0).isBlank()) {
+                    continue;
+                }
+                try {
+                    String code = row.get(0).trim();
+                    locations.put(code, new Location(Double.parseDouble(row.get(1).trim()),
+                            Double.parseDouble(row.get(2).trim()), code.length() == PINCODE_LENGTH));
+                } catch (NumberFormatException e) {
+                    log.warn("Skipping PIN code row with invalid coordinates: {}", row);
+                }
+            }
+        }
+        log.info("Loaded {} PIN code locations from {}", locations.size(), location);
+    }
+
+    /**
+     * Look up the coordinates of a PIN code
+     *
+     * @param pincode 6-digit PIN code (spaces are ignored)
+     * @return its location, the location of its district, or empty if unknown
+     */
+    public Optional<Location> locate(String pincode) {
+        if (pincode == null) {
+            return Optional.empty();
+        }
+        String code = pincode.replace(" ", "");
+        if (!isValid(code)) {
+            return Optional.empty();
+        }
+        Location exact = locations.get(code);
+        if (exact != null) {
+            return Optional.of(exact);
+        }
+        Location district = locations.get(code.substring(0, DISTRICT_PREFIX_LENGTH));
+        return Optional.ofNullable(district);
+    }
+
+    /**
+     * @return true if the value is a well-formed 6-digit PIN code (the first digit is never 0)
+     */
+    public static boolean isValid(String pincode) {
+        return pincode != null && pincode.matches("[1-9][0-9]{5}");
+    }
+}
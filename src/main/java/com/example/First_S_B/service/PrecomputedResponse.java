@@ -0,0 +1,175 @@
+package com.example.First_S_B.service;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A response body serialized once, in every supported encoding, with strong ETags
+ *
+ * Endpoints whose data rarely changes keep one of these and rebuild it
+ * (through PrecomputedResponses) only when the data changes. Serving it is
+ * then a header comparison and a byte copy: clients that send the current
+ * ETag in If-None-Match get an empty 304, others get the pre-encoded bytes
+ * in the format they accept (JSON, CBOR or Smile), gzipped if they accept
+ * gzip and the body is large enough to benefit.
+ *
+ * The ETag is a hash of the JSON, so it stays the same across restarts and
+ * servers as long as the data does. Each format and compression is a
+ * different representation with its own strong ETag (hash plus a suffix
+ * such as "-cbor-gz"). If-None-Match must name the tag of the representation
+ * being sent: a client holding the JSON tag that asks for CBOR, or for an
+ * uncompressed body, gets the full response.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public final class PrecomputedResponse {
+
+    private static final String GZIP = "gzip";
+    private static final String GZIP_SUFFIX = "-gz";
+
+    private final String hash;
+    private final List<Variant> variants;
+
+    /**
+     * The body in one format
+     *
+     * @param mediaType content type of the format
+     * @param etagSuffix appended to the hash in the ETag ("" for the default format)
+     * @param body encoded bytes (shared, do not modify)
+     * @param gzipped body compressed with gzip, or null if too small to be worth it
+     */
+    record Variant(MediaType mediaType, String etagSuffix, byte[] body, byte[] gzipped) {
+    }
+
+    /**
+     * @param hash content hash of the data, shared by all variants
+     * @param variants encodings, the default (served when nothing else matches) first
+     */
+    PrecomputedResponse(String hash, List<Variant> variants) {
+        if (variants.isEmpty()) {
+            throw new IllegalArgumentException("At least one variant is required");
+        }
+        this.hash = hash;
+        this.variants = List.copyOf(variants);
+    }
+
+    /**
+     * Answer a GET with this body: 304 if If-None-Match matches, otherwise 200
+     *
+     * @param accept Accept request header (may be null)
+     * @param ifNoneMatch If-None-Match request header (may be null)
+     * @param acceptEncoding Accept-Encoding request header (may be null)
+     */
+    public ResponseEntity<byte[]> toResponse(String accept, String ifNoneMatch, String acceptEncoding) {
+        Variant variant = select(accept);
+        boolean useGzip = variant.gzipped() != null && acceptsGzip(acceptEncoding);
+        String etag = "\"" + hash + variant.etagSuffix() + (useGzip ? GZIP_SUFFIX : "") + "\"";
+
+        if (matches(ifNoneMatch, etag)) {
+            return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), etag).build();
+        }
+        ResponseEntity.BodyBuilder response = withValidators(ResponseEntity.ok(), etag)
+                .contentType(variant.mediaType());
+        if (useGzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(variant.gzipped());
+        }
+        return response.body(variant.body());
+    }
+
+    /**
+     * The variant for an Accept header: the first acceptable format in order of quality, else the default
+     */
+    Variant select(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return variants.get(0);
+        }
+        List<MediaType> acceptable;
+        try {
+            acceptable = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return variants.get(0);
+        }
+        // Stable sort: equal qualities keep the client's order
+        acceptable.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : acceptable) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (Variant variant : variants) {
+                if (type.includes(variant.mediaType())) {
+                    return variant;
+                }
+            }
+        }
+        return variants.get(0);
+    }
+
+    /**
+     * Whether If-None-Match names the selected representation: "*", or its tag
+     * (weak comparison, so W/ prefixes added by proxies still match)
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String value = tag.trim();
+            if (value.equals("*")) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether Accept-Encoding lists gzip (or *) without q=0
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (!coding.equals(GZIP) && !coding.equals("x-gzip") && !coding.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().replace(" ", "");
+                if (parameter.matches("[qQ]=0(\\.0{0,3})?")) {
+                    refused = true;
+                }
+            }
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Headers shared by 200 and 304: clients must revalidate, and caches key on format and encoding
+     */
+    private static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder, String etag) {
+        return builder.eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.config.BinaryFormatsConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Builds PrecomputedResponse bodies with the same mappers the HTTP message converters use
+ *
+ * JSON, CBOR and Smile are encoded up front, so output is identical to what
+ * the converters would write for the same object. Bodies are gzipped only
+ * from server.compression.min-response-size on, the threshold the server
+ * applies to all other responses.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Component
+public class PrecomputedResponses {
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+    private final ObjectMapper smileMapper;
+    private final long gzipMinBytes;
+
+    @Autowired
+    public PrecomputedResponses(ObjectMapper objectMapper,
+                                MappingJackson2CborHttpMessageConverter cborConverter,
+                                MappingJackson2SmileHttpMessageConverter smileConverter,
+                                @Value("${server.compression.min-response-size:2KB}") DataSize gzipMinSize) {
+        this(objectMapper, cborConverter.getObjectMapper(), smileConverter.getObjectMapper(), gzipMinSize.toBytes());
+    }
+
+    PrecomputedResponses(ObjectMapper jsonMapper, ObjectMapper cborMapper, ObjectMapper smileMapper, long gzipMinBytes) {
+        this.jsonMapper = jsonMapper;
+        this.cborMapper = cborMapper;
+        this.smileMapper = smileMapper;
+        this.gzipMinBytes = gzipMinBytes;
+    }
+
+    /**
+     * Encode a response body in all supported formats
+     *
+     * @param value response body
+     * @return body with JSON as the default format
+     */
+    public PrecomputedResponse of(Object value) {
+        try {
+            byte[] json = jsonMapper.writeValueAsBytes(value);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return new PrecomputedResponse(HexFormat.of().formatHex(digest, 0, 16), List.of(
+                    variant(MediaType.APPLICATION_JSON, "", json),
+                    variant(MediaType.APPLICATION_CBOR, "-cbor", cborMapper.writeValueAsBytes(value)),
+                    variant(MediaType.valueOf(BinaryFormatsConfig.APPLICATION_SMILE_VALUE), "-smile", smileMapper.writeValueAsBytes(value))));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize response body", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private PrecomputedResponse.Variant variant(MediaType mediaType, String etagSuffix, byte[] body) {
+        return new PrecomputedResponse.Variant(mediaType, etagSuffix, body, body.length >= gzipMinBytes ? gzip(body) : null);
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
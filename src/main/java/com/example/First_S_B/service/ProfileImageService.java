@@ -0,0 +1,462 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.exception.InvalidImageException;
+import com.example.First_S_B.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed store for profile images and their thumbnails
+ *
+ * Uploads are copied from the request channel to a temporary file in 64 KB
+ * steps while their SHA-256 is computed, so an image is never held in
+ * memory whole. The hash is the image id: an upload whose hash is already
+ * stored is discarded, and every user with the same photo shares one file
+ * and one set of thumbnails.
+ *
+ * Thumbnails come in a few fixed sizes (app.images.thumbnail-sizes, longest
+ * side in pixels) so they can be cached for good. They are JPEG files made
+ * on a small bounded pool, started right after an upload and otherwise on
+ * first request. Originals are decoded with subsampling, so a 12 MP phone
+ * photo does not need 48 MB of heap to become a 320 px thumbnail.
+ *
+ * Layout under app.images.directory:
+ * <pre>
+ *   originals/ab/abcdef....jpg     (or .png)
+ *   thumbnails/160/ab/abcdef....jpg
+ *   tmp/                           (uploads in progress)
+ * </pre>
+ *
+ * Metrics (Micrometer): images.uploads (tagged stored or deduplicated),
+ * images.thumbnail.latency, images.thumbnail.queue.depth,
+ * images.thumbnail.rejected.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Service
+public class ProfileImageService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfileImageService.class);
+
+    private static final Pattern IMAGE_ID = Pattern.compile("[0-9a-f]{64}");
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+    private static final float THUMBNAIL_QUALITY = 0.8f;
+
+    /**
+     * A stored original
+     *
+     * @param id SHA-256 of the image bytes, in hex
+     * @param format "jpg" or "png"
+     * @param deduplicated whether the same image was already stored
+     */
+    public record StoredImage(String id, String format, boolean deduplicated) {
+    }
+
+    private final Path originals;
+    private final Path thumbnails;
+    private final Path temporary;
+    private final long maxUploadBytes;
+    private final long maxPixels;
+    private final List<Integer> thumbnailSizes;
+    private final long waitTimeoutMillis;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Thumbnails being generated, so concurrent requests for the same one share the work
+     */
+    private final Map<Path, CompletableFuture<Path>> inProgress = new ConcurrentHashMap<>();
+
+    private final Counter stored;
+    private final Counter deduplicated;
+    private final Counter rejected;
+    private final Timer thumbnailLatency;
+
+    public ProfileImageService(MeterRegistry meterRegistry,
+                               @Value("${app.images.directory:data/images}") String directory,
+                               @Value("${app.images.max-upload-bytes:10485760}") long maxUploadBytes,
+                               @Value("${app.images.max-pixels:50000000}") long maxPixels,
+                               @Value("${app.images.thumbnail-sizes:64,160,320}") List<Integer> thumbnailSizes,
+                               @Value("${app.images.thumbnail-threads:1}") int threads,
+                               @Value("${app.images.thumbnail-queue-capacity:256}") int queueCapacity,
+                               @Value("${app.images.thumbnail-wait-timeout-ms:10000}") long waitTimeoutMillis) throws IOException {
+        Path root = Path.of(directory);
+        this.originals = Files.createDirectories(root.resolve("originals"));
+        this.thumbnails = Files.createDirectories(root.resolve("thumbnails"));
+        this.temporary = Files.createDirectories(root.resolve("tmp"));
+        this.maxUploadBytes = maxUploadBytes;
+        this.maxPixels = maxPixels;
+        this.thumbnailSizes = thumbnailSizes.stream().sorted().distinct().toList();
+        this.waitTimeoutMillis = waitTimeoutMillis;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-thumbnail-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.stored = Counter.builder("images.uploads").tag("outcome", "stored")
+                .description("Uploaded images stored as new files")
+                .register(meterRegistry);
+        this.deduplicated = Counter.builder("images.uploads").tag("outcome", "deduplicated")
+                .description("Uploaded images that were already stored")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("images.thumbnail.rejected")
+                .description("Thumbnails not queued because the pool was saturated")
+                .register(meterRegistry);
+        this.thumbnailLatency = Timer.builder("images.thumbnail.latency")
+                .description("Time to decode an original and write one thumbnail")
+                .register(meterRegistry);
+        Gauge.builder("images.thumbnail.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Thumbnails waiting for a thread")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Store an uploaded JPEG or PNG image and start making its thumbnails
+     *
+     * @param body the upload, read to the end
+     * @return the image id and whether it was a duplicate
+     * @throws InvalidImageException if the upload is too large or not a readable JPEG or PNG
+     * @throws IOException if reading the upload or writing the file fails
+     */
+    public StoredImage store(InputStream body) throws IOException {
+        Path upload = Files.createTempFile(temporary, "upload-", ".part");
+        try {
+            String id = copyAndHash(body, upload);
+            String format = validate(upload);
+
+            Path target = originalPath(id, format);
+            boolean duplicate = Files.exists(target);
+            if (!duplicate) {
+                Files.createDirectories(target.getParent());
+                moveIntoPlace(upload, target);
+            }
+            (duplicate ? deduplicated : stored).increment();
+
+            for (int size : thumbnailSizes) {
+                try {
+                    thumbnail(id, size);
+                } catch (ServiceOverloadedException e) {
+                    // Made on first request instead
+                    log.debug("Thumbnail {} of image {} deferred: pool saturated", size, id);
+                }
+            }
+            return new StoredImage(id, format, duplicate);
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    /**
+     * The stored original of an image
+     *
+     * @param id image id
+     * @return path of the original, or null if there is no such image
+     */
+    public Path original(String id) {
+        if (!IMAGE_ID.matcher(id).matches()) {
+            return null;
+        }
+        for (String format : List.of("jpg", "png")) {
+            Path path = originalPath(id, format);
+            if (Files.exists(path)) {
+                return path;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The thumbnail of an image in the bucket fitting a requested size, made now if needed
+     *
+     * @param id image id
+     * @param requestedSize longest side wanted, in pixels
+     * @return path of the JPEG thumbnail, or null if there is no such image
+     * @throws ServiceOverloadedException if the thumbnail pool is saturated or too slow
+     */
+    public Path thumbnailFile(String id, int requestedSize) {
+        Path original = original(id);
+        if (original == null) {
+            return null;
+        }
+        try {
+            return thumbnail(id, bucket(requestedSize)).get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceOverloadedException("Thumbnail is still being generated, please retry shortly", 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Interrupted while waiting for a thumbnail", 1);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Thumbnail generation failed", e.getCause());
+        }
+    }
+
+    /**
+     * Thumbnail size used for a requested size: the smallest bucket at least as large, or the largest bucket
+     *
+     * @param requestedSize longest side wanted, in pixels
+     * @return one of app.images.thumbnail-sizes
+     */
+    public int bucket(int requestedSize) {
+        for (int size : thumbnailSizes) {
+            if (size >= requestedSize) {
+                return size;
+            }
+        }
+        return thumbnailSizes.get(thumbnailSizes.size() - 1);
+    }
+
+    /**
+     * @return thumbnail sizes (longest side in pixels), smallest first
+     */
+    public List<Integer> thumbnailSizes() {
+        return thumbnailSizes;
+    }
+
+    /**
+     * Drop queued thumbnails and let running ones finish; missing thumbnails are made on request later
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * The thumbnail file of a bucket, generated on the pool unless it exists
+     */
+    private CompletableFuture<Path> thumbnail(String id, int size) {
+        Path target = thumbnails.resolve(Integer.toString(size)).resolve(id.substring(0, 2)).resolve(id + ".jpg");
+        if (Files.exists(target)) {
+            return CompletableFuture.completedFuture(target);
+        }
+        CompletableFuture<Path> created = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inProgress.putIfAbsent(target, created);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    thumbnailLatency.record(() -> writeThumbnail(original(id), size, target));
+                    created.complete(target);
+                } catch (RuntimeException e) {
+                    log.warn("Cannot create thumbnail {} of image {}", size, id, e);
+                    created.completeExceptionally(e);
+                } finally {
+                    inProgress.remove(target, created);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inProgress.remove(target, created);
+            rejected.increment();
+            throw new ServiceOverloadedException("Server is busy, please retry shortly", 1);
+        }
+        return created;
+    }
+
+    /**
+     * Copy the upload to a file through a fixed buffer, hashing on the way
+     *
+     * @return hex SHA-256 of the content
+     */
+    private String copyAndHash(InputStream body, Path target) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_BYTES);
+        long total = 0;
+        try (ReadableByteChannel in = Channels.newChannel(body);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (in.read(buffer) >= 0) {
+                buffer.flip();
+                total += buffer.remaining();
+                if (total > maxUploadBytes) {
+                    throw new InvalidImageException("Image is larger than " + maxUploadBytes / (1024 * 1024) + " MB",
+                            HttpStatus.PAYLOAD_TOO_LARGE);
+                }
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+        if (total == 0) {
+            throw new InvalidImageException("Image is empty", HttpStatus.BAD_REQUEST);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Check that the file is a JPEG or PNG image of acceptable dimensions, reading only its header
+     *
+     * @return "jpg" or "png"
+     */
+    private String validate(Path upload) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(upload.toFile())) {
+            ImageReader reader = firstReader(input);
+            try {
+                String format = reader.getFormatName().toLowerCase();
+                if (!format.equals("jpeg") && !format.equals("png")) {
+                    throw new InvalidImageException("Only JPEG and PNG images are supported",
+                            HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+                }
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                    throw new InvalidImageException("Image has more than " + maxPixels + " pixels",
+                            HttpStatus.PAYLOAD_TOO_LARGE);
+                }
+                return format.equals("jpeg") ? "jpg" : "png";
+            } catch (IOException e) {
+                throw new InvalidImageException("Image is damaged", HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static ImageReader firstReader(ImageInputStream input) {
+        Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+        if (readers == null || !readers.hasNext()) {
+            throw new InvalidImageException("Only JPEG and PNG images are supported", HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+        }
+        return readers.next();
+    }
+
+    /**
+     * Decode the original at reduced resolution, scale it to fit the size and write it as JPEG
+     */
+    private void writeThumbnail(Path original, int size, Path target) {
+        try {
+            BufferedImage source;
+            try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+                ImageReader reader = firstReader(input);
+                try {
+                    reader.setInput(input, true, true);
+                    // Keep at least twice the target resolution for a smooth downscale
+                    int longestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                    int subsampling = Math.max(1, longestSide / (size * 2));
+                    ImageReadParam param = reader.getDefaultReadParam();
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                    source = reader.read(0, param);
+                } finally {
+                    reader.dispose();
+                }
+            }
+
+            double scale = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+            int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+            int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+            BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = thumbnail.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                // JPEG has no transparency: transparent PNG areas become white
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+                graphics.drawImage(source, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+
+            Files.createDirectories(target.getParent());
+            Path partial = Files.createTempFile(temporary, "thumbnail-", ".part");
+            try {
+                ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+                try (ImageOutputStream output = ImageIO.createImageOutputStream(partial.toFile())) {
+                    ImageWriteParam param = writer.getDefaultWriteParam();
+                    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                    param.setCompressionQuality(THUMBNAIL_QUALITY);
+                    writer.setOutput(output);
+                    writer.write(null, new IIOImage(thumbnail, null, null), param);
+                } finally {
+                    writer.dispose();
+                }
+                moveIntoPlace(partial, target);
+            } finally {
+                Files.deleteIfExists(partial);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Publish a finished file under its final name in one step, so readers never see it half written
+     *
+     * Content-addressed files with the same name have the same content, so replacing one is harmless.
+     */
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Path originalPath(String id, String format) {
+        return originals.resolve(id.substring(0, 2)).resolve(id + "." + format);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.dto.ProfileDocument;
+import com.example.First_S_B.dto.ProfileMatch;
+import com.example.First_S_B.dto.ProfileQuery;
+import com.example.First_S_B.repository.UserProfileRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Attribute queries over user profiles
+ *
+ * Filtering happens in PostgreSQL (UserProfileRepositoryCustom). When the
+ * caller only asks for some attributes, the additionalInfo documents are
+ * read with a streaming parser that builds just those attributes, skips
+ * everything else without creating objects, and stops as soon as all of
+ * them were found.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Service
+public class ProfileQueryService {
+
+    private final UserProfileRepository userProfileRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ProfileQueryService(UserProfileRepository userProfileRepository, ObjectMapper objectMapper) {
+        this.userProfileRepository = userProfileRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Find profiles matching a query
+     *
+     * @param query role, location and attribute conditions
+     * @param fields attributes of additionalInfo to return (empty for the whole document)
+     * @param afterId only profiles with a larger id
+     * @param limit maximum number of profiles
+     * @return matching profiles ordered by profile id
+     */
+    @Transactional(readOnly = true)
+    public List<ProfileMatch> find(ProfileQuery query, Set<String> fields, long afterId, int limit) {
+        List<ProfileDocument> documents = userProfileRepository.findByQuery(query, afterId, limit);
+        List<ProfileMatch> matches = new ArrayList<>(documents.size());
+        for (ProfileDocument document : documents) {
+            JsonNode attributes = fields.isEmpty()
+                    ? readDocument(document.getAdditionalInfo())
+                    : readAttributes(document.getAdditionalInfo(), fields);
+            matches.add(new ProfileMatch(document.getProfileId(), document.getUserId(), document.getRole(),
+                    document.getCity(), document.getState(), document.getPincode(), attributes));
+        }
+        return matches;
+    }
+
+    /**
+     * Read selected top-level attributes of a JSON object without materializing the rest
+     *
+     * @param json JSON object text (null or non-objects give an empty result)
+     * @param names attributes to read
+     * @return object holding the attributes that were present
+     */
+    public ObjectNode readAttributes(String json, Set<String> names) {
+        ObjectNode result = objectMapper.createObjectNode();
+        if (json == null || names.isEmpty()) {
+            return result;
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return result;
+            }
+            int remaining = names.size();
+            while (remaining > 0 && parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if (names.contains(name) && !result.has(name)) {
+                    result.set(name, objectMapper.readTree(parser));
+                    remaining--;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Invalid additionalInfo JSON", e);
+        }
+    }
+
+    private JsonNode readDocument(String json) {
+        if (json == null) {
+            return objectMapper.createObjectNode();
+        }
+        try {
+            return objectMapper.readTree(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Invalid additionalInfo JSON", e);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.event.RoleChangedEvent;
+import com.example.First_S_B.model.Role;
+import com.example.First_S_B.repository.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory registry of all roles
+ *
+ * Roles are a handful of rows that practically never change, so instead of
+ * querying the roles table on every request they are loaded once at startup
+ * and served from immutable maps. The registry reloads only when a
+ * RoleChangedEvent is published by a role write path.
+ *
+ * The GET /users/roles body is encoded once per snapshot (see rolesResponse).
+ *
+ * The returned Role instances are shared and detached: treat them as read-only.
+ * They can be assigned to new User entities, since only the role id is written.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Service
+public class RoleRegistry {
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PrecomputedResponses precomputedResponses;
+
+    /**
+     * Current immutable view of the roles table, replaced atomically on refresh
+     */
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Load all roles when the application starts
+     */
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    /**
+     * Reload roles after any role write
+     *
+     * @param event role change notification
+     */
+    @EventListener
+    public void onRoleChanged(RoleChangedEvent event) {
+        refresh();
+    }
+
+    /**
+     * Reload all roles from the database and swap in a new snapshot
+     */
+    public void refresh() {
+        snapshot = Snapshot.of(roleRepository.findAll());
+    }
+
+    /**
+     * Find a role by its name (case-insensitive)
+     *
+     * Canonical upper-case names are resolved without allocating.
+     *
+     * @param roleName role name such as FARMER or farmer
+     * @return Role if found, null otherwise
+     */
+    public Role findByName(String roleName) {
+        if (roleName == null) {
+            return null;
+        }
+        Map<String, Role> byName = snapshot.byName;
+        Role role = byName.get(roleName);
+        return role != null ? role : byName.get(roleName.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Find a role by its id
+     *
+     * @param id role id
+     * @return Role if found, null otherwise
+     */
+    public Role findById(Long id) {
+        return id != null ? snapshot.byId.get(id) : null;
+    }
+
+    /**
+     * @return all roles, ordered by id
+     */
+    public List<Role> findAll() {
+        return snapshot.all;
+    }
+
+    /**
+     * @return all roles as a pre-encoded array, built on first use after each refresh
+     */
+    public PrecomputedResponse rolesResponse() {
+        Snapshot current = snapshot;
+        PrecomputedResponse response = current.response;
+        if (response == null) {
+            // Racing callers may both encode; they produce identical bytes
+            response = precomputedResponses.of(current.all);
+            current.response = response;
+        }
+        return response;
+    }
+
+    /**
+     * Immutable lookup tables built from one read of the roles table
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), List.of());
+
+        final Map<String, Role> byName;
+        final Map<Long, Role> byId;
+        final List<Role> all;
+
+        /**
+         * Encoded form of all, set lazily by rolesResponse()
+         */
+        volatile PrecomputedResponse response;
+
+        private Snapshot(Map<String, Role> byName, Map<Long, Role> byId, List<Role> all) {
+            this.byName = byName;
+            this.byId = byId;
+            this.all = all;
+        }
+
+        static Snapshot of(List<Role> roles) {
+            Map<String, Role> byName = new HashMap<>();
+            Map<Long, Role> byId = new HashMap<>();
+            for (Role role : roles) {
+                byName.put(role.getRoleName().toUpperCase(Locale.ROOT), role);
+                byId.put(role.getId(), role);
+            }
+            List<Role> all = roles.stream()
+                    .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+                    .toList();
+            return new Snapshot(Map.copyOf(byName), Map.copyOf(byId), all);
+        }
+    }
+}
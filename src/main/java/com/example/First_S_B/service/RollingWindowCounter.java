@@ -0,0 +1,99 @@
+package com.example.First_S_B.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free event counter over a rolling time window
+ *
+ * Time is split into fixed-size buckets kept in a ring. Each slot packs the
+ * bucket number (high bits) and the count (low bits) into one long, so a
+ * stale slot is reset and incremented with a single compare-and-set and
+ * readers never see a count from an expired bucket.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+public class RollingWindowCounter {
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final AtomicLongArray slots;
+
+    /**
+     * @param bucketMillis width of one bucket in milliseconds
+     * @param bucketCount number of buckets, i.e. the longest window that can be queried
+     */
+    public RollingWindowCounter(long bucketMillis, int bucketCount) {
+        this.bucketMillis = bucketMillis;
+        this.bucketCount = bucketCount;
+        this.slots = new AtomicLongArray(bucketCount);
+    }
+
+    /**
+     * Record one event at the given time
+     *
+     * @param nowMillis current time in epoch milliseconds
+     */
+    public void increment(long nowMillis) {
+        add(nowMillis, 1);
+    }
+
+    /**
+     * Record events at the given time, e.g. counted in the database before startup
+     *
+     * @param timeMillis time of the events in epoch milliseconds
+     * @param count number of events
+     */
+    public void add(long timeMillis, long count) {
+        if (count <= 0) {
+            return;
+        }
+        long bucket = timeMillis / bucketMillis;
+        int index = (int) (bucket % bucketCount);
+
+        while (true) {
+            long current = slots.get(index);
+            long stamp = current >>> COUNT_BITS;
+            long next;
+            if (stamp == bucket) {
+                if ((current & COUNT_MASK) == COUNT_MASK) {
+                    return; // bucket saturated
+                }
+                next = (bucket << COUNT_BITS) | Math.min(COUNT_MASK, (current & COUNT_MASK) + count);
+            } else if (stamp < bucket) {
+                next = (bucket << COUNT_BITS) | Math.min(COUNT_MASK, count);
+            } else {
+                return; // slot already belongs to a newer bucket
+            }
+            if (slots.compareAndSet(index, current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Count events in the window ending at the given time
+     *
+     * @param nowMillis current time in epoch milliseconds
+     * @param windowMillis window length, rounded to whole buckets
+     * @return number of events recorded inside the window
+     */
+    public long sum(long nowMillis, long windowMillis) {
+        long newest = nowMillis / bucketMillis;
+        long buckets = Math.min(bucketCount, Math.max(1, windowMillis / bucketMillis));
+        long oldest = newest - buckets + 1;
+
+        long total = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            long slot = slots.get(i);
+            long stamp = slot >>> COUNT_BITS;
+            if (stamp >= oldest && stamp <= newest) {
+                total += slot & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.dto.SlowRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recent slow requests together with the SQL they issued
+ *
+ * Filled by RequestInstrumentationFilter, read through the "slowrequests"
+ * actuator endpoint. Each slow request is also logged at WARN.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Service
+public class SlowRequestLog {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowRequestLog.class);
+
+    private final long thresholdNanos;
+    private final int capacity;
+    private final Deque<SlowRequest> recent = new ArrayDeque<>();
+
+    public SlowRequestLog(@Value("${app.instrumentation.slow-request-threshold-ms:500}") long thresholdMillis,
+                          @Value("${app.instrumentation.slow-request-log-size:100}") int capacity) {
+        this.thresholdNanos = thresholdMillis * 1_000_000L;
+        this.capacity = capacity;
+    }
+
+    /**
+     * @param durationNanos time the request took
+     * @return true if the request counts as slow
+     */
+    public boolean isSlow(long durationNanos) {
+        return durationNanos >= thresholdNanos;
+    }
+
+    /**
+     * @return slow-request threshold in milliseconds
+     */
+    public long getThresholdMillis() {
+        return thresholdNanos / 1_000_000L;
+    }
+
+    /**
+     * Add a slow request, dropping the oldest when full
+     *
+     * @param request the slow request
+     */
+    public void record(SlowRequest request) {
+        log.warn("Slow request {} {} took {} ms: {} SQL statements ({} ms), {} rows",
+                request.getMethod(), request.getPath(), Math.round(request.getDurationMillis()),
+                request.getSqlStatements(), Math.round(request.getSqlMillis()), request.getSqlRows());
+
+        synchronized (recent) {
+            if (recent.size() >= capacity) {
+                recent.removeLast();
+            }
+            recent.addFirst(request);
+        }
+    }
+
+    /**
+     * @return recorded slow requests, newest first
+     */
+    public List<SlowRequest> getRecent() {
+        synchronized (recent) {
+            return new ArrayList<>(recent);
+        }
+    }
+
+    /**
+     * Forget all recorded slow requests
+     */
+    public void clear() {
+        synchronized (recent) {
+            recent.clear();
+        }
+    }
+}
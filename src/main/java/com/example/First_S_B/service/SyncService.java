@@ -0,0 +1,217 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.dto.ChangedRow;
+import com.example.First_S_B.dto.SyncPage;
+import com.example.First_S_B.dto.SyncedUser;
+import com.example.First_S_B.exception.SyncTokenExpiredException;
+import com.example.First_S_B.repository.SyncTombstoneRepository;
+import com.example.First_S_B.repository.UserProfileRepository;
+import com.example.First_S_B.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Delta sync of users and profiles for offline clients
+ *
+ * Three change feeds are read in (changedAt, rowId) order: users by
+ * updated_at, profiles by updated_at and tombstones of deleted rows by
+ * deleted_at. A page merges the oldest entries of all three, so a refresh
+ * costs as much as what changed rather than the size of the tables. The
+ * client keeps a SyncToken with its position in each feed.
+ *
+ * Timestamps are taken before the writing transaction commits, so a row
+ * can become visible with an updated_at older than a cursor that was
+ * already handed out. Feeds are therefore only read up to a horizon of
+ * now minus app.sync.commit-lag-ms; it must exceed the longest write
+ * transaction plus the clock skew between application servers.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Service
+public class SyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncService.class);
+
+    private static final Comparator<ChangedRow> CHANGE_ORDER = Comparator
+            .comparing(ChangedRow::getChangedAt)
+            .thenComparing(ChangedRow::getRowId);
+
+    private final UserRepository userRepository;
+    private final UserProfileRepository userProfileRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final Duration commitLag;
+    private final Duration tombstoneRetention;
+
+    @Autowired
+    public SyncService(UserRepository userRepository,
+                       UserProfileRepository userProfileRepository,
+                       SyncTombstoneRepository syncTombstoneRepository,
+                       @Value("${app.sync.commit-lag-ms:5000}") long commitLagMs,
+                       @Value("${app.sync.tombstone-retention-days:30}") long tombstoneRetentionDays) {
+        this.userRepository = userRepository;
+        this.userProfileRepository = userProfileRepository;
+        this.syncTombstoneRepository = syncTombstoneRepository;
+        this.commitLag = Duration.ofMillis(commitLagMs);
+        this.tombstoneRetention = Duration.ofDays(tombstoneRetentionDays);
+    }
+
+    /**
+     * Read the changes after a sync token
+     *
+     * Without a token the client gets everything, page by page; deletes
+     * that happened before the first page are not reported.
+     *
+     * @param token token from the previous page, or null for a full sync
+     * @param roleName only sync users with this role (null for all); must match the token's role
+     * @param size maximum number of changed users on the page
+     * @return the changes and the token for the next call
+     * @throws IllegalArgumentException if the token is malformed or was issued for another role
+     * @throws SyncTokenExpiredException if the token is older than the tombstone retention
+     */
+    @Transactional(readOnly = true)
+    public SyncPage sync(String token, String roleName, int size) {
+        String role = roleName == null || roleName.isBlank() ? null : roleName.toUpperCase(Locale.ROOT);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime horizon = now.minus(commitLag);
+
+        SyncToken position;
+        if (token == null || token.isBlank()) {
+            SyncToken.Cursor start = SyncToken.BEGINNING;
+            position = new SyncToken(role, start, start, new SyncToken.Cursor(horizon, 0));
+        } else {
+            position = SyncToken.decode(token);
+            if (!Objects.equals(position.roleName(), role)) {
+                throw new IllegalArgumentException("Sync token was issued for role " +
+                        (position.roleName() == null ? "(all)" : position.roleName()));
+            }
+            if (position.tombstones().changedAt().isBefore(now.minus(tombstoneRetention))) {
+                throw new SyncTokenExpiredException("Sync token expired, sync again without a token");
+            }
+        }
+
+        Limit limit = Limit.of(size + 1);
+        Feed users = new Feed(position.users(), userRepository.findChangedAfter(
+                position.users().changedAt(), position.users().rowId(), horizon, limit));
+        Feed profiles = new Feed(position.profiles(), userProfileRepository.findChangedAfter(
+                position.profiles().changedAt(), position.profiles().rowId(), horizon, limit));
+        Feed tombstones = new Feed(position.tombstones(), syncTombstoneRepository.findChangedAfter(
+                position.tombstones().changedAt(), position.tombstones().rowId(), horizon, limit));
+        List<Feed> feeds = List.of(users, profiles, tombstones);
+
+        // Take the oldest changes across all feeds; a user changed in several feeds is sent once
+        Set<Long> changedUserIds = new LinkedHashSet<>();
+        for (int taken = 0; taken < size; taken++) {
+            Feed oldest = null;
+            for (Feed feed : feeds) {
+                if (feed.hasNext() && (oldest == null || CHANGE_ORDER.compare(feed.peek(), oldest.peek()) < 0)) {
+                    oldest = feed;
+                }
+            }
+            if (oldest == null) {
+                break;
+            }
+            changedUserIds.add(oldest.next().getUserId());
+        }
+
+        List<SyncedUser> upserts = new ArrayList<>();
+        List<Long> removed = new ArrayList<>();
+        if (!changedUserIds.isEmpty()) {
+            Map<Long, SyncedUser> current = new HashMap<>();
+            for (SyncedUser user : userRepository.findSyncedUsersByIds(changedUserIds)) {
+                current.put(user.getId(), user);
+            }
+            for (Long userId : changedUserIds) {
+                SyncedUser user = current.get(userId);
+                if (user != null && Boolean.TRUE.equals(user.getIsActive())
+                        && (role == null || role.equals(user.getRole()))) {
+                    upserts.add(user);
+                } else {
+                    removed.add(userId);
+                }
+            }
+        }
+        if (token == null || token.isBlank()) {
+            // A client without a token has nothing to remove
+            removed.clear();
+        }
+
+        boolean hasMore = feeds.stream().anyMatch(Feed::hasNext);
+        SyncToken next = new SyncToken(role,
+                users.position(horizon), profiles.position(horizon), tombstones.position(horizon));
+        return new SyncPage(upserts, removed, next.encode(), hasMore);
+    }
+
+    /**
+     * Drop tombstones older than the retention (tokens that old are rejected anyway)
+     */
+    @Scheduled(initialDelayString = "${app.sync.tombstone-prune-interval-ms:3600000}",
+               fixedDelayString = "${app.sync.tombstone-prune-interval-ms:3600000}")
+    public void pruneTombstones() {
+        int deleted = syncTombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(tombstoneRetention));
+        if (deleted > 0) {
+            log.info("Pruned {} sync tombstones older than {}", deleted, tombstoneRetention);
+        }
+    }
+
+    /**
+     * One change feed page: rows fetched after the cursor, consumed oldest first
+     */
+    private static final class Feed {
+
+        private final SyncToken.Cursor start;
+        private final List<ChangedRow> rows;
+        private int consumed;
+
+        Feed(SyncToken.Cursor start, List<ChangedRow> rows) {
+            this.start = start;
+            this.rows = rows;
+        }
+
+        boolean hasNext() {
+            return consumed < rows.size();
+        }
+
+        ChangedRow peek() {
+            return rows.get(consumed);
+        }
+
+        ChangedRow next() {
+            return rows.get(consumed++);
+        }
+
+        /**
+         * Cursor after this page: the last consumed row, or the horizon once the
+         * feed is drained (so idle feeds move forward and tokens stay fresh)
+         */
+        SyncToken.Cursor position(LocalDateTime horizon) {
+            if (!hasNext()) {
+                // Everything before the horizon was read; rows at exactly the horizon come next time
+                return new SyncToken.Cursor(horizon, 0);
+            }
+            if (consumed == 0) {
+                return start;
+            }
+            ChangedRow last = rows.get(consumed - 1);
+            return new SyncToken.Cursor(last.getChangedAt(), last.getRowId());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.First_S_B.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Position of a client in the change feeds read by delta sync
+ *
+ * Holds one (changedAt, rowId) cursor per feed (users, profiles,
+ * tombstones) and the role filter the position belongs to. Clients get it
+ * as an opaque URL-safe string and hand it back unchanged.
+ *
+ * Timestamps are encoded in microseconds, the precision PostgreSQL stores.
+ * Anything finer is dropped, which can only move a cursor backwards (a row
+ * may be sent twice, never skipped).
+ *
+ * @param roleName role filter, or null for all roles
+ * @param users cursor in the users feed
+ * @param profiles cursor in the profiles feed
+ * @param tombstones cursor in the tombstones feed
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+record SyncToken(String roleName, Cursor users, Cursor profiles, Cursor tombstones) {
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "~";
+
+    /**
+     * Start of every feed: before any row a client can have seen
+     */
+    static final Cursor BEGINNING = new Cursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0);
+
+    /**
+     * Last entry of a feed the client has received
+     *
+     * @param changedAt time of the change
+     * @param rowId primary key of the row (tie-breaker within changedAt)
+     */
+    record Cursor(LocalDateTime changedAt, long rowId) {
+    }
+
+    SyncToken {
+        Objects.requireNonNull(users);
+        Objects.requireNonNull(profiles);
+        Objects.requireNonNull(tombstones);
+    }
+
+    /**
+     * @return the token as an opaque URL-safe string
+     */
+    String encode() {
+        String text = String.join(SEPARATOR, VERSION, roleName == null ? "" : roleName,
+                encode(users), encode(profiles), encode(tombstones));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parse a token produced by encode()
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    static SyncToken decode(String token) {
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = text.split(SEPARATOR, -1);
+            if (parts.length != 8 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid sync token");
+            }
+            return new SyncToken(parts[1].isEmpty() ? null : parts[1],
+                    decode(parts[2], parts[3]), decode(parts[4], parts[5]), decode(parts[6], parts[7]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid sync token", e);
+        }
+    }
+
+    private static String encode(Cursor cursor) {
+        LocalDateTime time = cursor.changedAt();
+        long micros = time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+        return micros + SEPARATOR + cursor.rowId();
+    }
+
+    private static Cursor decode(String micros, String rowId) {
+        long value = Long.parseLong(micros);
+        LocalDateTime time = LocalDateTime.ofEpochSecond(Math.floorDiv(value, 1_000_000),
+                (int) Math.floorMod(value, 1_000_000) * 1_000, ZoneOffset.UTC);
+        return new Cursor(time, Long.parseLong(rowId));
+    }
+}
@@ -0,0 +1,336 @@
+package com.example.First_S_B.service;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory set of revoked token ids that forgets each id once its token has expired
+ *
+ * Token ids are random UUIDs, kept as their two 64-bit halves. A lookup
+ * first checks a Bloom filter, read without locking; only ids whose bits
+ * are all set (revoked tokens, plus about the configured false positive
+ * rate of the others) go on to the exact table, an open-addressing hash
+ * table in parallel long arrays. Neither step allocates.
+ *
+ * Each id is also filed in a timing wheel under the tick in which its
+ * token expires. advance() visits only the ticks that have passed and
+ * drops their ids, so expiry costs nothing per request. Bloom filter bits
+ * can't be cleared, so the filter is rebuilt from the table once more ids
+ * have expired than are still revoked, or the table outgrows the filter.
+ *
+ * Thread-safe: updates, and lookups that pass the filter, synchronize on the denylist.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class TokenDenylist {
+
+    private static final int INITIAL_TABLE_CAPACITY = 64;
+    private static final int INITIAL_SLOT_CAPACITY = 3 * 4;
+
+    private final long tickMillis;
+    private final int expectedIds;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+
+    /**
+     * Exact table with linear probing; an empty slot has both halves 0
+     */
+    private long[] highs = new long[INITIAL_TABLE_CAPACITY];
+    private long[] lows = new long[INITIAL_TABLE_CAPACITY];
+    private long[] expiries = new long[INITIAL_TABLE_CAPACITY];
+    private int size;
+
+    /**
+     * Timing wheel: per slot, (high, low, expiresAt) triples of the ids expiring in that tick
+     */
+    private final long[][] wheel;
+    private final int[] wheelLengths;
+    private long lastTick;
+    private int expiredSinceRebuild;
+
+    /**
+     * @param tickMillis resolution of expiry; ids are dropped at most this long after their token expires
+     * @param horizonMillis longest token lifetime, the span covered by one turn of the wheel
+     * @param expectedIds number of revoked ids the Bloom filter is sized for (it grows if exceeded)
+     * @param falsePositiveRate share of non-revoked ids that reach the exact table
+     */
+    TokenDenylist(long tickMillis, long horizonMillis, int expectedIds, double falsePositiveRate) {
+        if (tickMillis <= 0 || horizonMillis <= 0 || expectedIds <= 0
+                || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid denylist settings");
+        }
+        this.tickMillis = tickMillis;
+        this.expectedIds = expectedIds;
+        this.falsePositiveRate = falsePositiveRate;
+        int slots = (int) Math.min(1 << 20, (horizonMillis + tickMillis - 1) / tickMillis + 1);
+        this.wheel = new long[slots][];
+        this.wheelLengths = new int[slots];
+        this.filter = new BloomFilter(expectedIds, falsePositiveRate);
+    }
+
+    /**
+     * Check whether a token id is revoked
+     *
+     * @param high most significant half of the token id
+     * @param low least significant half of the token id
+     * @param nowMillis current time in epoch milliseconds
+     * @return true if the id was added and its token has not expired yet
+     */
+    boolean contains(long high, long low, long nowMillis) {
+        if (!filter.mightContain(hash(high, low))) {
+            return false;
+        }
+        synchronized (this) {
+            int index = indexOf(high, low);
+            return index >= 0 && expiries[index] > nowMillis;
+        }
+    }
+
+    /**
+     * Revoke a token id until its token expires
+     *
+     * @param high most significant half of the token id (not both halves 0)
+     * @param low least significant half of the token id
+     * @param expiresAtMillis expiry of the token, in epoch milliseconds
+     * @param nowMillis current time in epoch milliseconds
+     * @return true if the id was added or its expiry extended, false if already covered or expired
+     */
+    synchronized boolean add(long high, long low, long expiresAtMillis, long nowMillis) {
+        if ((high == 0 && low == 0) || expiresAtMillis <= nowMillis) {
+            return false;
+        }
+        long hash = hash(high, low);
+        int index = indexOf(high, low);
+        if (index >= 0) {
+            if (expiries[index] >= expiresAtMillis) {
+                return false;
+            }
+            expiries[index] = expiresAtMillis;
+        } else {
+            if ((size + 1) * 2 > highs.length) {
+                resize(highs.length * 2);
+            }
+            insert(high, low, expiresAtMillis, hash);
+            size++;
+        }
+        schedule(high, low, expiresAtMillis);
+
+        if (size > filter.capacity) {
+            rebuildFilter();
+        } else {
+            filter.put(hash);
+        }
+        return true;
+    }
+
+    /**
+     * Drop the ids of all tokens that have expired since the last call
+     *
+     * @param nowMillis current time in epoch milliseconds
+     * @return number of ids dropped
+     */
+    synchronized int advance(long nowMillis) {
+        long tick = Math.floorDiv(nowMillis, tickMillis);
+        long ticks = Math.min(tick - lastTick, wheel.length);
+        int removed = 0;
+        for (long t = tick - ticks + 1; t <= tick; t++) {
+            removed += expireSlot((int) Math.floorMod(t, (long) wheel.length), nowMillis);
+        }
+        lastTick = Math.max(lastTick, tick);
+
+        expiredSinceRebuild += removed;
+        if (removed > 0 && expiredSinceRebuild > size) {
+            rebuildFilter();
+        }
+        return removed;
+    }
+
+    /**
+     * @return number of revoked ids currently held
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return true if the Bloom filter lets the id through to the exact table
+     */
+    boolean mightContain(long high, long low) {
+        return filter.mightContain(hash(high, low));
+    }
+
+    private int expireSlot(int slot, long nowMillis) {
+        long[] entries = wheel[slot];
+        int length = wheelLengths[slot];
+        int kept = 0;
+        int removed = 0;
+        for (int i = 0; i < length; i += 3) {
+            long high = entries[i];
+            long low = entries[i + 1];
+            long expiresAt = entries[i + 2];
+            if (expiresAt > nowMillis) {
+                // Filed a full turn (or more) ahead, stays for a later pass
+                entries[kept++] = high;
+                entries[kept++] = low;
+                entries[kept++] = expiresAt;
+                continue;
+            }
+            int index = indexOf(high, low);
+            // A later add may have extended the expiry; it was filed again under the new tick
+            if (index >= 0 && expiries[index] <= nowMillis) {
+                removeAt(index);
+                removed++;
+            }
+        }
+        wheelLengths[slot] = kept;
+        if (kept == 0) {
+            wheel[slot] = null;
+        } else if (kept * 4 < entries.length && entries.length > INITIAL_SLOT_CAPACITY) {
+            wheel[slot] = Arrays.copyOf(entries, Math.max(INITIAL_SLOT_CAPACITY, kept * 2));
+        }
+        return removed;
+    }
+
+    private void schedule(long high, long low, long expiresAtMillis) {
+        // First tick starting at or after the expiry, so the id is gone once that tick is reached
+        long tick = Math.floorDiv(expiresAtMillis - 1, tickMillis) + 1;
+        int slot = (int) Math.floorMod(tick, (long) wheel.length);
+        long[] entries = wheel[slot];
+        int length = wheelLengths[slot];
+        if (entries == null) {
+            entries = wheel[slot] = new long[INITIAL_SLOT_CAPACITY];
+        } else if (length == entries.length) {
+            entries = wheel[slot] = Arrays.copyOf(entries, entries.length * 2);
+        }
+        entries[length] = high;
+        entries[length + 1] = low;
+        entries[length + 2] = expiresAtMillis;
+        wheelLengths[slot] = length + 3;
+    }
+
+    private int indexOf(long high, long low) {
+        int mask = highs.length - 1;
+        for (int i = (int) hash(high, low) & mask; ; i = (i + 1) & mask) {
+            if (highs[i] == high && lows[i] == low) {
+                return i;
+            }
+            if (highs[i] == 0 && lows[i] == 0) {
+                return -1;
+            }
+        }
+    }
+
+    private void insert(long high, long low, long expiresAtMillis, long hash) {
+        int mask = highs.length - 1;
+        int i = (int) hash & mask;
+        while (highs[i] != 0 || lows[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        highs[i] = high;
+        lows[i] = low;
+        expiries[i] = expiresAtMillis;
+    }
+
+    /**
+     * Delete a slot by shifting back later entries of its probe run (no tombstones needed)
+     */
+    private void removeAt(int index) {
+        int mask = highs.length - 1;
+        int gap = index;
+        for (int i = (index + 1) & mask; highs[i] != 0 || lows[i] != 0; i = (i + 1) & mask) {
+            int home = (int) hash(highs[i], lows[i]) & mask;
+            // Move the entry into the gap unless its home slot lies after the gap
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                highs[gap] = highs[i];
+                lows[gap] = lows[i];
+                expiries[gap] = expiries[i];
+                gap = i;
+            }
+        }
+        highs[gap] = 0;
+        lows[gap] = 0;
+        expiries[gap] = 0;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        long[] oldHighs = highs;
+        long[] oldLows = lows;
+        long[] oldExpiries = expiries;
+        highs = new long[capacity];
+        lows = new long[capacity];
+        expiries = new long[capacity];
+        for (int i = 0; i < oldHighs.length; i++) {
+            if (oldHighs[i] != 0 || oldLows[i] != 0) {
+                insert(oldHighs[i], oldLows[i], oldExpiries[i], hash(oldHighs[i], oldLows[i]));
+            }
+        }
+    }
+
+    private void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedIds, size * 2), falsePositiveRate);
+        for (int i = 0; i < highs.length; i++) {
+            if (highs[i] != 0 || lows[i] != 0) {
+                rebuilt.put(hash(highs[i], lows[i]));
+            }
+        }
+        filter = rebuilt;
+        expiredSinceRebuild = 0;
+    }
+
+    /**
+     * 64-bit hash of a token id (MurmurHash3 finalizer)
+     */
+    private static long hash(long high, long low) {
+        long z = high ^ Long.rotateLeft(low, 29) ^ 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    /**
+     * Bloom filter over id hashes; the k bit positions come from the two halves of one 64-bit hash
+     */
+    private static final class BloomFilter {
+
+        private static final int MAX_HASHES = 16;
+
+        private final int capacity;
+        private final AtomicLongArray words;
+        private final int mask;
+        private final int hashes;
+
+        BloomFilter(int capacity, double falsePositiveRate) {
+            double optimalBits = -capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+            int bits = Integer.highestOneBit((int) Math.min(1 << 30, Math.max(64, (long) optimalBits)) - 1) << 1;
+            this.capacity = capacity;
+            this.words = new AtomicLongArray(bits / 64);
+            this.mask = bits - 1;
+            this.hashes = Math.max(1, Math.min(MAX_HASHES, (int) Math.round((double) bits / capacity * Math.log(2))));
+        }
+
+        void put(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < hashes; i++) {
+                int bit = (h1 + i * h2) & mask;
+                long word = 1L << bit;
+                words.getAndAccumulate(bit >>> 6, word, (current, set) -> current | set);
+            }
+        }
+
+        boolean mightContain(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < hashes; i++) {
+                int bit = (h1 + i * h2) & mask;
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.dto.AuthenticatedUser;
+import com.example.First_S_B.model.RevokedToken;
+import com.example.First_S_B.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Revokes access tokens before they expire (logout)
+ *
+ * JWTs are checked without a database query, so a revoked token has to be
+ * rejected from memory: revoked token ids are kept in a TokenDenylist,
+ * which almost every request passes through a Bloom filter without taking
+ * a lock or allocating. Ids drop out of the denylist when their token
+ * would have expired anyway, driven by a timing wheel ticking every
+ * app.token-revocation.tick-ms.
+ *
+ * Each revocation is also written to the revoked_tokens table, and the
+ * denylist is rebuilt from the unexpired rows at startup, so a restart
+ * does not bring logged-out tokens back. Expired rows are deleted every
+ * app.token-revocation.purge-interval-ms.
+ *
+ * Deactivated accounts are rejected separately (JwtAuthenticationFilter
+ * checks the cached user details), so their tokens don't need listing.
+ *
+ * Metrics (Micrometer): token.revocations, token.revoked.rejections, token.denylist.size.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenDenylist denylist;
+    private final Counter revocations;
+    private final Counter rejections;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.jwt-expiration-milliseconds}") long tokenLifetimeMillis,
+                                  @Value("${app.token-revocation.tick-ms:60000}") long tickMillis,
+                                  @Value("${app.token-revocation.expected-revocations:100000}") int expectedRevocations,
+                                  @Value("${app.token-revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.denylist = new TokenDenylist(tickMillis, tokenLifetimeMillis, expectedRevocations, falsePositiveRate);
+
+        this.revocations = Counter.builder("token.revocations")
+                .description("Access tokens revoked before their expiry")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("token.revoked.rejections")
+                .description("Requests rejected because their token was revoked")
+                .register(meterRegistry);
+        Gauge.builder("token.denylist.size", denylist, TokenDenylist::size)
+                .description("Revoked tokens that have not expired yet")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Load the revoked tokens that have not expired yet, before requests are served
+     */
+    @PostConstruct
+    public void init() {
+        long now = System.currentTimeMillis();
+        List<RevokedToken> rows = revokedTokenRepository.findByExpiresAtAfter(toLocalDateTime(now));
+        for (RevokedToken row : rows) {
+            try {
+                UUID id = UUID.fromString(row.getTokenId());
+                denylist.add(id.getMostSignificantBits(), id.getLeastSignificantBits(), toMillis(row.getExpiresAt()), now);
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring revoked token with malformed id {}", row.getTokenId());
+            }
+        }
+        log.info("Loaded {} revoked tokens", denylist.size());
+    }
+
+    /**
+     * Revoke the token a request was authenticated with
+     *
+     * @param user principal built from the token
+     * @return true if the token is now revoked, false if it has no revocable id
+     */
+    public boolean revoke(AuthenticatedUser user) {
+        long high = user.getTokenIdHigh();
+        long low = user.getTokenIdLow();
+        if (high == 0 && low == 0) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        if (denylist.contains(high, low, now)) {
+            return true;
+        }
+
+        // Durable first: a token that is denied in memory must also stay denied after a restart
+        revokedTokenRepository.save(new RevokedToken(user.getTokenId(), user.getUserId(),
+                toLocalDateTime(user.getExpiresAtMillis()), toLocalDateTime(now)));
+        if (denylist.add(high, low, user.getExpiresAtMillis(), now)) {
+            revocations.increment();
+        }
+        return true;
+    }
+
+    /**
+     * Check whether a request's token was revoked
+     *
+     * Constant time and allocation-free; called by JwtAuthenticationFilter on every request.
+     *
+     * @param user principal built from the token
+     * @return true if the token must be rejected
+     */
+    public boolean isRevoked(AuthenticatedUser user) {
+        if (!denylist.contains(user.getTokenIdHigh(), user.getTokenIdLow(), System.currentTimeMillis())) {
+            return false;
+        }
+        rejections.increment();
+        return true;
+    }
+
+    /**
+     * Turn the timing wheel: forget tokens that have expired
+     */
+    @Scheduled(initialDelayString = "${app.token-revocation.tick-ms:60000}",
+               fixedDelayString = "${app.token-revocation.tick-ms:60000}")
+    public void expire() {
+        denylist.advance(System.currentTimeMillis());
+    }
+
+    /**
+     * Delete the rows of tokens that have expired
+     */
+    @Scheduled(initialDelayString = "${app.token-revocation.purge-interval-ms:3600000}",
+               fixedDelayString = "${app.token-revocation.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = revokedTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired revoked tokens", deleted);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
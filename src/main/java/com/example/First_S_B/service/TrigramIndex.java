@@ -0,0 +1,718 @@
+package com.example.First_S_B.service;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index for fuzzy user lookups
+ *
+ * Each user's searchable text (names, phone digits, email) is normalized to
+ * lower-case ASCII tokens and split into trigrams ("ramesh" gives " ra",
+ * "ram", "ame", "mes", "esh", "sh "). A trigram is packed into an int from
+ * 6-bit character codes, so the postings live in one flat array with
+ * 64^3 slots. Posting lists hold ascending document numbers as
+ * delta-encoded varints, about 1-2 bytes per entry.
+ *
+ * A search reads the most selective posting lists of the query trigrams
+ * (within a fixed budget), counts per document how many of them it is in,
+ * and scores each candidate by the share of query trigrams found in its
+ * text, plus a bonus for token prefix and exact matches. Missing a few trigrams is allowed, so typos
+ * and partial input still match. Once the top results are full, a
+ * candidate's text is only examined if an upper bound on its score could
+ * still beat the weakest of them; common names stay cheap this way.
+ *
+ * Documents are append-only: a user whose text changes gets a new document
+ * and the old one is tombstoned. Role changes are applied in place. All
+ * texts live back to back in one byte array, so candidates (visited in
+ * document order) are read sequentially rather than from scattered objects.
+ *
+ * Thread-safe: searches share a read lock, updates take the write lock.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class TrigramIndex {
+
+    /**
+     * Upper bound on posting entries read per search; rarer trigrams are read first
+     */
+    static final int MAX_POSTINGS_SCANNED = 200_000;
+
+    /**
+     * Minimum share of query trigrams a user must contain to be returned
+     */
+    static final double MIN_SIMILARITY = 0.4;
+
+    /**
+     * Score added when every query token exactly matches a token of the user
+     */
+    private static final double MAX_BONUS = 0.5;
+
+    /**
+     * Longer queries are cut to this many trigrams
+     */
+    private static final int MAX_QUERY_GRAMS = 64;
+
+    /**
+     * Per-document search counters: 5 bits of list hits, 3 exact-match flags
+     */
+    private static final int HIT_BITS = 5;
+    private static final int HIT_MASK = (1 << HIT_BITS) - 1;
+    private static final int EXACT_FLAGS = 8 - HIT_BITS;
+
+    /**
+     * Indian mobile numbers have 10 digits after the country code
+     */
+    private static final int NATIONAL_NUMBER_DIGITS = 10;
+
+    private static final int CHAR_BITS = 6;
+    private static final int GRAM_SLOTS = 1 << (3 * CHAR_BITS);
+    private static final int BOUNDARY = 0;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final PostingList[] postings = new PostingList[GRAM_SLOTS];
+
+    private long[] docUserIds = new long[1024];
+    private int[] docTextStart = new int[1024];
+    private int[] docTextLength = new int[1024];
+    private byte[] docRoles = new byte[1024];
+    private boolean[] docDeleted = new boolean[1024];
+    private int docCount;
+
+    /**
+     * Normalized texts of all documents back to back, in document order
+     */
+    private byte[] texts = new byte[64 * 1024];
+    private int textsLength;
+    private int deletedCount;
+
+    private final LongIntMap docByUserId = new LongIntMap();
+    private final Map<String, Byte> roleCodes = new HashMap<>();
+
+    /**
+     * One ranked match
+     *
+     * @param userId id of the user
+     * @param score similarity, higher is better
+     */
+    record Hit(long userId, double score) {
+    }
+
+    private record Candidate(int doc, double score) {
+    }
+
+    /**
+     * Add a user, or update it if the text or role changed
+     *
+     * @param userId id of the user
+     * @param roleName role of the user
+     * @param fields searchable fields (null entries are skipped)
+     */
+    void upsert(long userId, String roleName, String... fields) {
+        byte[] text = normalizeDocument(fields);
+        lock.writeLock().lock();
+        try {
+            byte role = roleCode(roleName);
+            int existing = docByUserId.get(userId);
+            if (existing >= 0) {
+                int start = docTextStart[existing];
+                if (Arrays.equals(texts, start, start + docTextLength[existing], text, 0, text.length)) {
+                    docRoles[existing] = role;
+                    return;
+                }
+                delete(existing);
+            }
+            int doc = appendDocument(userId, text, role);
+            docByUserId.put(userId, doc);
+            for (int gram : distinctGrams(text)) {
+                PostingList list = postings[gram];
+                if (list == null) {
+                    list = postings[gram] = new PostingList();
+                }
+                list.add(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a user from the results
+     *
+     * @param userId id of the user
+     */
+    void remove(long userId) {
+        lock.writeLock().lock();
+        try {
+            int doc = docByUserId.get(userId);
+            if (doc >= 0) {
+                delete(doc);
+                docByUserId.remove(userId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the users best matching a free-text query
+     *
+     * @param query partial name, phone number or email, typos allowed
+     * @param roleName only return users with this role (null for all)
+     * @param limit maximum number of hits
+     * @return hits ordered by descending score, then oldest entry first
+     */
+    List<Hit> search(String query, String roleName, int limit) {
+        List<String> queryTokens = tokens(query);
+        int[] queryGrams = queryGrams(queryTokens);
+        byte[][] tokenBytes = new byte[queryTokens.size()][];
+        for (int i = 0; i < tokenBytes.length; i++) {
+            tokenBytes[i] = queryTokens.get(i).getBytes(StandardCharsets.US_ASCII);
+        }
+        if (queryGrams.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            byte role = roleName == null ? -1 : roleCodes.getOrDefault(roleName.toUpperCase(Locale.ROOT), (byte) -2);
+            if (role == -2) {
+                return List.of();
+            }
+
+            List<PostingList> lists = selectLists(queryGrams);
+            if (lists.isEmpty()) {
+                return List.of();
+            }
+            // Sequential decoding into one counter per document beats a k-way merge on long lists.
+            // The low bits count hits, the high bits flag possible exact matches of the first tokens.
+            byte[] counts = new byte[docCount];
+            for (PostingList list : lists) {
+                list.countInto(counts);
+            }
+            boolean[] exactKnown = markExactCandidates(tokenBytes, counts);
+            // Query trigrams whose lists were too long to read are checked against the text instead
+            int[] unreadGrams = Arrays.stream(queryGrams)
+                    .filter(gram -> postings[gram] != null && !lists.contains(postings[gram]))
+                    .toArray();
+            // A typo removes up to three trigrams, so only part of the selected lists must match
+            int minHits = lists.size() <= 2 ? 1 : (int) Math.ceil(lists.size() * MIN_SIMILARITY);
+
+            // Candidates arrive in document order, so on equal scores the one already kept wins
+            PriorityQueue<Candidate> top = new PriorityQueue<>(limit + 1, TrigramIndex::compareWorstFirst);
+            double worst = Double.NEGATIVE_INFINITY;
+            for (int doc = 0; doc < counts.length; doc++) {
+                int hits = counts[doc] & HIT_MASK;
+                if (hits < minHits || docDeleted[doc] || (role != -1 && docRoles[doc] != role)) {
+                    continue;
+                }
+                // Skip the text as soon as an upper bound shows the candidate cannot make the top
+                double shareBound = (double) (hits + unreadGrams.length) / queryGrams.length;
+                if (shareBound + bonusBound(tokenBytes.length, exactKnown, counts[doc]) <= worst) {
+                    continue;
+                }
+                int from = docTextStart[doc];
+                int to = from + docTextLength[doc];
+                double bonus = tokenBonus(tokenBytes, texts, from, to);
+                if (shareBound + bonus <= worst) {
+                    continue;
+                }
+                int shared = hits + (unreadGrams.length == 0 ? 0 : countGrams(texts, from, to, unreadGrams));
+                double score = (double) shared / queryGrams.length + bonus;
+                if (score < MIN_SIMILARITY || score <= worst) {
+                    continue;
+                }
+                top.offer(new Candidate(doc, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+                if (top.size() == limit) {
+                    worst = top.peek().score;
+                }
+            }
+
+            List<Candidate> ranked = new ArrayList<>(top);
+            ranked.sort((a, b) -> compareWorstFirst(b, a));
+            List<Hit> hits = new ArrayList<>(ranked.size());
+            for (Candidate candidate : ranked) {
+                hits.add(new Hit(docUserIds[candidate.doc], candidate.score));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of searchable users
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return docCount - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of tombstoned documents still taking space
+     */
+    int deletedCount() {
+        lock.readLock().lock();
+        try {
+            return deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int compareWorstFirst(Candidate a, Candidate b) {
+        int byScore = Double.compare(a.score, b.score);
+        // Among equal scores the newer document is worse
+        return byScore != 0 ? byScore : Integer.compare(b.doc, a.doc);
+    }
+
+    private void delete(int doc) {
+        if (!docDeleted[doc]) {
+            docDeleted[doc] = true;
+            deletedCount++;
+        }
+    }
+
+    private int appendDocument(long userId, byte[] text, byte role) {
+        if (docCount == docUserIds.length) {
+            int capacity = docCount + (docCount >> 1);
+            docUserIds = Arrays.copyOf(docUserIds, capacity);
+            docTextStart = Arrays.copyOf(docTextStart, capacity);
+            docTextLength = Arrays.copyOf(docTextLength, capacity);
+            docRoles = Arrays.copyOf(docRoles, capacity);
+            docDeleted = Arrays.copyOf(docDeleted, capacity);
+        }
+        int doc = docCount++;
+        docUserIds[doc] = userId;
+        if (textsLength + text.length > texts.length) {
+            texts = Arrays.copyOf(texts, Math.max(textsLength + text.length, texts.length + (texts.length >> 1)));
+        }
+        System.arraycopy(text, 0, texts, textsLength, text.length);
+        docTextStart[doc] = textsLength;
+        docTextLength[doc] = text.length;
+        textsLength += text.length;
+        docRoles[doc] = role;
+        return doc;
+    }
+
+    private byte roleCode(String roleName) {
+        if (roleName == null) {
+            return -1;
+        }
+        return roleCodes.computeIfAbsent(roleName.toUpperCase(Locale.ROOT), name -> (byte) roleCodes.size());
+    }
+
+    /**
+     * Flag the documents that contain the closing trigram of each of the first query tokens
+     * ("mi " for "lakshmi"); only those can match that token exactly
+     *
+     * @return per token, whether the flags are known (false if the list was too long to read)
+     */
+    private boolean[] markExactCandidates(byte[][] queryTokens, byte[] counts) {
+        boolean[] known = new boolean[Math.min(queryTokens.length, EXACT_FLAGS)];
+        for (int t = 0; t < known.length; t++) {
+            byte[] token = queryTokens[t];
+            if (token.length < 2) {
+                continue;
+            }
+            PostingList list = postings[gram((char) token[token.length - 2], (char) token[token.length - 1], ' ')];
+            if (list == null) {
+                known[t] = true;
+            } else if (list.count <= MAX_POSTINGS_SCANNED / 2) {
+                list.markInto(counts, 1 << (HIT_BITS + t));
+                known[t] = true;
+            }
+        }
+        return known;
+    }
+
+    /**
+     * Largest token bonus a document can still get, given its exact-match flags
+     */
+    private static double bonusBound(int tokenCount, boolean[] exactKnown, byte flags) {
+        double bonus = 0;
+        for (int t = 0; t < tokenCount; t++) {
+            boolean exactPossible = t >= exactKnown.length || !exactKnown[t] || (flags & (1 << (HIT_BITS + t))) != 0;
+            bonus += exactPossible ? MAX_BONUS : MAX_BONUS / 2;
+        }
+        return bonus / tokenCount;
+    }
+
+    /**
+     * Pick the rarest posting lists of the query within the scan budget (at least one)
+     */
+    private List<PostingList> selectLists(int[] queryGrams) {
+        List<PostingList> lists = new ArrayList<>();
+        for (int gram : queryGrams) {
+            PostingList list = postings[gram];
+            if (list != null && list.count > 0) {
+                lists.add(list);
+            }
+        }
+        lists.sort((a, b) -> Integer.compare(a.count, b.count));
+
+        long scanned = 0;
+        for (int i = 0; i < lists.size(); i++) {
+            scanned += lists.get(i).count;
+            if (i > 0 && (scanned > MAX_POSTINGS_SCANNED || i == HIT_MASK)) {
+                return lists.subList(0, i);
+            }
+        }
+        return lists;
+    }
+
+    /**
+     * Average per query token: 0.5 for an exact token match, 0.25 for a prefix match
+     */
+    private static double tokenBonus(byte[][] queryTokens, byte[] text, int from, int to) {
+        double bonus = 0;
+        for (byte[] token : queryTokens) {
+            int match = tokenMatch(text, from, to, token);
+            bonus += match == 2 ? MAX_BONUS : match == 1 ? MAX_BONUS / 2 : 0;
+        }
+        return bonus / queryTokens.length;
+    }
+
+    /**
+     * Count how many of the given trigrams (at most 64) occur in the text
+     */
+    private static int countGrams(byte[] text, int from, int to, int[] targets) {
+        long found = 0;
+        int start = from;
+        while (start < to) {
+            int end = start;
+            while (end < to && text[end] != ' ') {
+                end++;
+            }
+            for (int i = start - 1; i + 2 <= end; i++) {
+                int gram = gram(charAt(text, i, start, end), charAt(text, i + 1, start, end),
+                        charAt(text, i + 2, start, end));
+                for (int t = 0; t < targets.length; t++) {
+                    if (targets[t] == gram) {
+                        found |= 1L << t;
+                    }
+                }
+            }
+            start = end + 1;
+        }
+        return Long.bitCount(found);
+    }
+
+    /**
+     * @return 2 if a token of the text equals the query token, 1 if one starts with it, else 0
+     */
+    private static int tokenMatch(byte[] text, int from, int to, byte[] token) {
+        int best = 0;
+        int start = from;
+        while (start < to) {
+            int i = 0;
+            while (i < token.length && start + i < to && text[start + i] == token[i]) {
+                i++;
+            }
+            int end = start + i;
+            if (i == token.length) {
+                if (end == to || text[end] == ' ') {
+                    return 2;
+                }
+                best = 1;
+            }
+            while (end < to && text[end] != ' ') {
+                end++;
+            }
+            start = end + 1;
+        }
+        return best;
+    }
+
+    /**
+     * Normalize user fields into space-separated tokens; phone numbers keep only digits
+     */
+    static byte[] normalizeDocument(String... fields) {
+        StringBuilder text = new StringBuilder();
+        for (String field : fields) {
+            if (field == null) {
+                continue;
+            }
+            List<String> tokens = looksLikePhone(field) ? phoneTokens(field) : tokens(field);
+            for (String token : tokens) {
+                if (!token.isEmpty()) {
+                    if (text.length() > 0) {
+                        text.append(' ');
+                    }
+                    text.append(token);
+                }
+            }
+        }
+        return text.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Phone digits, plus the national number alone when a country code is present
+     */
+    private static List<String> phoneTokens(String field) {
+        String digits = field.replaceAll("\\D", "");
+        return digits.length() > NATIONAL_NUMBER_DIGITS
+                ? List.of(digits, digits.substring(digits.length() - NATIONAL_NUMBER_DIGITS))
+                : List.of(digits);
+    }
+
+    private static boolean looksLikePhone(String field) {
+        return field.matches("[+\\d][\\d\\s()-]{5,}");
+    }
+
+    /**
+     * Lower-case, accent-free ASCII tokens; anything but letters and digits separates tokens
+     */
+    static List<String> tokens(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : folded.split("[^a-z0-9]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Query trigrams: each token padded at the start only, so partial input matches as a prefix
+     */
+    private static int[] queryGrams(List<String> tokens) {
+        int[] grams = new int[0];
+        int count = 0;
+        for (String token : tokens) {
+            String padded = token.length() == 1 ? " " + token + " " : " " + token;
+            if (grams.length < count + padded.length()) {
+                grams = Arrays.copyOf(grams, count + padded.length());
+            }
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams[count++] = gram(padded.charAt(i), padded.charAt(i + 1), padded.charAt(i + 2));
+            }
+        }
+        return Arrays.stream(grams, 0, count).distinct().limit(MAX_QUERY_GRAMS).toArray();
+    }
+
+    private static int[] distinctGrams(byte[] text) {
+        int[] grams = new int[text.length * 2 + 2];
+        int count = grams(text, grams);
+        return Arrays.stream(grams, 0, count).distinct().toArray();
+    }
+
+    /**
+     * Write the trigrams of every token, padded on both sides, into out
+     *
+     * @return number of trigrams written
+     */
+    private static int grams(byte[] text, int[] out) {
+        int count = 0;
+        int start = 0;
+        while (start < text.length) {
+            int end = start;
+            while (end < text.length && text[end] != ' ') {
+                end++;
+            }
+            // Padded token " abc " spans positions start-1 .. end
+            for (int i = start - 1; i + 2 <= end; i++) {
+                out[count++] = gram(charAt(text, i, start, end), charAt(text, i + 1, start, end),
+                        charAt(text, i + 2, start, end));
+            }
+            start = end + 1;
+        }
+        return count;
+    }
+
+    private static char charAt(byte[] text, int index, int start, int end) {
+        return index < start || index >= end ? ' ' : (char) text[index];
+    }
+
+    private static int gram(char a, char b, char c) {
+        return (code(a) << (2 * CHAR_BITS)) | (code(b) << CHAR_BITS) | code(c);
+    }
+
+    /**
+     * 6-bit character code: boundary 0, a-z 1-26, 0-9 27-36
+     */
+    private static int code(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 1;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 27;
+        }
+        return BOUNDARY;
+    }
+
+    /**
+     * Ascending document numbers stored as varint-encoded gaps
+     */
+    private static final class PostingList {
+
+        private byte[] data = new byte[8];
+        private int length;
+        private int count;
+        private int lastDoc = -1;
+
+        void add(int doc) {
+            int gap = doc - lastDoc;
+            lastDoc = doc;
+            count++;
+            if (length + 5 > data.length) {
+                data = Arrays.copyOf(data, data.length + (data.length >> 1) + 5);
+            }
+            while ((gap & ~0x7F) != 0) {
+                data[length++] = (byte) ((gap & 0x7F) | 0x80);
+                gap >>>= 7;
+            }
+            data[length++] = (byte) gap;
+        }
+
+        /**
+         * Increment the counter of every document in the list
+         */
+        void countInto(byte[] counts) {
+            int doc = -1;
+            int position = 0;
+            while (position < length) {
+                int gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[position++];
+                    gap |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while ((b & 0x80) != 0);
+                doc += gap;
+                counts[doc]++;
+            }
+        }
+
+        /**
+         * Set a flag bit for every document in the list
+         */
+        void markInto(byte[] counts, int flag) {
+            int doc = -1;
+            int position = 0;
+            while (position < length) {
+                int gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[position++];
+                    gap |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while ((b & 0x80) != 0);
+                doc += gap;
+                counts[doc] |= (byte) flag;
+            }
+        }
+    }
+
+    /**
+     * Open-addressing map from user id to document number, without boxing
+     */
+    private static final class LongIntMap {
+
+        private static final long EMPTY = Long.MIN_VALUE;
+        private static final long REMOVED = Long.MIN_VALUE + 1;
+
+        private long[] keys = newKeys(1024);
+        private int[] values = new int[1024];
+        private int used;
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                if (keys[slot] == EMPTY) {
+                    return -1;
+                }
+            }
+        }
+
+        void put(long key, int value) {
+            if ((used + 1) * 2 > keys.length) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int firstRemoved = -1;
+            for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    values[slot] = value;
+                    return;
+                }
+                if (keys[slot] == REMOVED && firstRemoved < 0) {
+                    firstRemoved = slot;
+                }
+                if (keys[slot] == EMPTY) {
+                    int target = firstRemoved >= 0 ? firstRemoved : slot;
+                    if (target == slot) {
+                        used++;
+                    }
+                    keys[target] = key;
+                    values[target] = value;
+                    return;
+                }
+            }
+        }
+
+        void remove(long key) {
+            int mask = keys.length - 1;
+            for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    keys[slot] = REMOVED;
+                    return;
+                }
+                if (keys[slot] == EMPTY) {
+                    return;
+                }
+            }
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = newKeys(oldKeys.length * 2);
+            values = new int[oldKeys.length * 2];
+            used = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY && oldKeys[i] != REMOVED) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
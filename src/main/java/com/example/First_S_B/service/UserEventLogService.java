@@ -0,0 +1,238 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.event.UserLifecycleEvent;
+import com.example.First_S_B.event.UserProfileChangedEvent;
+import com.example.First_S_B.eventlog.EventLogReader;
+import com.example.First_S_B.eventlog.EventRecord;
+import com.example.First_S_B.eventlog.SegmentedEventLog;
+import com.example.First_S_B.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records user lifecycle and profile events in a local append-only log
+ *
+ * Listeners only put the event on a bounded queue, so request threads never
+ * wait for the disk. One writer thread appends queued events to a
+ * SegmentedEventLog and flushes once app.event-log.flush-max-records have
+ * been appended or app.event-log.flush-interval-ms has passed, whichever
+ * comes first: one fsync covers a whole batch. When the queue is full the
+ * event is dropped and counted rather than slowing down the write path; the
+ * database stays the source of truth.
+ *
+ * Analytics and audit jobs read the log from any offset (reader(), or
+ * GET /users/events) instead of querying PostgreSQL. Segments older than
+ * app.event-log.retention-days are deleted.
+ *
+ * Metrics (Micrometer): eventlog.records (tagged appended, dropped or
+ * failed), eventlog.flushes, eventlog.queue.depth, eventlog.segments.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Service
+public class UserEventLogService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserEventLogService.class);
+
+    private final SegmentedEventLog eventLog;
+    private final BlockingQueue<EventRecord> queue;
+    private final long flushIntervalMillis;
+    private final int flushMaxRecords;
+    private final Duration retention;
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    private final Counter appended;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Counter flushes;
+
+    public UserEventLogService(MeterRegistry meterRegistry,
+                               @Value("${app.event-log.directory:data/event-log}") String directory,
+                               @Value("${app.event-log.segment-size-mb:64}") int segmentSizeMb,
+                               @Value("${app.event-log.queue-capacity:65536}") int queueCapacity,
+                               @Value("${app.event-log.flush-interval-ms:200}") long flushIntervalMillis,
+                               @Value("${app.event-log.flush-max-records:1000}") int flushMaxRecords,
+                               @Value("${app.event-log.retention-days:30}") long retentionDays) throws IOException {
+        this.eventLog = new SegmentedEventLog(Path.of(directory), segmentSizeMb * 1024 * 1024);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.flushMaxRecords = flushMaxRecords;
+        this.retention = Duration.ofDays(retentionDays);
+
+        this.appended = Counter.builder("eventlog.records").tag("outcome", "appended")
+                .description("User events written to the event log")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("eventlog.records").tag("outcome", "dropped")
+                .description("User events not logged because the queue was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("eventlog.records").tag("outcome", "failed")
+                .description("User events that could not be written to the event log")
+                .register(meterRegistry);
+        this.flushes = Counter.builder("eventlog.flushes")
+                .description("Batches of appended events forced to disk")
+                .register(meterRegistry);
+        Gauge.builder("eventlog.queue.depth", queue, BlockingQueue::size)
+                .description("User events waiting for the event log writer")
+                .register(meterRegistry);
+        Gauge.builder("eventlog.segments", eventLog, SegmentedEventLog::segmentCount)
+                .description("Segment files in the event log")
+                .register(meterRegistry);
+
+        this.writer = new Thread(this::writeLoop, "user-event-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Log a registration, verification, deactivation, role or password change
+     *
+     * @param event lifecycle event published by the write path
+     */
+    @EventListener
+    public void onUserLifecycle(UserLifecycleEvent event) {
+        User user = event.getUser();
+        offer(new EventRecord(0, EventRecord.Type.valueOf(event.getType().name()),
+                event.getOccurredAt().toEpochMilli(), user.getId(), user.getRole().getRoleName(),
+                event.getPreviousRoleName(), Boolean.TRUE.equals(user.getIsActive()), false));
+    }
+
+    /**
+     * Log a profile or availability update
+     *
+     * @param event profile event published by the write path
+     */
+    @EventListener
+    public void onProfileChanged(UserProfileChangedEvent event) {
+        offer(new EventRecord(0, EventRecord.Type.PROFILE_UPDATED, System.currentTimeMillis(),
+                event.getUserId(), event.getRoleName(), event.getPincode(), event.isActive(), event.isAvailable()));
+    }
+
+    /**
+     * Read logged events from an offset
+     *
+     * Events still queued for the writer are not visible yet.
+     *
+     * @param fromOffset first offset to read, clamped to the offsets still kept
+     * @return reader for use by one thread; poll it again later to tail the log
+     */
+    public EventLogReader reader(long fromOffset) {
+        return eventLog.reader(fromOffset);
+    }
+
+    /**
+     * @return offset of the oldest event still kept
+     */
+    public long startOffset() {
+        return eventLog.startOffset();
+    }
+
+    /**
+     * @return offset the next logged event will get
+     */
+    public long endOffset() {
+        return eventLog.endOffset();
+    }
+
+    /**
+     * Delete segments older than the retention period
+     */
+    @Scheduled(initialDelayString = "${app.event-log.retention-check-interval-ms:3600000}",
+            fixedDelayString = "${app.event-log.retention-check-interval-ms:3600000}")
+    public void deleteExpiredSegments() {
+        int deleted = eventLog.deleteSegmentsOlderThan(Instant.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Deleted {} event log segments older than {} days", deleted, retention.toDays());
+        }
+    }
+
+    /**
+     * Write what is still queued, flush and close the log
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        eventLog.close();
+    }
+
+    private void offer(EventRecord event) {
+        if (!running || !queue.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    private void writeLoop() {
+        List<EventRecord> batch = new ArrayList<>(flushMaxRecords);
+        int unflushed = 0;
+        long lastFlushNanos = System.nanoTime();
+        while (running || !queue.isEmpty()) {
+            try {
+                EventRecord first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, flushMaxRecords - 1);
+                    unflushed += append(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long now = System.nanoTime();
+            if (unflushed >= flushMaxRecords
+                    || (unflushed > 0 && now - lastFlushNanos >= TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis))) {
+                flush();
+                unflushed = 0;
+                lastFlushNanos = now;
+            }
+        }
+        if (unflushed > 0) {
+            flush();
+        }
+    }
+
+    private int append(List<EventRecord> batch) {
+        int written = 0;
+        for (EventRecord event : batch) {
+            try {
+                eventLog.append(event);
+                written++;
+            } catch (RuntimeException e) {
+                failed.increment();
+                log.error("Cannot append {} event of user {} to the event log", event.type(), event.userId(), e);
+            }
+        }
+        appended.increment(written);
+        return written;
+    }
+
+    private void flush() {
+        try {
+            eventLog.flush();
+            flushes.increment();
+        } catch (RuntimeException e) {
+            log.error("Cannot flush the event log", e);
+        }
+    }
+}
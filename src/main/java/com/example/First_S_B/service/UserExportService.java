@@ -0,0 +1,191 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.dto.UserExportFilter;
+import com.example.First_S_B.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bulk export of users with their profile location as CSV
+ *
+ * One forward-only query joins users, roles and user_profiles and is read
+ * from a server-side cursor (UserRepository.STREAM_FETCH_SIZE rows per
+ * round trip); every row is written to the response as it arrives and
+ * nothing is collected, so memory stays flat for any table size.
+ *
+ * Rows come in user id order. A client that loses the connection keeps
+ * the complete lines it received and asks again with afterId set to the
+ * last id: the resumed export has no header row, so it can be appended to
+ * the partial file as is. Gzip output is flushed at the same points as
+ * plain output, and appended gzip streams form a valid gzip file.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Service
+public class UserExportService {
+
+    /**
+     * CSV columns; names match the UserImportService columns where they overlap
+     */
+    static final String HEADER = "id,email,firstName,lastName,phoneNumber,role,isActive,isVerified,createdAt," +
+            "address,city,state,pincode,isAvailable";
+
+    private static final String SELECT = "SELECT u.id, u.email, u.first_name, u.last_name, u.phone_number, " +
+            "r.role_name, u.is_active, u.is_verified, u.created_at, p.address, p.city, p.state, p.pincode, p.is_available " +
+            "FROM users u JOIN roles r ON r.id = u.role_id LEFT JOIN user_profiles p ON p.user_id = u.id " +
+            "WHERE u.id > :afterId";
+
+    /**
+     * Flush the response after this many rows so clients see data steadily
+     */
+    private static final int FLUSH_EVERY_ROWS = Integer.parseInt(UserRepository.STREAM_FETCH_SIZE);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public UserExportService(DataSource dataSource) {
+        // Own template: the fetch size makes PostgreSQL use a cursor instead of loading the whole result
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(FLUSH_EVERY_ROWS);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+    }
+
+    /**
+     * Write the users matching a filter as CSV
+     *
+     * @param filter which users to export and the id to resume after
+     * @param gzip whether to gzip the CSV
+     * @param out response stream to write to
+     * @return number of users written
+     * @throws IOException if the client disconnects or writing fails
+     */
+    @Transactional(readOnly = true)
+    public long writeCsv(UserExportFilter filter, boolean gzip, OutputStream out) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024, true) : out;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+        if (filter.afterId() <= 0) {
+            writer.write(HEADER);
+            writer.write('\n');
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource().addValue("afterId", filter.afterId());
+        String sql = SELECT + where(filter, params) + " ORDER BY u.id";
+        long[] written = {0};
+        try {
+            jdbcTemplate.query(sql, params, rs -> {
+                try {
+                    writeRow(rs, writer);
+                    if (++written[0] % FLUSH_EVERY_ROWS == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        // Completes the gzip stream without closing the response
+        writer.flush();
+        if (target instanceof GZIPOutputStream gzipStream) {
+            gzipStream.finish();
+        }
+        return written[0];
+    }
+
+    /**
+     * Render the filter as SQL predicates (each starting with " AND"), binding values into params
+     */
+    static String where(UserExportFilter filter, MapSqlParameterSource params) {
+        StringBuilder sql = new StringBuilder();
+        if (filter.roleName() != null) {
+            sql.append(" AND r.role_name = :roleName");
+            params.addValue("roleName", filter.roleName());
+        }
+        if (filter.state() != null) {
+            sql.append(" AND p.state = :state");
+            params.addValue("state", filter.state());
+        }
+        if (filter.createdFrom() != null) {
+            sql.append(" AND u.created_at >= :createdFrom");
+            params.addValue("createdFrom", filter.createdFrom());
+        }
+        if (filter.createdBefore() != null) {
+            sql.append(" AND u.created_at < :createdBefore");
+            params.addValue("createdBefore", filter.createdBefore());
+        }
+        return sql.toString();
+    }
+
+    private static void writeRow(ResultSet rs, Writer writer) throws SQLException, IOException {
+        writer.write(Long.toString(rs.getLong("id")));
+        writeField(writer, rs.getString("email"));
+        writeField(writer, rs.getString("first_name"));
+        writeField(writer, rs.getString("last_name"));
+        writeField(writer, rs.getString("phone_number"));
+        writeField(writer, rs.getString("role_name"));
+        writeField(writer, booleanField(rs, "is_active"));
+        writeField(writer, booleanField(rs, "is_verified"));
+        LocalDateTime createdAt = rs.getObject("created_at", LocalDateTime.class);
+        writeField(writer, createdAt == null ? null : createdAt.toString());
+        writeField(writer, rs.getString("address"));
+        writeField(writer, rs.getString("city"));
+        writeField(writer, rs.getString("state"));
+        writeField(writer, rs.getString("pincode"));
+        writeField(writer, booleanField(rs, "is_available"));
+        writer.write('\n');
+    }
+
+    private static String booleanField(ResultSet rs, String column) throws SQLException {
+        boolean value = rs.getBoolean(column);
+        return rs.wasNull() ? null : Boolean.toString(value);
+    }
+
+    /**
+     * Write a separator and one field, quoted (RFC 4180) if it contains a separator, quote or line break
+     *
+     * Fields are user input. One starting with =, +, -, @, tab or carriage
+     * return would run as a formula when the file is opened in a spreadsheet,
+     * so it is prefixed with an apostrophe (shown as text, e.g. '+919000000001).
+     */
+    static void writeField(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+            value = "'" + value;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
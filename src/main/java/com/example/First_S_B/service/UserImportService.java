@@ -0,0 +1,372 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.event.UserLifecycleEvent;
+import com.example.First_S_B.model.User;
+import com.example.First_S_B.model.UserProfile;
+import com.example.First_S_B.repository.UserRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Service for bulk user onboarding from CSV or NDJSON uploads
+ *
+ * The upload is read row by row and processed in chunks of app.import.chunk-size:
+ * 1. Rows are validated and emails de-duplicated within the chunk
+ * 2. Emails already registered are found with one IN query per chunk
+ * 3. Passwords of the remaining rows are hashed on the shared hashing pool
+ * 4. Valid users (and their profiles) are inserted in one transaction per chunk,
+ *    which Hibernate sends as JDBC batches thanks to sequence-based ids
+ *
+ * Failed rows never stop the import; they are collected in the returned report.
+ *
+ * Supported columns/fields: email, password, firstName, lastName, phoneNumber,
+ * role, address, city, state, pincode
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Service
+public class UserImportService {
+
+    private static final TypeReference<Map<String, Object>> JSON_ROW = new TypeReference<>() {};
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private NewUserValidator newUserValidator;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    /**
+     * Import users from a CSV stream whose first line is the header
+     *
+     * @param in CSV upload
+     * @return import report (see {@link ImportReport#toMap()})
+     * @throws IOException if reading the upload fails
+     */
+    public Map<String, Object> importCsv(InputStream in) throws IOException {
+        CsvRowReader reader = new CsvRowReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        ImportReport report = new ImportReport(maxReportedErrors);
+
+        List<String> header = reader.readRow();
+        if (header == null) {
+            return report.toMap();
+        }
+        for (int i = 0; i < header.size(); i++) {
+            header.set(i, header.get(i).replace("\uFEFF", "").trim());
+        }
+
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        int rowNumber = 1;
+        List<String> values;
+        while ((values = reader.readRow()) != null) {
+            rowNumber++;
+            if (values.size() == 1 && values.get(0).isBlank()) {
+                continue; // empty line
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < header.size() && i < values.size(); i++) {
+                fields.put(header.get(i), values.get(i));
+            }
+            chunk.add(new ImportRow(rowNumber, fields));
+            if (chunk.size() == chunkSize) {
+                processChunk(chunk, report);
+                chunk.clear();
+            }
+        }
+        processChunk(chunk, report);
+        return report.toMap();
+    }
+
+    /**
+     * Import users from an NDJSON stream (one JSON object per line)
+     *
+     * @param in NDJSON upload
+     * @return import report (see {@link ImportReport#toMap()})
+     * @throws IOException if reading the upload fails
+     */
+    public Map<String, Object> importNdjson(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        ImportReport report = new ImportReport(maxReportedErrors);
+
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        int rowNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            rowNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            Map<String, Object> json;
+            try {
+                json = objectMapper.readValue(line, JSON_ROW);
+            } catch (IOException e) {
+                report.totalRows++;
+                report.fail(rowNumber, null, "Malformed JSON");
+                continue;
+            }
+            Map<String, String> fields = new HashMap<>();
+            json.forEach((key, value) -> fields.put(key, value != null ? value.toString() : null));
+            chunk.add(new ImportRow(rowNumber, fields));
+            if (chunk.size() == chunkSize) {
+                processChunk(chunk, report);
+                chunk.clear();
+            }
+        }
+        processChunk(chunk, report);
+        return report.toMap();
+    }
+
+    /**
+     * Validate, de-duplicate and insert one chunk of rows
+     */
+    private void processChunk(List<ImportRow> chunk, ImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        // 1. Validate rows and drop duplicates inside the chunk
+        Map<String, ImportRow> rowsByEmail = new LinkedHashMap<>();
+        for (ImportRow row : chunk) {
+            report.totalRows++;
+            String error = validate(row);
+            if (error != null) {
+                report.fail(row.number, row.get("email"), error);
+            } else if (rowsByEmail.putIfAbsent(row.get("email"), row) != null) {
+                report.fail(row.number, row.get("email"), "Duplicate email in upload");
+            }
+        }
+        if (rowsByEmail.isEmpty()) {
+            return;
+        }
+
+        // 2. One query for all emails of the chunk that are already registered
+        for (String existing : userRepository.findExistingEmails(rowsByEmail.keySet())) {
+            ImportRow row = rowsByEmail.remove(existing);
+            if (row != null) {
+                report.fail(row.number, existing, "Email already registered");
+            }
+        }
+        if (rowsByEmail.isEmpty()) {
+            return;
+        }
+
+        // 3. Hash passwords outside the transaction, without crowding out interactive logins
+        List<ImportRow> rows = new ArrayList<>(rowsByEmail.values());
+        List<String> hashes = passwordHashingService.encodeAll(rows.stream().map(row -> row.get("password")).toList());
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).passwordHash = hashes.get(i);
+        }
+
+        // 4. Insert the remaining rows in one batched transaction
+        List<User> saved;
+        try {
+            saved = insertRows(rows);
+        } catch (RuntimeException e) {
+            // e.g. an email registered concurrently: isolate the failing rows
+            saved = insertRowsIndividually(rows, report);
+        }
+
+        report.imported += saved.size();
+        for (User user : saved) {
+            eventPublisher.publishEvent(new UserLifecycleEvent(UserLifecycleEvent.Type.REGISTERED, user));
+        }
+    }
+
+    /**
+     * Insert all rows in a single transaction, flushing once so Hibernate batches the inserts
+     */
+    private List<User> insertRows(List<ImportRow> rows) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return transaction.execute(status -> {
+            List<User> users = new ArrayList<>(rows.size());
+            for (ImportRow row : rows) {
+                users.add(persist(row));
+            }
+            entityManager.flush();
+            // Saved entities are no longer needed in the persistence context
+            entityManager.clear();
+            return users;
+        });
+    }
+
+    /**
+     * Fallback when a chunk insert fails: insert rows one by one and report the failures
+     */
+    private List<User> insertRowsIndividually(List<ImportRow> rows, ImportReport report) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<User> users = new ArrayList<>();
+        for (ImportRow row : rows) {
+            try {
+                users.add(transaction.execute(status -> {
+                    User user = persist(row);
+                    entityManager.flush();
+                    entityManager.clear();
+                    return user;
+                }));
+            } catch (RuntimeException e) {
+                report.fail(row.number, row.get("email"), "Could not be saved: " + rootMessage(e));
+            }
+        }
+        return users;
+    }
+
+    /**
+     * Create and persist the user (and profile, if any profile field is given) for a row
+     */
+    private User persist(ImportRow row) {
+        User user = new User();
+        user.setEmail(row.get("email"));
+        user.setPassword(row.passwordHash);
+        user.setFirstName(row.get("firstName"));
+        user.setLastName(row.get("lastName"));
+        user.setPhoneNumber(row.get("phoneNumber"));
+        user.setRole(roleRegistry.findByName(row.get("role")));
+        user.setIsActive(true);
+        user.setIsVerified(false);
+        entityManager.persist(user);
+
+        String address = row.get("address");
+        String city = row.get("city");
+        String state = row.get("state");
+        String pincode = row.get("pincode");
+        if (address != null || city != null || state != null || pincode != null) {
+            UserProfile profile = new UserProfile();
+            profile.setUser(user);
+            profile.setAddress(address);
+            profile.setCity(city);
+            profile.setState(state);
+            profile.setPincode(pincode);
+            entityManager.persist(profile);
+            // Lets event listeners (e.g. the nearby-user index) read the profile without a query
+            user.setUserProfile(profile);
+        }
+        return user;
+    }
+
+    /**
+     * Check one row against the rules of /users/register; imports are admin-only, so ADMIN is allowed
+     *
+     * @return error message, or null if the row is valid
+     */
+    private String validate(ImportRow row) {
+        return newUserValidator.validate(row.get("email"), row.get("password"), row.get("firstName"),
+                row.get("role"), true);
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    /**
+     * One input row with its 1-based line number in the upload
+     */
+    private static final class ImportRow {
+        final int number;
+        final Map<String, String> fields;
+        String passwordHash;
+
+        ImportRow(int number, Map<String, String> fields) {
+            this.number = number;
+            this.fields = fields;
+        }
+
+        /**
+         * @return trimmed field value, or null if missing or blank
+         */
+        String get(String name) {
+            String value = fields.get(name);
+            if (value == null) {
+                return null;
+            }
+            value = value.trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+
+    /**
+     * Accumulates import results; only the first maxErrors failures are kept in detail
+     */
+    private static final class ImportReport {
+        final int maxErrors;
+        final List<Map<String, Object>> errors = new ArrayList<>();
+        long totalRows;
+        long imported;
+        long failed;
+
+        ImportReport(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void fail(int row, String email, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("row", row);
+                error.put("email", email);
+                error.put("message", message);
+                errors.add(error);
+            }
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", failed == 0);
+            response.put("totalRows", totalRows);
+            response.put("imported", imported);
+            response.put("failed", failed);
+            response.put("errors", errors);
+            response.put("errorsTruncated", failed > errors.size());
+            response.put("message", String.format(Locale.ROOT,
+                    "Imported %d of %d rows", imported, totalRows));
+            return response;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.dto.UserSearchHit;
+import com.example.First_S_B.dto.UserSummary;
+import com.example.First_S_B.event.UserLifecycleEvent;
+import com.example.First_S_B.model.User;
+import com.example.First_S_B.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Fuzzy search over user names, phone numbers and emails
+ *
+ * Backed by an in-memory TrigramIndex of the active users. The index is
+ * built in the background at startup (on the application task executor) by
+ * streaming the users table, then kept current from UserLifecycleEvent:
+ * registrations and changes are upserted, deactivated users removed. Events that arrive
+ * while a build is running are replayed onto the new index before it is
+ * swapped in, so nothing is lost.
+ *
+ * When many documents have been replaced (tombstones), the index is
+ * rebuilt the same way to reclaim memory.
+ *
+ * Metrics: user.search.indexed (gauge), user.search.latency (index lookup only).
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Service
+public class UserSearchService {
+
+    /**
+     * Rebuild once tombstoned documents exceed this share of the index
+     */
+    private static final double REBUILD_DELETED_RATIO = 0.25;
+
+    private final UserRepository userRepository;
+    private final TaskExecutor taskExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Timer searchLatency;
+
+    private volatile TrigramIndex index = new TrigramIndex();
+
+    /**
+     * Guards building and pendingChanges
+     */
+    private final Object buildLock = new Object();
+    private boolean building;
+    private final List<User> pendingChanges = new ArrayList<>();
+    private volatile boolean ready;
+
+    @Autowired
+    public UserSearchService(UserRepository userRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+                             MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.taskExecutor = taskExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        Gauge.builder("user.search.indexed", this, service -> service.index.size())
+                .description("Users in the search index")
+                .register(meterRegistry);
+        this.searchLatency = Timer.builder("user.search.latency")
+                .description("Time to look up a query in the search index")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Build the index in the background once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        taskExecutor.execute(this::rebuild);
+    }
+
+    /**
+     * Rebuild the index when too many documents have been replaced
+     */
+    @Scheduled(fixedDelayString = "${app.search.compaction-check-interval-ms:600000}")
+    public void compactIfNeeded() {
+        TrigramIndex current = index;
+        int deleted = current.deletedCount();
+        if (ready && deleted > 0 && deleted > (current.size() + deleted) * REBUILD_DELETED_RATIO) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Stream all users into a new index and swap it in
+     */
+    public void rebuild() {
+        synchronized (buildLock) {
+            if (building) {
+                return;
+            }
+            building = true;
+        }
+
+        TrigramIndex fresh = new TrigramIndex();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<UserSummary> users = userRepository.streamAll()) {
+                    users.filter(user -> Boolean.TRUE.equals(user.getIsActive())).forEach(user -> add(fresh, user));
+                }
+            });
+        } finally {
+            synchronized (buildLock) {
+                for (User user : pendingChanges) {
+                    apply(fresh, user);
+                }
+                pendingChanges.clear();
+                index = fresh;
+                building = false;
+                ready = true;
+            }
+        }
+    }
+
+    /**
+     * Keep the index current after a user is registered, changed or deactivated
+     *
+     * @param event lifecycle event published by the write path
+     */
+    @EventListener
+    public void onUserLifecycle(UserLifecycleEvent event) {
+        User user = event.getUser();
+        synchronized (buildLock) {
+            if (building) {
+                pendingChanges.add(user);
+            }
+        }
+        // Upserts and removals are idempotent, so applying a change to both indexes is harmless
+        apply(index, user);
+    }
+
+    /**
+     * Search users by partial name, phone number or email
+     *
+     * @param query free text, typos allowed
+     * @param roleName only return users with this role (null for all)
+     * @param limit maximum number of results
+     * @return matching users, best first
+     */
+    public List<UserSearchHit> search(String query, String roleName, int limit) {
+        long startNanos = System.nanoTime();
+        List<TrigramIndex.Hit> hits = index.search(query, roleName, limit);
+        searchLatency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (TrigramIndex.Hit hit : hits) {
+            ids.add(hit.userId());
+        }
+        Map<Long, UserSummary> summaries = new HashMap<>();
+        for (UserSummary summary : userRepository.findSummariesByIds(ids)) {
+            summaries.put(summary.getId(), summary);
+        }
+
+        List<UserSearchHit> results = new ArrayList<>(hits.size());
+        for (TrigramIndex.Hit hit : hits) {
+            UserSummary summary = summaries.get(hit.userId());
+            if (summary != null) {
+                results.add(new UserSearchHit(summary, Math.round(hit.score() * 1000) / 1000.0));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @return true once the startup build has finished
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    private static void add(TrigramIndex target, UserSummary user) {
+        target.upsert(user.getId(), user.getRole(),
+                user.getFirstName(), user.getLastName(), user.getPhoneNumber(), user.getEmail());
+    }
+
+    /**
+     * Index an active user, drop an inactive one
+     */
+    private static void apply(TrigramIndex target, User user) {
+        if (!Boolean.TRUE.equals(user.getIsActive())) {
+            target.remove(user.getId());
+            return;
+        }
+        target.upsert(user.getId(), user.getRole().getRoleName(),
+                user.getFirstName(), user.getLastName(), user.getPhoneNumber(), user.getEmail());
+    }
+}
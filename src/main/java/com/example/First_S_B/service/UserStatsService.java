@@ -0,0 +1,277 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.dto.RoleRegistrationCount;
+import com.example.First_S_B.dto.RoleUserCount;
+import com.example.First_S_B.event.UserLifecycleEvent;
+import com.example.First_S_B.model.Role;
+import com.example.First_S_B.model.User;
+import com.example.First_S_B.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory user statistics for the /users/stats endpoint
+ *
+ * Counters are seeded from one grouped query when the application is ready,
+ * then kept up to date from UserLifecycleEvent on the registration and
+ * deactivation paths. Reading the statistics never touches the database.
+ *
+ * The rolling registration windows (last hour, last day) are seeded too,
+ * from a second query grouping the last day's registrations by role and
+ * minute. It only counts users created before this service existed; later
+ * registrations reach the windows through their events.
+ *
+ * A scheduled reconciliation re-runs the grouped query and corrects any
+ * drift (e.g. rows changed outside this application).
+ *
+ * The serialized response is cached and rebuilt only when a counter
+ * changed or a new one-minute registration bucket started (see statsResponse).
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Service
+public class UserStatsService {
+
+    private static final Duration LAST_HOUR = Duration.ofHours(1);
+    private static final Duration LAST_DAY = Duration.ofDays(1);
+    private static final long BUCKET_MILLIS = Duration.ofMinutes(1).toMillis();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private PrecomputedResponses precomputedResponses;
+
+    private final Map<String, RoleCounters> countersByRole = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented after every counter change, so cached responses know they are stale
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile CachedStats cachedStats;
+
+    /**
+     * Registrations from here on are counted from events, earlier ones by the seed query
+     */
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    /**
+     * Events update the counters under the read lock, reconciliations hold the
+     * write lock. A lock rather than synchronized, so a virtual thread waiting
+     * on the database does not pin its carrier thread.
+     */
+    private final ReadWriteLock reconcileLock = new ReentrantReadWriteLock();
+
+    /**
+     * Seed the counters once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+        seedRegistrations();
+    }
+
+    /**
+     * Fill the registration windows with the last day's registrations from the database
+     */
+    void seedRegistrations() {
+        for (RoleRegistrationCount count : userRepository.countRegistrationsByRoleAndMinute(
+                createdAt.minus(LAST_DAY), createdAt)) {
+            long minuteMillis = count.getMinute().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            countersFor(count.getRoleName()).registrations.add(minuteMillis, count.getUserCount());
+        }
+        version.incrementAndGet();
+    }
+
+    /**
+     * Re-count users in the database and correct the in-memory counters
+     *
+     * Each counter is shifted by the difference between the database count
+     * and its value just before the query. Events wait while this runs, so
+     * none lands between that snapshot and the query: a registration the
+     * query sees can't also be added by its event during the reconciliation.
+     * Events of writes that commit while the query runs are applied after it.
+     */
+    @Scheduled(initialDelayString = "${app.stats.reconcile-interval-ms:300000}",
+               fixedDelayString = "${app.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        reconcileLock.writeLock().lock();
+        try {
+            doReconcile();
+            version.incrementAndGet();
+        } finally {
+            reconcileLock.writeLock().unlock();
+        }
+    }
+
+    private void doReconcile() {
+        for (Role role : roleRegistry.findAll()) {
+            countersFor(role.getRoleName());
+        }
+
+        Map<String, long[]> before = new HashMap<>();
+        countersByRole.forEach((roleName, counters) ->
+                before.put(roleName, new long[]{counters.total.sum(), counters.active.sum()}));
+
+        List<RoleUserCount> counts = userRepository.countUsersGroupedByRole();
+        Map<String, RoleUserCount> countsByRole = new HashMap<>();
+        for (RoleUserCount count : counts) {
+            countsByRole.put(count.getRoleName(), count);
+        }
+
+        before.forEach((roleName, seen) -> {
+            RoleUserCount count = countsByRole.remove(roleName);
+            RoleCounters counters = countersByRole.get(roleName);
+            counters.total.add((count != null ? count.getUserCount() : 0L) - seen[0]);
+            counters.active.add((count != null ? count.getActiveCount() : 0L) - seen[1]);
+        });
+
+        // Roles that appeared in the database after the snapshot above
+        countsByRole.forEach((roleName, count) -> {
+            RoleCounters counters = countersFor(roleName);
+            counters.total.add(count.getUserCount());
+            counters.active.add(count.getActiveCount());
+        });
+    }
+
+    /**
+     * Update counters after a user is registered, deactivated or changes role
+     *
+     * @param event lifecycle event published by the write path
+     */
+    @EventListener
+    public void onUserLifecycle(UserLifecycleEvent event) {
+        reconcileLock.readLock().lock();
+        try {
+            apply(event);
+        } finally {
+            reconcileLock.readLock().unlock();
+        }
+        version.incrementAndGet();
+    }
+
+    private void apply(UserLifecycleEvent event) {
+        User user = event.getUser();
+        RoleCounters counters = countersFor(user.getRole().getRoleName());
+
+        switch (event.getType()) {
+            case REGISTERED -> {
+                counters.total.increment();
+                counters.active.increment();
+                counters.registrations.increment(event.getOccurredAt().toEpochMilli());
+            }
+            case DEACTIVATED -> counters.active.decrement();
+            case ROLE_CHANGED -> {
+                RoleCounters previous = countersFor(event.getPreviousRoleName());
+                previous.total.decrement();
+                counters.total.increment();
+                if (Boolean.TRUE.equals(user.getIsActive())) {
+                    previous.active.decrement();
+                    counters.active.increment();
+                }
+            }
+            default -> {
+                // other changes don't affect the counters
+            }
+        }
+    }
+
+    /**
+     * The statistics response, pre-encoded
+     *
+     * Rebuilt when the counters changed since the last build, or when the
+     * registration windows moved on to a new minute bucket; otherwise the
+     * same instance (and ETag) is returned.
+     *
+     * @return encoded getStats()
+     */
+    public PrecomputedResponse statsResponse() {
+        long currentVersion = version.get();
+        long bucket = System.currentTimeMillis() / BUCKET_MILLIS;
+        CachedStats cached = cachedStats;
+        if (cached == null || cached.version != currentVersion || cached.bucket != bucket) {
+            // Counters read below are at least as new as currentVersion; later changes bump it again
+            cached = new CachedStats(currentVersion, bucket, precomputedResponses.of(getStats()));
+            cachedStats = cached;
+        }
+        return cached.response;
+    }
+
+    /**
+     * Build the statistics response from the in-memory counters
+     *
+     * Keys: totalUsers, activeUsers, one "{role}Count" per role
+     * (adminCount, farmerCount, ...), and per-role registration counts
+     * over the last hour and the last day.
+     *
+     * @return statistics map ready to be serialized
+     */
+    public Map<String, Object> getStats() {
+        long now = System.currentTimeMillis();
+        long totalUsers = 0;
+        long activeUsers = 0;
+        Map<String, Object> stats = new HashMap<>();
+        Map<String, Long> lastHour = new HashMap<>();
+        Map<String, Long> lastDay = new HashMap<>();
+
+        for (Map.Entry<String, RoleCounters> entry : countersByRole.entrySet()) {
+            String roleName = entry.getKey();
+            RoleCounters counters = entry.getValue();
+            long total = counters.total.sum();
+
+            totalUsers += total;
+            activeUsers += counters.active.sum();
+            stats.put(roleName.toLowerCase(Locale.ROOT) + "Count", total);
+            lastHour.put(roleName, counters.registrations.sum(now, LAST_HOUR.toMillis()));
+            lastDay.put(roleName, counters.registrations.sum(now, LAST_DAY.toMillis()));
+        }
+
+        stats.put("totalUsers", totalUsers);
+        stats.put("activeUsers", activeUsers);
+        stats.put("registrationsLastHour", lastHour);
+        stats.put("registrationsLastDay", lastDay);
+        return stats;
+    }
+
+    private RoleCounters countersFor(String roleName) {
+        return countersByRole.computeIfAbsent(roleName, name -> new RoleCounters());
+    }
+
+    /**
+     * Encoded statistics and the counter version and minute bucket they were built for
+     */
+    private record CachedStats(long version, long bucket, PrecomputedResponse response) {
+    }
+
+    /**
+     * Counters kept for one role
+     */
+    private static final class RoleCounters {
+        final LongAdder total = new LongAdder();
+        final LongAdder active = new LongAdder();
+        // One-minute buckets covering the last 24 hours
+        final RollingWindowCounter registrations =
+                new RollingWindowCounter(BUCKET_MILLIS, (int) LAST_DAY.toMinutes());
+    }
+}
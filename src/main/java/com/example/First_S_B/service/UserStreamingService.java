@@ -0,0 +1,96 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.dto.UserSummary;
+import com.example.First_S_B.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service for streaming large user lists as NDJSON (one JSON object per line)
+ *
+ * Users are read from a server-side cursor as UserSummary read models and
+ * written to the response as they arrive. Summaries are not managed
+ * entities, so the persistence context (and the heap) stays flat however
+ * large the table is.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@Service
+public class UserStreamingService {
+
+    /**
+     * Flush the response after this many rows so clients see data steadily
+     */
+    private static final int FLUSH_EVERY_ROWS = Integer.parseInt(UserRepository.STREAM_FETCH_SIZE);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final ObjectWriter userWriter;
+
+    @Autowired
+    public UserStreamingService(ObjectMapper objectMapper) {
+        // Flushing is done in batches below, not after every single row
+        this.userWriter = objectMapper.writerFor(UserSummary.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Write every user as NDJSON
+     *
+     * @param out response stream to write to
+     * @return number of users written
+     * @throws IOException if the client disconnects or writing fails
+     */
+    @Transactional(readOnly = true)
+    public long writeAllUsers(OutputStream out) throws IOException {
+        try (Stream<UserSummary> users = userRepository.streamAll()) {
+            return writeNdjson(users, out);
+        }
+    }
+
+    /**
+     * Write every user with the given role as NDJSON
+     *
+     * @param roleName name of the role (ADMIN, FARMER, DRIVER, MARKET)
+     * @param out response stream to write to
+     * @return number of users written
+     * @throws IOException if the client disconnects or writing fails
+     */
+    @Transactional(readOnly = true)
+    public long writeUsersByRole(String roleName, OutputStream out) throws IOException {
+        try (Stream<UserSummary> users = userRepository.streamByRoleName(roleName)) {
+            return writeNdjson(users, out);
+        }
+    }
+
+    private long writeNdjson(Stream<UserSummary> users, OutputStream out) throws IOException {
+        long written = 0;
+        try (JsonGenerator generator = userWriter.createGenerator(out)) {
+            // NDJSON uses a newline after every record, written explicitly below
+            generator.setRootValueSeparator(null);
+
+            Iterator<UserSummary> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                userWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+
+                if (++written % FLUSH_EVERY_ROWS == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return written;
+    }
+}
@@ -0,0 +1,64 @@
+-- ===============================
+-- Indexes Hibernate can't derive from the entities (PostgreSQL only)
+-- ===============================
+-- Runs on every startup after Hibernate has created/updated the tables
+-- (spring.sql.init.*), so every statement must be idempotent.
+-- Statements are separated by ^^^ so function bodies can contain semicolons.
+
+-- Containment queries on additionalInfo (EQ / CONTAINS conditions of ProfileQuery):
+--   additional_info @> '{"crops":["wheat"]}'
+-- jsonb_path_ops indexes only support @>, but are smaller and faster than the default operator class.
+CREATE INDEX IF NOT EXISTS idx_user_profiles_additional_info
+    ON user_profiles USING GIN (additional_info jsonb_path_ops)
+^^^
+
+-- Range queries on numeric attributes (GT/GTE/LT/LTE conditions). The expression must match
+-- UserProfileRepositoryImpl.numericAttribute exactly, or the planner won't use the index.
+-- Add one index per attribute that is filtered often.
+CREATE INDEX IF NOT EXISTS idx_user_profiles_land_acres
+    ON user_profiles ((CASE WHEN jsonb_typeof(additional_info -> 'landAcres') = 'number'
+                            THEN CAST(additional_info ->> 'landAcres' AS numeric) END))
+^^^
+
+CREATE INDEX IF NOT EXISTS idx_user_profiles_vehicle_capacity_tons
+    ON user_profiles ((CASE WHEN jsonb_typeof(additional_info -> 'vehicleCapacityTons') = 'number'
+                            THEN CAST(additional_info ->> 'vehicleCapacityTons' AS numeric) END))
+^^^
+
+-- Location filters combined with attribute conditions
+CREATE INDEX IF NOT EXISTS idx_user_profiles_state_city
+    ON user_profiles (state, city)
+^^^
+
+-- Delta sync (SyncService): every deleted user or profile leaves a tombstone, so clients
+-- learn about deletes that bypass JPA too. clock_timestamp() is the time of the delete itself
+-- (not of the transaction start); pgjdbc sets the session time zone to the JVM's, so it
+-- compares with the LocalDateTime cursors. Old tombstones are pruned by SyncService.
+CREATE OR REPLACE FUNCTION record_sync_tombstone() RETURNS trigger AS $$
+BEGIN
+    IF TG_TABLE_NAME = 'users' THEN
+        INSERT INTO sync_tombstones (id, user_id, deleted_at)
+        VALUES (nextval('sync_tombstones_seq'), OLD.id, CAST(clock_timestamp() AS timestamp));
+    ELSE
+        INSERT INTO sync_tombstones (id, user_id, deleted_at)
+        VALUES (nextval('sync_tombstones_seq'), OLD.user_id, CAST(clock_timestamp() AS timestamp));
+    END IF;
+    RETURN OLD;
+END
+$$ LANGUAGE plpgsql
+^^^
+
+DROP TRIGGER IF EXISTS trg_users_sync_tombstone ON users
+^^^
+
+CREATE TRIGGER trg_users_sync_tombstone
+    AFTER DELETE ON users
+    FOR EACH ROW EXECUTE FUNCTION record_sync_tombstone()
+^^^
+
+DROP TRIGGER IF EXISTS trg_user_profiles_sync_tombstone ON user_profiles
+^^^
+
+CREATE TRIGGER trg_user_profiles_sync_tombstone
+    AFTER DELETE ON user_profiles
+    FOR EACH ROW EXECUTE FUNCTION record_sync_tombstone()
@@ -0,0 +1,34 @@
+package com.example.First_S_B.config;
+
+import com.example.First_S_B.service.LoadSheddingService.Priority;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the lane and latency sampling rules of the load shedding filter
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class LoadSheddingFilterTest {
+
+    @Test
+    void sortsRequestsIntoLanes() {
+        assertEquals(Priority.CRITICAL, LoadSheddingFilter.classify("GET", "/users/roles").priority());
+        assertEquals(Priority.HEAVY, LoadSheddingFilter.classify("GET", "/users").priority());
+        assertEquals(Priority.HEAVY, LoadSheddingFilter.classify("GET", "/users/role/FARMER").priority());
+        assertEquals(Priority.NORMAL, LoadSheddingFilter.classify("POST", "/users/register").priority());
+        assertEquals(Priority.NORMAL, LoadSheddingFilter.classify("POST", "/users/roles").priority());
+    }
+
+    @Test
+    void doesNotSampleUploads() {
+        assertFalse(LoadSheddingFilter.classify("PUT", "/users/42/profile-image").sampleLatency());
+        assertFalse(LoadSheddingFilter.classify("POST", "/users/import").sampleLatency());
+        assertTrue(LoadSheddingFilter.classify("PUT", "/users/42/profile").sampleLatency());
+        assertTrue(LoadSheddingFilter.classify("POST", "/users/register").sampleLatency());
+    }
+}
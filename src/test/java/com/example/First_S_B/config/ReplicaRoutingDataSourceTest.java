@@ -0,0 +1,223 @@
+package com.example.First_S_B.config;
+
+import com.example.First_S_B.dto.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for read-replica routing, against separate embedded H2 databases
+ *
+ * Each database holds a one-row table naming itself, so a query shows where it ran.
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = database("primary");
+
+    @AfterEach
+    void clearRequest() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void sendsReadOnlyTransactionsToReplicasAndTheRestToPrimary() {
+        Routing routing = new Routing(new ReadReplicas(List.of(database("replica")), null, 0, null), Duration.ofSeconds(10));
+
+        assertEquals("replica", routing.read());
+        assertEquals("primary", routing.write());
+        assertEquals("primary", routing.jdbc.queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    @Test
+    void keepsReadsOfARecentWriterOnPrimary() throws InterruptedException {
+        Routing routing = new Routing(new ReadReplicas(List.of(database("replica")), null, 0, null), Duration.ofMillis(300));
+
+        asUser(1L);
+        routing.write();
+        assertEquals("primary", routing.read());
+
+        asUser(2L);
+        assertEquals("replica", routing.read());
+
+        asUser(1L);
+        Thread.sleep(600);
+        assertEquals("replica", routing.read());
+    }
+
+    @Test
+    void recognisesAnonymousWritersByTheIssuedCookieNotTheAddress() {
+        Routing routing = new Routing(new ReadReplicas(List.of(database("replica")), null, 0, null), Duration.ofSeconds(10));
+
+        MockHttpServletResponse response = asClient("10.0.0.1", null);
+        routing.write();
+        Cookie issued = response.getCookie(ReplicaRoutingDataSource.CLIENT_COOKIE);
+        assertNotNull(issued);
+        assertEquals("primary", routing.read());
+
+        // Same address (e.g. behind a NAT), different client
+        asClient("10.0.0.1", null);
+        assertEquals("replica", routing.read());
+
+        // The writer again, now logged in, from another address
+        asClient("10.0.0.9", issued);
+        asUser(5L);
+        assertEquals("primary", routing.read());
+    }
+
+    @Test
+    void sendsRequiredReadsToPrimaryWithoutCountingThemAsWrites() {
+        Routing routing = new Routing(new ReadReplicas(List.of(database("replica")), null, 0, null), Duration.ofSeconds(10));
+
+        MockHttpServletResponse response = asClient("10.0.0.1", null);
+        assertEquals("primary", ReplicaRoutingDataSource.readFromPrimary(routing::read));
+        // Still on the primary after a nested call returns
+        assertEquals("primary", ReplicaRoutingDataSource.readFromPrimary(() -> {
+            ReplicaRoutingDataSource.readFromPrimary(routing::read);
+            return routing.read();
+        }));
+
+        assertEquals("replica", routing.read());
+        assertNull(response.getCookie(ReplicaRoutingDataSource.CLIENT_COOKIE));
+    }
+
+    @Test
+    void spreadsReadsOverReplicas() {
+        Routing routing = new Routing(new ReadReplicas(List.of(database("replica-a"), database("replica-b")), null, 0, null),
+                Duration.ofSeconds(10));
+
+        String first = routing.read();
+        String second = routing.read();
+        assertTrue(first.startsWith("replica") && second.startsWith("replica"));
+        assertFalse(first.equals(second), "round-robin between equally loaded replicas");
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenReplicasFail() {
+        DataSource broken = new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                throw new SQLException("replica down");
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                throw new SQLException("replica down");
+            }
+        };
+        ReadReplicas replicas = new ReadReplicas(List.of(broken, database("replica")), null, 0, null);
+        Routing routing = new Routing(replicas, Duration.ofSeconds(10));
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals("replica", routing.read());
+        }
+        assertFalse(replicas.replicas().get(0).healthy());
+
+        replicas.checkHealth();
+        assertFalse(replicas.replicas().get(0).healthy());
+        assertTrue(replicas.replicas().get(1).healthy());
+
+        ReadReplicas allDown = new ReadReplicas(List.of(broken), null, 0, null);
+        assertEquals("primary", new Routing(allDown, Duration.ofSeconds(10)).read());
+    }
+
+    @Test
+    void skipsLaggingReplicas() {
+        ReadReplicas lagging = new ReadReplicas(List.of(database("replica")), "SELECT 5000", 2000, null);
+        Routing routing = new Routing(lagging, Duration.ofSeconds(10));
+        assertEquals("replica", routing.read());
+
+        lagging.checkHealth();
+        assertEquals("primary", routing.read());
+
+        ReadReplicas current = new ReadReplicas(List.of(database("replica")), "SELECT 100", 2000, null);
+        current.checkHealth();
+        assertEquals("replica", new Routing(current, Duration.ofSeconds(10)).read());
+    }
+
+    /**
+     * The routing DataSource with a transaction manager, as the application uses it
+     */
+    private final class Routing {
+
+        private final JdbcTemplate jdbc;
+        private final TransactionTemplate readOnly;
+        private final TransactionTemplate readWrite;
+
+        Routing(ReadReplicas replicas, Duration readYourWritesWindow) {
+            ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replicas,
+                    readYourWritesWindow, new SimpleMeterRegistry());
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            this.jdbc = new JdbcTemplate(dataSource);
+            this.readOnly = new TransactionTemplate(transactionManager);
+            this.readOnly.setReadOnly(true);
+            this.readWrite = new TransactionTemplate(transactionManager);
+        }
+
+        String read() {
+            return readOnly.execute(status -> jdbc.queryForObject("SELECT name FROM marker", String.class));
+        }
+
+        String write() {
+            return readWrite.execute(status -> {
+                jdbc.update("UPDATE marker SET name = name");
+                return jdbc.queryForObject("SELECT name FROM marker", String.class);
+            });
+        }
+    }
+
+    private static MockHttpServletResponse asClient(String remoteAddress, Cookie cookie) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddress);
+        if (cookie != null) {
+            request.setCookies(cookie);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+
+    private static void asUser(Long userId) {
+        AuthenticatedUser user = new AuthenticatedUser(userId, "user" + userId + "@example.com", "FARMER", null, 0);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE marker (name VARCHAR(20))");
+        jdbc.update("INSERT INTO marker VALUES (?)", name);
+        return dataSource;
+    }
+}
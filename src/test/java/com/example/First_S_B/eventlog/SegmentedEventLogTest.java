@@ -0,0 +1,193 @@
+package com.example.First_S_B.eventlog;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the segmented event log, in a temporary directory
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class SegmentedEventLogTest {
+
+    private static final int SMALL_SEGMENT = 8192;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackAppendedEvents() throws IOException {
+        try (SegmentedEventLog log = new SegmentedEventLog(directory, SMALL_SEGMENT)) {
+            assertEquals(0, log.append(event(EventRecord.Type.REGISTERED, 7, null)));
+            assertEquals(1, log.append(new EventRecord(0, EventRecord.Type.PROFILE_UPDATED, 1234L, 7,
+                    "DRIVER", "560001", true, true)));
+            assertEquals(2, log.append(event(EventRecord.Type.ROLE_CHANGED, 7, "FARMER")));
+
+            List<EventRecord> events = log.reader(0).poll(10);
+            assertEquals(3, events.size());
+            assertEquals(new EventRecord(1, EventRecord.Type.PROFILE_UPDATED, 1234L, 7, "DRIVER", "560001", true, true),
+                    events.get(1));
+            assertEquals(EventRecord.Type.ROLE_CHANGED, events.get(2).type());
+            assertEquals("FARMER", events.get(2).detail());
+            assertNull(events.get(0).detail());
+        }
+    }
+
+    @Test
+    void rollsSegmentsAndReadsAcrossThem() throws IOException {
+        try (SegmentedEventLog log = new SegmentedEventLog(directory, SMALL_SEGMENT)) {
+            for (int i = 0; i < 500; i++) {
+                log.append(event(EventRecord.Type.REGISTERED, i, null));
+            }
+            assertTrue(log.segmentCount() > 2);
+            assertEquals(500, log.endOffset());
+
+            EventLogReader reader = log.reader(0);
+            long expected = 0;
+            List<EventRecord> batch;
+            while (!(batch = reader.poll(64)).isEmpty()) {
+                for (EventRecord event : batch) {
+                    assertEquals(expected, event.offset());
+                    assertEquals(expected, event.userId());
+                    expected++;
+                }
+            }
+            assertEquals(500, expected);
+
+            EventRecord middle = log.reader(321).poll(1).get(0);
+            assertEquals(321, middle.offset());
+            assertEquals(321, middle.userId());
+        }
+    }
+
+    @Test
+    void seeksThroughTheSparseIndexBeforeAndAfterReopening() throws IOException {
+        int segmentBytes = 16 * SegmentedEventLog.INDEX_INTERVAL_BYTES;
+        try (SegmentedEventLog log = new SegmentedEventLog(directory, segmentBytes)) {
+            for (int i = 0; i < 6000; i++) {
+                log.append(event(EventRecord.Type.REGISTERED, i, null));
+            }
+            assertTrue(log.segmentCount() > 2);
+            assertTrue(log.segmentFor(0).indexEntries() > 10);
+            assertSeeksEverywhere(log, 6000);
+        }
+
+        // Sealed segments are indexed on first seek, the newest one by recovery
+        try (SegmentedEventLog log = new SegmentedEventLog(directory, segmentBytes)) {
+            assertTrue(log.segmentFor(5999).indexEntries() > 0);
+            assertEquals(0, log.segmentFor(0).indexEntries());
+            assertSeeksEverywhere(log, 6000);
+            assertTrue(log.segmentFor(0).indexEntries() > 10);
+        }
+    }
+
+    @Test
+    void tailingReaderSeesLaterAppends() throws IOException {
+        try (SegmentedEventLog log = new SegmentedEventLog(directory, SMALL_SEGMENT)) {
+            EventLogReader reader = log.reader(0);
+            assertTrue(reader.poll(10).isEmpty());
+
+            for (int i = 0; i < 300; i++) {
+                log.append(event(EventRecord.Type.REGISTERED, i, null));
+                List<EventRecord> events = reader.poll(10);
+                assertEquals(1, events.size());
+                assertEquals(i, events.get(0).offset());
+            }
+            assertEquals(300, reader.position());
+        }
+    }
+
+    @Test
+    void reopensAfterTornWrite() throws IOException {
+        try (SegmentedEventLog log = new SegmentedEventLog(directory, SMALL_SEGMENT)) {
+            for (int i = 0; i < 200; i++) {
+                log.append(event(EventRecord.Type.REGISTERED, i, null));
+            }
+        }
+
+        // Corrupt the body of the last record, as a crash in the middle of a write would
+        Path newest;
+        try (Stream<Path> files = Files.list(directory)) {
+            newest = files.sorted().reduce((first, second) -> second).orElseThrow();
+        }
+        long lastOffset;
+        try (SegmentedEventLog log = new SegmentedEventLog(directory, SMALL_SEGMENT)) {
+            lastOffset = log.endOffset() - 1;
+        }
+        int position = 0;
+        try (FileChannel channel = FileChannel.open(newest, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer length = ByteBuffer.allocate(4);
+            long baseOffset = Long.parseLong(newest.getFileName().toString().substring(0, 20));
+            for (long offset = baseOffset; offset < lastOffset; offset++) {
+                channel.read(length.clear(), position);
+                position += EventRecord.HEADER_BYTES + length.flip().getInt();
+            }
+            channel.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF}), position + EventRecord.HEADER_BYTES + 2);
+        }
+
+        try (SegmentedEventLog log = new SegmentedEventLog(directory, SMALL_SEGMENT)) {
+            assertEquals(lastOffset, log.endOffset());
+            assertEquals(lastOffset, log.append(event(EventRecord.Type.DEACTIVATED, 999, null)));
+
+            List<EventRecord> tail = log.reader(lastOffset - 1).poll(10);
+            assertEquals(2, tail.size());
+            assertEquals(lastOffset - 1, tail.get(0).userId());
+            assertEquals(999, tail.get(1).userId());
+            assertEquals(200, log.reader(0).poll(1000).size());
+        }
+    }
+
+    @Test
+    void deletesOldSegmentsButKeepsTheActiveOne() throws IOException {
+        try (SegmentedEventLog log = new SegmentedEventLog(directory, SMALL_SEGMENT)) {
+            for (int i = 0; i < 500; i++) {
+                log.append(event(EventRecord.Type.REGISTERED, i, null));
+            }
+            int segments = log.segmentCount();
+            EventLogReader oldReader = log.reader(0);
+
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    Files.setLastModifiedTime(file, FileTime.from(Instant.now().minusSeconds(3600)));
+                }
+            }
+            assertEquals(segments - 1, log.deleteSegmentsOlderThan(Instant.now().minusSeconds(60)));
+            assertEquals(1, log.segmentCount());
+
+            long start = log.startOffset();
+            assertTrue(start > 0);
+            assertEquals(start, log.reader(0).poll(1).get(0).offset());
+            // A reader inside a deleted segment still gets to the remaining records
+            List<EventRecord> remaining = oldReader.poll(1000);
+            assertEquals(499, remaining.get(remaining.size() - 1).offset());
+        }
+    }
+
+    private static void assertSeeksEverywhere(SegmentedEventLog log, int count) {
+        for (int offset = 0; offset < count; offset++) {
+            EventRecord event = log.reader(offset).poll(1).get(0);
+            assertEquals(offset, event.offset());
+            assertEquals(offset, event.userId());
+        }
+    }
+
+    private static EventRecord event(EventRecord.Type type, long userId, String detail) {
+        return new EventRecord(0, type, System.currentTimeMillis(), userId, "FARMER", detail, true, false);
+    }
+}
@@ -0,0 +1,380 @@
+package com.example.First_S_B.loadtest;
+
+import com.example.First_S_B.service.UserImportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test of the user API against an embedded database
+ *
+ * Boots the whole application on a random port with H2 in PostgreSQL mode
+ * (application-loadtest.properties), seeds users across the four roles
+ * through the bulk import, then runs a mixed workload from concurrent
+ * clients over real HTTP: register, list by role, stats and roles.
+ *
+ * Latencies are recorded in HdrHistograms per workload. Results are
+ * written to target/loadtest/ as JSON (summary, comparable between
+ * commits) and .hgrm files (full percentile distribution).
+ * Clients run a closed loop, so latencies are measured per request and
+ * not corrected for coordinated omission.
+ *
+ * Load shedding is off in the loadtest profile. When it is switched on,
+ * requests refused with 503 are counted as "shed", apart from errors and
+ * outside the latency histograms.
+ *
+ * Skipped by default; run with:
+ *   mvn test -Dtest=UserApiLoadTest -Dloadtest=true
+ *
+ * Settings (system properties): loadtest.users, loadtest.concurrency,
+ * loadtest.durationSeconds, loadtest.warmupSeconds, loadtest.maxErrorRate,
+ * loadtest.label (stored in the results, e.g. a commit id)
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class UserApiLoadTest {
+
+    private static final String[] ROLES = {"FARMER", "DRIVER", "MARKET", "ADMIN"};
+    private static final String ADMIN_EMAIL = "loadtest-admin@example.com";
+    private static final String PASSWORD = "loadtest-password";
+
+    /**
+     * Highest latency the histograms track (one minute), with 3 significant digits
+     */
+    private static final long MAX_TRACKED_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    private final int users = Integer.getInteger("loadtest.users", 10_000);
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+    private final long durationSeconds = Integer.getInteger("loadtest.durationSeconds", 30);
+    private final long warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 5);
+    private final double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.maxErrorRate", "0.01"));
+
+    private final AtomicLong registrationCounter = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private HttpClient client;
+    private String token;
+
+    /**
+     * One kind of request in the mix
+     */
+    private enum Workload {
+        REGISTER(10),
+        LIST_BY_ROLE(40),
+        STATS(25),
+        ROLES(25);
+
+        final int weight;
+
+        Workload(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Measurements of one workload, shared by all client threads
+     */
+    private static final class WorkloadResult {
+
+        final Recorder recorder = new Recorder(MAX_TRACKED_NANOS, 3);
+        final LongAdder errors = new LongAdder();
+        final LongAdder shed = new LongAdder();
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        Histogram histogram;
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        long seedStart = System.nanoTime();
+        Map<String, Object> seedReport = seed();
+        long seedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart);
+        assertEquals(users, ((Number) seedReport.get("imported")).intValue(), "seeded users: " + seedReport);
+
+        token = login();
+
+        Map<Workload, WorkloadResult> results = new LinkedHashMap<>();
+        for (Workload workload : Workload.values()) {
+            results.put(workload, new WorkloadResult());
+        }
+
+        // Warm-up: same mix, results discarded
+        runClients(TimeUnit.SECONDS.toNanos(warmupSeconds), results);
+        results.values().forEach(result -> {
+            result.recorder.reset();
+            result.errors.reset();
+            result.shed.reset();
+            result.statuses.clear();
+        });
+
+        long measuredNanos = runClients(TimeUnit.SECONDS.toNanos(durationSeconds), results);
+        results.values().forEach(result -> result.histogram = result.recorder.getIntervalHistogram());
+
+        Map<String, Object> summary = writeResults(results, measuredNanos, seedMillis);
+
+        long total = 0;
+        long errors = 0;
+        for (WorkloadResult result : results.values()) {
+            total += result.histogram.getTotalCount();
+            errors += result.errors.sum();
+        }
+        assertTrue(total > 0, "no requests completed");
+        assertTrue((double) errors / total <= maxErrorRate, "error rate above " + maxErrorRate + ": " + summary);
+    }
+
+    /**
+     * Bulk-import the seed users (plus one known ADMIN) through the import service
+     */
+    private Map<String, Object> seed() throws IOException {
+        StringBuilder ndjson = new StringBuilder();
+        ndjson.append(MAPPER.writer().without(SerializationFeature.INDENT_OUTPUT).writeValueAsString(Map.of(
+                "email", ADMIN_EMAIL, "password", PASSWORD, "firstName", "Admin", "role", "ADMIN")));
+        ndjson.append('\n');
+        for (int i = 1; i < users; i++) {
+            ndjson.append("{\"email\":\"seed").append(i).append("@example.com\",")
+                    .append("\"password\":\"").append(PASSWORD).append("\",")
+                    .append("\"firstName\":\"Seed\",\"lastName\":\"User").append(i).append("\",")
+                    .append("\"phoneNumber\":\"9").append(String.format("%09d", i)).append("\",")
+                    .append("\"role\":\"").append(ROLES[i % ROLES.length]).append("\"}\n");
+        }
+        return userImportService.importNdjson(
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private String login() throws Exception {
+        String body = MAPPER.writeValueAsString(Map.of("email", ADMIN_EMAIL, "password", PASSWORD));
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), "login failed: " + response.body());
+        JsonNode json = MAPPER.readTree(response.body());
+        return json.get("token").asText();
+    }
+
+    /**
+     * Run the mix from all client threads for the given time
+     *
+     * @return elapsed time in nanoseconds
+     */
+    private long runClients(long durationNanos, Map<Workload, WorkloadResult> results) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        long end = start + durationNanos;
+        try {
+            List<Future<?>> clients = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                clients.add(pool.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        Workload workload = pick();
+                        execute(workload, results.get(workload));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : clients) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private Workload pick() {
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        for (Workload workload : Workload.values()) {
+            roll -= workload.weight;
+            if (roll < 0) {
+                return workload;
+            }
+        }
+        return Workload.ROLES;
+    }
+
+    private void execute(Workload workload, WorkloadResult result) {
+        HttpRequest request = request(workload);
+        long startNanos = System.nanoTime();
+        int status;
+        try {
+            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            status = -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        result.statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        if (status == 503) {
+            // Refused up front by load shedding, took no real work
+            result.shed.increment();
+            return;
+        }
+        result.recorder.recordValue(Math.min(System.nanoTime() - startNanos, MAX_TRACKED_NANOS));
+        if (status != 200) {
+            result.errors.increment();
+        }
+    }
+
+    private HttpRequest request(Workload workload) {
+        return switch (workload) {
+            case REGISTER -> HttpRequest.newBuilder(uri("/users/register"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"load-" + runId + "-"
+                            + registrationCounter.incrementAndGet() + "@example.com\",\"password\":\""
+                            + PASSWORD + "\",\"firstName\":\"Load\",\"role\":\""
+                            + ROLES[ThreadLocalRandom.current().nextInt(3)] + "\"}"))
+                    .build();
+            case LIST_BY_ROLE -> HttpRequest.newBuilder(uri("/users/role/"
+                            + ROLES[ThreadLocalRandom.current().nextInt(ROLES.length)] + "?size=50"))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+            case STATS -> HttpRequest.newBuilder(uri("/users/stats"))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+            case ROLES -> HttpRequest.newBuilder(uri("/users/roles")).GET().build();
+        };
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + "/api/v1" + path);
+    }
+
+    /**
+     * Write the JSON summary and one .hgrm percentile distribution per workload
+     */
+    private Map<String, Object> writeResults(Map<Workload, WorkloadResult> results,
+                                             long measuredNanos, long seedMillis) throws IOException {
+        double seconds = measuredNanos / 1e9;
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("label", System.getProperty("loadtest.label", ""));
+        summary.put("timestamp", Instant.now().toString());
+        summary.put("javaVersion", System.getProperty("java.version"));
+        summary.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("users", users);
+        config.put("concurrency", concurrency);
+        config.put("durationSeconds", durationSeconds);
+        config.put("warmupSeconds", warmupSeconds);
+        config.put("seedMillis", seedMillis);
+        summary.put("config", config);
+
+        Path dir = Path.of("target", "loadtest");
+        Files.createDirectories(dir);
+
+        long totalCount = 0;
+        long totalErrors = 0;
+        long totalShed = 0;
+        Map<String, Object> workloads = new LinkedHashMap<>();
+        for (Map.Entry<Workload, WorkloadResult> entry : results.entrySet()) {
+            Histogram histogram = entry.getValue().histogram;
+            long count = histogram.getTotalCount();
+            long errors = entry.getValue().errors.sum();
+            long shed = entry.getValue().shed.sum();
+            totalCount += count;
+            totalErrors += errors;
+            totalShed += shed;
+
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", count);
+            stats.put("errors", errors);
+            stats.put("errorRate", count == 0 ? 0.0 : (double) errors / count);
+            stats.put("shed", shed);
+            stats.put("throughputPerSecond", count / seconds);
+            stats.put("meanMillis", histogram.getMean() / 1e6);
+            stats.put("p50Millis", percentileMillis(histogram, 50));
+            stats.put("p95Millis", percentileMillis(histogram, 95));
+            stats.put("p99Millis", percentileMillis(histogram, 99));
+            stats.put("p999Millis", percentileMillis(histogram, 99.9));
+            stats.put("maxMillis", histogram.getMaxValue() / 1e6);
+            Map<String, Long> statuses = new TreeMap<>();
+            entry.getValue().statuses.forEach((status, adder) -> statuses.put(String.valueOf(status), adder.sum()));
+            stats.put("statusCounts", statuses);
+            workloads.put(entry.getKey().name(), stats);
+
+            ByteArrayOutputStream hgrm = new ByteArrayOutputStream();
+            try (PrintStream out = new PrintStream(hgrm, true, StandardCharsets.UTF_8)) {
+                histogram.outputPercentileDistribution(out, 1e6);
+            }
+            Files.write(dir.resolve(entry.getKey().name().toLowerCase() + ".hgrm"), hgrm.toByteArray());
+        }
+
+        Map<String, Object> overall = new LinkedHashMap<>();
+        overall.put("requests", totalCount);
+        overall.put("errors", totalErrors);
+        overall.put("errorRate", totalCount == 0 ? 0.0 : (double) totalErrors / totalCount);
+        overall.put("shed", totalShed);
+        overall.put("throughputPerSecond", totalCount / seconds);
+        summary.put("overall", overall);
+        summary.put("workloads", workloads);
+
+        byte[] json = MAPPER.writeValueAsBytes(summary);
+        Files.write(dir.resolve("results-" + runId + ".json"), json);
+        Files.write(dir.resolve("results-latest.json"), json);
+        System.out.println(new String(json, StandardCharsets.UTF_8));
+        return summary;
+    }
+
+    private static double percentileMillis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1e6;
+    }
+}
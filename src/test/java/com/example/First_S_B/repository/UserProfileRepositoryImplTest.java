@@ -0,0 +1,53 @@
+package com.example.First_S_B.repository;
+
+import com.example.First_S_B.dto.ProfileQuery;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for the JSONB predicates behind GET /users/profiles
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class UserProfileRepositoryImplTest {
+
+    private final UserProfileRepositoryImpl repository = new UserProfileRepositoryImpl(null, new ObjectMapper());
+
+    @Test
+    void rendersContainmentAndNumericPredicates() {
+        ProfileQuery query = new ProfileQuery()
+                .role("farmer")
+                .state("Maharashtra")
+                .where("crops:contains:wheat")
+                .where("organic:eq:true")
+                .where("landAcres:gt:5");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+
+        String sql = repository.where(query, params);
+
+        assertEquals(" AND r.role_name = :roleName"
+                + " AND p.state = :state"
+                + " AND p.additional_info @> CAST(:c0 AS jsonb)"
+                + " AND p.additional_info @> CAST(:c1 AS jsonb)"
+                + " AND (CASE WHEN jsonb_typeof(p.additional_info -> 'landAcres') = 'number'"
+                + " THEN CAST(p.additional_info ->> 'landAcres' AS numeric) END) > :c2", sql);
+        assertEquals("FARMER", params.getValue("roleName"));
+        assertEquals("{\"crops\":[\"wheat\"]}", params.getValue("c0"));
+        assertEquals("{\"organic\":true}", params.getValue("c1"));
+        assertEquals(new BigDecimal("5"), params.getValue("c2"));
+    }
+
+    @Test
+    void rejectsUnsafeAttributeNamesAndBadOperators() {
+        assertThrows(IllegalArgumentException.class, () -> new ProfileQuery().where("x') OR true --:eq:1"));
+        assertThrows(IllegalArgumentException.class, () -> new ProfileQuery().where("landAcres:between:5"));
+        assertThrows(IllegalArgumentException.class, () -> new ProfileQuery().where("landAcres:gt:many"));
+    }
+}
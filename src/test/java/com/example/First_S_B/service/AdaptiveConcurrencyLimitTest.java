@@ -0,0 +1,113 @@
+package com.example.First_S_B.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the latency-driven concurrency limit behind load shedding
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long MS = 1_000_000;
+    private static final long WINDOW = 100 * MS;
+
+    @Test
+    void lanesWithSmallerShareAreRefusedFirst() {
+        AdaptiveConcurrencyLimit limit = newLimit(10, 0.2);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limit.tryAcquire(0.5));
+        }
+        assertFalse(limit.tryAcquire(0.5));
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limit.tryAcquire(0.9));
+        }
+        assertFalse(limit.tryAcquire(0.9));
+        assertTrue(limit.tryAcquire(1.0));
+        assertFalse(limit.tryAcquire(1.0));
+
+        limit.release();
+        assertEquals(9, limit.getInflight());
+        assertTrue(limit.tryAcquire(1.0));
+    }
+
+    @Test
+    void growsWhileLatencyStaysFlatUnderFullLoad() {
+        AdaptiveConcurrencyLimit limit = newLimit(10, 1.0);
+        long now = 0;
+        for (int window = 0; window < 10; window++) {
+            now = runWindow(limit, now, 20 * MS, false);
+        }
+        assertTrue(limit.getLimit() > 20, "limit " + limit.getLimit());
+        assertTrue(limit.getLimit() <= 100);
+    }
+
+    @Test
+    void shrinksWhenLatencyRisesAndBacksOffOnErrors() {
+        AdaptiveConcurrencyLimit limit = newLimit(40, 1.0);
+        long now = runWindow(limit, 0, 20 * MS, false);
+        int settled = limit.getLimit();
+
+        now = runWindow(limit, now, 200 * MS, false);
+        int afterSlowWindow = limit.getLimit();
+        assertTrue(afterSlowWindow < settled, settled + " -> " + afterSlowWindow);
+        // Gradient is bounded: one window at most halves the limit
+        assertTrue(afterSlowWindow >= settled / 2);
+
+        runWindow(limit, now, 20 * MS, true);
+        assertEquals((int) (afterSlowWindow * 0.9), limit.getLimit(), 1);
+    }
+
+    @Test
+    void ignoresWindowsThatDidNotUseTheLimit() {
+        AdaptiveConcurrencyLimit limit = newLimit(40, 1.0);
+        long now = 0;
+        for (int window = 0; window < 5; window++) {
+            // One request at a time: nothing is learned about the limit
+            for (int i = 0; i < 10; i++) {
+                assertTrue(limit.tryAcquire(1.0));
+                now += WINDOW / 5;
+                limit.release(20 * MS, false, now);
+            }
+        }
+        assertEquals(40, limit.getLimit());
+    }
+
+    @Test
+    void staysWithinBounds() {
+        AdaptiveConcurrencyLimit limit = newLimit(10, 1.0);
+        long now = 0;
+        for (int window = 0; window < 50; window++) {
+            now = runWindow(limit, now, 20 * MS, true);
+        }
+        assertEquals(5, limit.getLimit());
+        for (int window = 0; window < 500; window++) {
+            now = runWindow(limit, now, 20 * MS, false);
+        }
+        assertEquals(100, limit.getLimit());
+    }
+
+    private static AdaptiveConcurrencyLimit newLimit(int initialLimit, double smoothing) {
+        return new AdaptiveConcurrencyLimit(initialLimit, 5, 100, 1.5, smoothing, 0.9, WINDOW, 5);
+    }
+
+    /**
+     * Fill every slot, then complete the requests with the given latency, spread over one window
+     */
+    private static long runWindow(AdaptiveConcurrencyLimit limit, long startNanos, long rttNanos, boolean failed) {
+        int admitted = 0;
+        while (limit.tryAcquire(1.0)) {
+            admitted++;
+        }
+        for (int i = 0; i < admitted; i++) {
+            limit.release(rttNanos, failed, startNanos + i * WINDOW / (admitted - 1));
+        }
+        return startNanos + WINDOW + 1;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.First_S_B.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for the streaming CSV reader behind POST /users/import
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class CsvRowReaderTest {
+
+    @Test
+    void readsQuotedFieldsWithSeparatorsQuotesAndLineBreaks() throws IOException {
+        CsvRowReader reader = new CsvRowReader(new StringReader(
+                "email,address\r\n" +
+                "a@example.com,\"Plot 4, \"\"Green\"\" Lane\"\r\n" +
+                "b@example.com,\"Line 1\nLine 2\"\n" +
+                "c@example.com,\n"));
+
+        assertEquals(List.of("email", "address"), reader.readRow());
+        assertEquals(List.of("a@example.com", "Plot 4, \"Green\" Lane"), reader.readRow());
+        assertEquals(List.of("b@example.com", "Line 1\nLine 2"), reader.readRow());
+        assertEquals(List.of("c@example.com", ""), reader.readRow());
+        assertNull(reader.readRow());
+    }
+
+    @Test
+    void handlesALastLineWithoutLineBreakAndBareCarriageReturns() throws IOException {
+        CsvRowReader reader = new CsvRowReader(new StringReader("a,b\rc,d"));
+
+        assertEquals(List.of("a", "b"), reader.readRow());
+        assertEquals(List.of("c", "d"), reader.readRow());
+        assertNull(reader.readRow());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.event.UserLifecycleEvent;
+import com.example.First_S_B.model.Role;
+import com.example.First_S_B.model.User;
+import com.example.First_S_B.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the user details cache behind login and token checks
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class CustomUserDetailsServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final CustomUserDetailsService service =
+            new CustomUserDetailsService(userRepository, new SimpleMeterRegistry(), 1000, 300, 30);
+
+    @Test
+    void cachesUnknownUsers() {
+        when(userRepository.findByIdAndIsActive(7L, true)).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserById(7L));
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserById(7L));
+
+        verify(userRepository, times(1)).findByIdAndIsActive(7L, true);
+    }
+
+    @Test
+    void registrationEvictsACachedMiss() {
+        User user = user(8L, "new@example.com", true);
+        when(userRepository.findByEmailAndIsActive("new@example.com", true))
+                .thenReturn(Optional.empty(), Optional.of(user));
+
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("new@example.com"));
+        service.onUserLifecycle(new UserLifecycleEvent(UserLifecycleEvent.Type.REGISTERED, user));
+
+        assertEquals("new@example.com", service.loadUserByUsername("new@example.com").getUsername());
+    }
+
+    @Test
+    void evictionDuringALoadIsNotOverwrittenByTheStaleResult() throws Exception {
+        User active = user(9L, "farmer@example.com", true);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findByIdAndIsActive(9L, true)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(active);
+        }).thenReturn(Optional.empty());
+
+        // A token check reads the account just before it is deactivated
+        CompletableFuture<Boolean> staleLoad = CompletableFuture.supplyAsync(() -> service.loadUserById(9L).isEnabled());
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> eviction = CompletableFuture.runAsync(() -> service.onUserLifecycle(
+                new UserLifecycleEvent(UserLifecycleEvent.Type.DEACTIVATED, user(9L, "farmer@example.com", false))));
+        release.countDown();
+
+        assertTrue(staleLoad.get(5, TimeUnit.SECONDS));
+        eviction.get(5, TimeUnit.SECONDS);
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserById(9L));
+    }
+
+    private static User user(Long id, String email, boolean active) {
+        Role role = new Role();
+        role.setRoleName("FARMER");
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        user.setPassword("hash");
+        user.setRole(role);
+        user.setIsActive(active);
+        return user;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.First_S_B.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the grid index behind GET /users/nearby
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class GeoGridIndexTest {
+
+    private static final double PUNE_LAT = 18.5204;
+    private static final double PUNE_LON = 73.8567;
+
+    private GeoGridIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GeoGridIndex(0.05);
+        index.put(1, 18.5286, 73.8742);   // Pune GPO, ~2 km
+        index.put(2, 18.7000, 73.8500);   // ~20 km north
+        index.put(3, 17.6805, 74.0183);   // Satara, ~95 km
+        index.put(4, 19.0760, 72.8777);   // Mumbai, ~120 km
+    }
+
+    @Test
+    void returnsNearestFirstWithinRadius() {
+        List<GeoGridIndex.Neighbour> nearest = index.nearest(PUNE_LAT, PUNE_LON, 100, 10);
+        assertEquals(List.of(1L, 2L, 3L), nearest.stream().map(GeoGridIndex.Neighbour::userId).toList());
+        assertTrue(nearest.get(0).distanceKm() < 3);
+    }
+
+    @Test
+    void limitsToKNearest() {
+        List<GeoGridIndex.Neighbour> nearest = index.nearest(PUNE_LAT, PUNE_LON, 200, 2);
+        assertEquals(List.of(1L, 2L), nearest.stream().map(GeoGridIndex.Neighbour::userId).toList());
+    }
+
+    @Test
+    void movesAndRemovesUsers() {
+        index.put(4, 18.5210, 73.8570);
+        assertEquals(4L, index.nearest(PUNE_LAT, PUNE_LON, 10, 1).get(0).userId());
+
+        index.remove(4);
+        index.remove(1);
+        assertEquals(2L, index.nearest(PUNE_LAT, PUNE_LON, 50, 1).get(0).userId());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void distanceMatchesKnownCities() {
+        double puneToMumbai = GeoGridIndex.distanceKm(PUNE_LAT, PUNE_LON, 19.0760, 72.8777);
+        assertTrue(puneToMumbai > 115 && puneToMumbai < 125, "Pune to Mumbai is about 120 km, got " + puneToMumbai);
+    }
+}
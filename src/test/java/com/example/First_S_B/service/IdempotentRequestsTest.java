@@ -0,0 +1,191 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.exception.IdempotencyKeyReusedException;
+import com.example.First_S_B.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for Idempotency-Key handling of POST /users/register
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class IdempotentRequestsTest {
+
+    private static final Map<String, String> REQUEST = Map.of("email", "a@krishi.com", "password", "secret");
+
+    private final IdempotentRequests requests = new IdempotentRequests(new SimpleMeterRegistry(), 1000, 3600, 5000, 2);
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @Test
+    void replaysCompletedResponseWithoutRunningAgain() {
+        ResponseEntity<Map<String, Object>> first = requests.execute("register", "k1", REQUEST, this::created);
+        ResponseEntity<Map<String, Object>> retry = requests.execute("register", "k1", REQUEST, this::created);
+
+        assertEquals(1, runs.get());
+        assertNull(first.getHeaders().getFirst(IdempotentRequests.REPLAYED_HEADER));
+        assertEquals("true", retry.getHeaders().getFirst(IdempotentRequests.REPLAYED_HEADER));
+        assertEquals(first.getStatusCode(), retry.getStatusCode());
+        assertSame(first.getBody(), retry.getBody());
+
+        // Keys are scoped per operation and per key
+        requests.execute("register", "k2", REQUEST, this::created);
+        requests.execute("other", "k1", REQUEST, this::created);
+        assertEquals(3, runs.get());
+    }
+
+    @Test
+    void coalescesConcurrentDuplicatesOntoOneRun() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            Future<ResponseEntity<Map<String, Object>>> leader = pool.submit(() ->
+                    requests.execute("register", "k", REQUEST, () -> {
+                        started.countDown();
+                        await(release);
+                        return created();
+                    }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            List<Future<ResponseEntity<Map<String, Object>>>> retries = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                retries.add(pool.submit(() -> requests.execute("register", "k", REQUEST, this::created)));
+            }
+            Thread.sleep(50);
+            release.countDown();
+
+            Object body = leader.get(5, TimeUnit.SECONDS).getBody();
+            for (Future<ResponseEntity<Map<String, Object>>> retry : retries) {
+                ResponseEntity<Map<String, Object>> response = retry.get(5, TimeUnit.SECONDS);
+                assertSame(body, response.getBody());
+                assertEquals("true", response.getHeaders().getFirst(IdempotentRequests.REPLAYED_HEADER));
+            }
+            assertEquals(1, runs.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void neverEvictsARequestThatIsStillRunning() throws Exception {
+        IdempotentRequests small = new IdempotentRequests(new SimpleMeterRegistry(), 2, 3600, 5000, 2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<ResponseEntity<Map<String, Object>>> leader = pool.submit(() ->
+                    small.execute("register", "running", REQUEST, () -> {
+                        started.countDown();
+                        await(release);
+                        return created();
+                    }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            for (int i = 0; i < 50; i++) {
+                small.execute("register", "done-" + i, REQUEST, this::created);
+            }
+            // Only completed keys count towards the limit
+            assertEquals(3, small.size());
+
+            Future<ResponseEntity<Map<String, Object>>> retry = pool.submit(() ->
+                    small.execute("register", "running", REQUEST, this::created));
+            Thread.sleep(50);
+            release.countDown();
+
+            ResponseEntity<Map<String, Object>> replayed = retry.get(5, TimeUnit.SECONDS);
+            assertSame(leader.get(5, TimeUnit.SECONDS).getBody(), replayed.getBody());
+            assertEquals("true", replayed.getHeaders().getFirst(IdempotentRequests.REPLAYED_HEADER));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectsKeyReusedWithDifferentBody() {
+        requests.execute("register", "k", REQUEST, this::created);
+        Map<String, String> other = Map.of("email", "b@krishi.com", "password", "secret");
+
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> requests.execute("register", "k", other, this::created));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void forgetsFailuresSoRetriesRunAgain() {
+        assertThrows(ServiceOverloadedException.class, () -> requests.execute("register", "k", REQUEST, () -> {
+            runs.incrementAndGet();
+            throw new ServiceOverloadedException("busy", 2);
+        }));
+        ResponseEntity<Map<String, Object>> failed = requests.execute("register", "k", REQUEST,
+                () -> {
+                    runs.incrementAndGet();
+                    return ResponseEntity.internalServerError().body(Map.of("success", false));
+                });
+        ResponseEntity<Map<String, Object>> retried = requests.execute("register", "k", REQUEST, this::created);
+
+        assertEquals(500, failed.getStatusCode().value());
+        assertEquals(200, retried.getStatusCode().value());
+        assertNull(retried.getHeaders().getFirst(IdempotentRequests.REPLAYED_HEADER));
+        assertEquals(3, runs.get());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void keepsClientErrorsForReplay() {
+        requests.execute("register", "k", REQUEST,
+                () -> {
+                    runs.incrementAndGet();
+                    return ResponseEntity.badRequest().body(Map.of("success", false));
+                });
+        assertEquals(400, requests.execute("register", "k", REQUEST, this::created).getStatusCode().value());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void fingerprintIgnoresOrderButNotBoundaries() {
+        assertEquals(requests.fingerprint(Map.of("a", "1", "b", "2")),
+                requests.fingerprint(Map.of("b", "2", "a", "1")));
+        assertNotEquals(requests.fingerprint(Map.of("a", "1b", "c", "")),
+                requests.fingerprint(Map.of("a", "1", "bc", "")));
+    }
+
+    @Test
+    void fingerprintIsKeyedPerInstance() {
+        IdempotentRequests other = new IdempotentRequests(new SimpleMeterRegistry(), 1000, 3600, 5000, 2);
+
+        // Without the process's key a stored fingerprint can't be recomputed from guessed bodies
+        assertNotEquals(requests.fingerprint(REQUEST), other.fingerprint(REQUEST));
+    }
+
+    private ResponseEntity<Map<String, Object>> created() {
+        return ResponseEntity.ok(Map.of("success", true, "userId", runs.incrementAndGet()));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.dto.AuthenticatedUser;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for issuing and verifying access tokens
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-that-is-long-enough-for-hmac-sha256";
+
+    private final JwtService jwtService = new JwtService(SECRET, 60_000, 100, 600);
+
+    @Test
+    void verifiesTheTokensItIssued() {
+        long before = System.currentTimeMillis();
+        String token = jwtService.generateToken(42L, "asha@example.com", "FARMER");
+
+        AuthenticatedUser user = jwtService.verify(token);
+        assertNotNull(user);
+        assertEquals(42L, user.getUserId());
+        assertEquals("asha@example.com", user.getEmail());
+        assertEquals("FARMER", user.getRole());
+        assertNotNull(user.getTokenId());
+        assertTrue(user.getExpiresAtMillis() >= before + 60_000 - 1000);
+        // Served from the verified-token cache the second time
+        assertSame(user, jwtService.verify(token));
+
+        String other = jwtService.generateToken(42L, "asha@example.com", "FARMER");
+        assertNotEquals(user.getTokenId(), jwtService.verify(other).getTokenId());
+    }
+
+    @Test
+    void rejectsTamperedForeignExpiredAndMalformedTokens() {
+        String token = jwtService.generateToken(42L, "asha@example.com", "FARMER");
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + parts[1] + "." + flipFirstChar(parts[2]);
+        assertNull(jwtService.verify(tampered));
+
+        JwtService otherKey = new JwtService(SECRET.replace('t', 'x'), 60_000, 100, 600);
+        assertNull(jwtService.verify(otherKey.generateToken(42L, "asha@example.com", "ADMIN")));
+
+        JwtService expired = new JwtService(SECRET, -1000, 100, 600);
+        assertNull(jwtService.verify(expired.generateToken(42L, "asha@example.com", "FARMER")));
+
+        assertNull(jwtService.verify("not-a-token"));
+    }
+
+    private static String flipFirstChar(String value) {
+        return (value.charAt(0) == 'A' ? 'B' : 'A') + value.substring(1);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.service.LoadSheddingService.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for how request outcomes feed the load shedding limit
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class LoadSheddingServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Zero-length windows of one sample: every release closes a window
+    private final LoadSheddingService service = new LoadSheddingService(meterRegistry, true,
+            20, 4, 200, 1.5, 1.0, 0.5, 0, 1, 0.9, 0.5, 1);
+
+    @Test
+    void refusalsByOtherAdmissionControlsDoNotShrinkTheLimit() {
+        for (int i = 0; i < 10; i++) {
+            fillAndRelease(503);
+        }
+        assertEquals(20, limit());
+        assertEquals(0, meterRegistry.get("concurrency.inflight").gauge().value());
+    }
+
+    @Test
+    void serverErrorsShrinkTheLimit() {
+        fillAndRelease(500);
+        assertTrue(limit() < 20, "limit " + limit());
+        assertTrue(meterRegistry.get("concurrency.limit.changes").tag("direction", "down").counter().count() > 0);
+    }
+
+    private void fillAndRelease(int status) {
+        int admitted = 0;
+        while (service.tryAcquire(Priority.NORMAL)) {
+            admitted++;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < admitted; i++) {
+            service.release(Priority.NORMAL, start, status);
+        }
+    }
+
+    private double limit() {
+        return meterRegistry.get("concurrency.limit").gauge().value();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.model.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the account rules shared by registration and bulk import
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class NewUserValidatorTest {
+
+    private final RoleRegistry roleRegistry = mock(RoleRegistry.class);
+    private final NewUserValidator validator = new NewUserValidator();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(validator, "roleRegistry", roleRegistry);
+        when(roleRegistry.findByName("farmer")).thenReturn(role("FARMER"));
+        when(roleRegistry.findByName("admin")).thenReturn(role("ADMIN"));
+    }
+
+    @Test
+    void appliesTheSameFieldRulesToEveryCaller() {
+        for (boolean adminAllowed : new boolean[]{false, true}) {
+            assertNull(validator.validate("asha@example.com", "secret1", "Asha", "farmer", adminAllowed));
+            assertEquals("Missing required fields: email, password, firstName, role",
+                    validator.validate("asha@example.com", "secret1", null, "farmer", adminAllowed));
+            assertEquals("Invalid email address",
+                    validator.validate("asha.example.com", "secret1", "Asha", "farmer", adminAllowed));
+            assertEquals("Password must be at least 6 characters long",
+                    validator.validate("asha@example.com", "12345", "Asha", "farmer", adminAllowed));
+        }
+    }
+
+    @Test
+    void grantsAdminOnlyWhenAllowed() {
+        assertEquals("Invalid role. Must be: FARMER, DRIVER, or MARKET",
+                validator.validate("root@example.com", "secret1", "Root", "admin", false));
+        assertNull(validator.validate("root@example.com", "secret1", "Root", "admin", true));
+
+        assertEquals("Invalid role. Must be: FARMER, DRIVER, or MARKET",
+                validator.validate("pilot@example.com", "secret1", "Arun", "pilot", false));
+        assertEquals("Invalid role. Must be: ADMIN, FARMER, DRIVER, or MARKET",
+                validator.validate("pilot@example.com", "secret1", "Arun", "pilot", true));
+    }
+
+    private static Role role(String name) {
+        Role role = new Role();
+        role.setRoleName(name);
+        return role;
+    }
+}
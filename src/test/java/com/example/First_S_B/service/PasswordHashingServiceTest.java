@@ -0,0 +1,94 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the bounded password hashing pool
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class PasswordHashingServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PasswordHashingService service =
+            new PasswordHashingService(new BlockingEncoder(), meterRegistry, 1, 1, 5000, 2);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void upgradesOutdatedHashesOnly() {
+        release.countDown();
+
+        assertEquals(Optional.of("v2:secret"), service.rehash("secret", "v1:secret"));
+        assertEquals(Optional.empty(), service.rehash("secret", "v2:secret"));
+        assertEquals(List.of("v2:a", "v2:b", "v2:c"), service.encodeAll(List.of("a", "b", "c")));
+    }
+
+    @Test
+    void rejectsWhenThePoolIsSaturatedButRehashIsBestEffort() throws Exception {
+        // One task running, one queued: the pool is full
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.encode("second"));
+        while (meterRegistry.get("password.hash.queue.depth").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        ServiceOverloadedException e = assertThrows(ServiceOverloadedException.class, () -> service.encode("third"));
+        assertEquals(2, e.getRetryAfterSeconds());
+        assertEquals(Optional.empty(), service.rehash("third", "v1:third"));
+        assertEquals(2, meterRegistry.get("password.hash.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("v2:first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("v2:second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Encoder whose hashes wait for the test to release them; "v1:" hashes are outdated
+     */
+    private final class BlockingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "v2:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.endsWith(":" + rawPassword);
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return encodedPassword.startsWith("v1:");
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.First_S_B.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the pre-encoded bodies behind GET /users/roles and /users/stats
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class PrecomputedResponseTest {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+    private final PrecomputedResponses responses = new PrecomputedResponses(
+            new ObjectMapper(), cborMapper, new ObjectMapper(new SmileFactory()), 16);
+    private final PrecomputedResponse body = responses.of(List.of(Map.of("roleName", "FARMER")));
+
+    @Test
+    void servesPlainOrGzipWithDistinctStrongEtags() throws IOException {
+        ResponseEntity<byte[]> plain = body.toResponse(null, null, null);
+        ResponseEntity<byte[]> gzipped = body.toResponse(null, null, "deflate, gzip;q=0.8");
+
+        assertEquals(HttpStatus.OK, plain.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, plain.getHeaders().getContentType());
+        assertArrayEquals("[{\"roleName\":\"FARMER\"}]".getBytes(), plain.getBody());
+        assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+
+        assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+            assertArrayEquals(plain.getBody(), in.readAllBytes());
+        }
+        assertNotEquals(plain.getHeaders().getETag(), gzipped.getHeaders().getETag());
+        assertFalse(plain.getHeaders().getETag().startsWith("W/"));
+    }
+
+    @Test
+    void negotiatesBinaryFormats() throws IOException {
+        ResponseEntity<byte[]> cbor = body.toResponse("application/cbor, application/json;q=0.5", null, null);
+        assertEquals(MediaType.APPLICATION_CBOR, cbor.getHeaders().getContentType());
+        assertEquals("FARMER", cborMapper.readTree(cbor.getBody()).get(0).get("roleName").asText());
+
+        assertEquals(SMILE, body.toResponse("application/json;q=0.1, application/x-jackson-smile", null, null)
+                .getHeaders().getContentType());
+        assertEquals(MediaType.APPLICATION_JSON, body.toResponse("*/*", null, null).getHeaders().getContentType());
+        assertEquals(MediaType.APPLICATION_JSON, body.toResponse("text/html", null, null).getHeaders().getContentType());
+        assertTrue(cbor.getHeaders().getETag().endsWith("-cbor\""));
+    }
+
+    @Test
+    void keepsSmallBodiesUncompressed() {
+        PrecomputedResponses withThreshold = new PrecomputedResponses(
+                new ObjectMapper(), cborMapper, new ObjectMapper(new SmileFactory()), 1024);
+        ResponseEntity<byte[]> small = withThreshold.of(Map.of("totalUsers", 1)).toResponse(null, null, "gzip");
+        assertNull(small.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void answersNotModifiedForCurrentEtags() {
+        String etag = body.toResponse(null, null, "gzip").getHeaders().getETag();
+
+        ResponseEntity<byte[]> revalidated = body.toResponse(null, "\"other\", " + etag, "gzip");
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode());
+        assertNull(revalidated.getBody());
+        assertEquals(etag, revalidated.getHeaders().getETag());
+
+        // Weak form from a proxy still matches
+        assertEquals(HttpStatus.NOT_MODIFIED, body.toResponse(null, "W/" + etag, "gzip").getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, body.toResponse(null, "*", null).getStatusCode());
+        assertEquals(HttpStatus.OK, body.toResponse(null, "\"stale\"", "gzip").getStatusCode());
+
+        PrecomputedResponse changed = responses.of(List.of(Map.of("roleName", "DRIVER")));
+        assertEquals(HttpStatus.OK, changed.toResponse(null, etag, "gzip").getStatusCode());
+    }
+
+    @Test
+    void sendsOtherRepresentationsInFull() {
+        String json = body.toResponse(null, null, null).getHeaders().getETag();
+        String gzipped = body.toResponse(null, null, "gzip").getHeaders().getETag();
+
+        ResponseEntity<byte[]> cbor = body.toResponse("application/cbor", json, null);
+        assertEquals(HttpStatus.OK, cbor.getStatusCode());
+        assertEquals(MediaType.APPLICATION_CBOR, cbor.getHeaders().getContentType());
+
+        ResponseEntity<byte[]> identity = body.toResponse(null, gzipped, "identity");
+        assertEquals(HttpStatus.OK, identity.getStatusCode());
+        assertNull(identity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, body.toResponse(null, json, "identity").getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, body.toResponse("application/json", gzipped + ", " + json, "gzip")
+                .getStatusCode());
+    }
+
+    @Test
+    void parsesAcceptEncoding() {
+        assertTrue(PrecomputedResponse.acceptsGzip("gzip, deflate, br"));
+        assertTrue(PrecomputedResponse.acceptsGzip("*"));
+        assertFalse(PrecomputedResponse.acceptsGzip("gzip;q=0, br"));
+        assertFalse(PrecomputedResponse.acceptsGzip("identity"));
+        assertFalse(PrecomputedResponse.acceptsGzip(null));
+    }
+}
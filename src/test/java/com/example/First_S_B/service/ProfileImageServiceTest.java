@@ -0,0 +1,131 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.exception.InvalidImageException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the content-addressed profile image store, in a temporary directory
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class ProfileImageServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private ProfileImageService imageService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        imageService = new ProfileImageService(new SimpleMeterRegistry(), directory.toString(),
+                200_000, 10_000_000, List.of(160, 64), 1, 16, 10_000);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        imageService.shutdown();
+    }
+
+    @Test
+    void storesIdenticalUploadsOnce() throws IOException {
+        byte[] photo = image("png", 1200, 800, Color.GREEN);
+
+        ProfileImageService.StoredImage first = imageService.store(new ByteArrayInputStream(photo));
+        ProfileImageService.StoredImage second = imageService.store(new ByteArrayInputStream(photo));
+        ProfileImageService.StoredImage other = imageService.store(new ByteArrayInputStream(image("jpg", 300, 300, Color.RED)));
+
+        assertFalse(first.deduplicated());
+        assertTrue(second.deduplicated());
+        assertEquals(first.id(), second.id());
+        assertNotEquals(first.id(), other.id());
+        assertEquals("png", first.format());
+        assertEquals("jpg", other.format());
+        try (Stream<Path> files = Files.walk(directory.resolve("originals"))) {
+            assertEquals(2, files.filter(Files::isRegularFile).count());
+        }
+        try (Stream<Path> files = Files.list(directory.resolve("tmp"))) {
+            assertEquals(0, files.filter(path -> path.getFileName().toString().startsWith("upload-")).count());
+        }
+    }
+
+    @Test
+    void makesThumbnailsInSizeBuckets() throws IOException {
+        String id = imageService.store(new ByteArrayInputStream(image("png", 1200, 800, Color.BLUE))).id();
+
+        assertEquals(64, imageService.bucket(10));
+        assertEquals(160, imageService.bucket(100));
+        assertEquals(160, imageService.bucket(5000));
+
+        BufferedImage small = ImageIO.read(imageService.thumbnailFile(id, 50).toFile());
+        assertEquals(64, small.getWidth());
+        assertEquals(43, small.getHeight());
+        BufferedImage large = ImageIO.read(imageService.thumbnailFile(id, 1000).toFile());
+        assertEquals(160, large.getWidth());
+        assertTrue(Files.size(imageService.thumbnailFile(id, 160)) < Files.size(imageService.original(id)));
+    }
+
+    @Test
+    void doesNotEnlargeSmallImages() throws IOException {
+        String id = imageService.store(new ByteArrayInputStream(image("jpg", 40, 30, Color.ORANGE))).id();
+
+        BufferedImage thumbnail = ImageIO.read(imageService.thumbnailFile(id, 160).toFile());
+        assertEquals(40, thumbnail.getWidth());
+        assertEquals(30, thumbnail.getHeight());
+    }
+
+    @Test
+    void rejectsOversizedAndNonImageUploads() {
+        InvalidImageException tooLarge = assertThrows(InvalidImageException.class,
+                () -> imageService.store(new ByteArrayInputStream(new byte[300_000])));
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, tooLarge.getStatus());
+
+        InvalidImageException notImage = assertThrows(InvalidImageException.class,
+                () -> imageService.store(new ByteArrayInputStream("not an image".getBytes())));
+        assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, notImage.getStatus());
+    }
+
+    @Test
+    void ignoresUnknownAndMalformedIds() {
+        assertNull(imageService.original("0".repeat(64)));
+        assertNull(imageService.original("../../etc/passwd"));
+        assertNull(imageService.thumbnailFile("../x", 64));
+    }
+
+    private static byte[] image(String format, int width, int height, Color color) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, width, height);
+        graphics.setColor(Color.WHITE);
+        graphics.drawLine(0, 0, width, height);
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+}
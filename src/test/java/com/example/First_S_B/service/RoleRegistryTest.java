@@ -0,0 +1,74 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.event.RoleChangedEvent;
+import com.example.First_S_B.model.Role;
+import com.example.First_S_B.repository.RoleRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the in-memory role lookups
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class RoleRegistryTest {
+
+    private final RoleRepository roleRepository = mock(RoleRepository.class);
+    private final RoleRegistry registry = new RoleRegistry();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(registry, "roleRepository", roleRepository);
+        ReflectionTestUtils.setField(registry, "precomputedResponses", new PrecomputedResponses(
+                new ObjectMapper(), new ObjectMapper(new CBORFactory()), new ObjectMapper(new SmileFactory()), 16));
+        when(roleRepository.findAll()).thenReturn(List.of(role(2L, "FARMER"), role(1L, "ADMIN")));
+        registry.init();
+    }
+
+    @Test
+    void looksUpRolesByAnyCaseAndIdWithoutQueries() {
+        assertEquals(2L, registry.findByName("FARMER").getId());
+        assertSame(registry.findByName("FARMER"), registry.findByName("farmer"));
+        assertSame(registry.findByName("ADMIN"), registry.findById(1L));
+        assertNull(registry.findByName("PILOT"));
+        assertNull(registry.findByName(null));
+        assertEquals(List.of("ADMIN", "FARMER"), registry.findAll().stream().map(Role::getRoleName).toList());
+
+        verify(roleRepository, times(1)).findAll();
+    }
+
+    @Test
+    void reloadsAndReencodesOnlyAfterARoleChange() {
+        PrecomputedResponse response = registry.rolesResponse();
+        assertSame(response, registry.rolesResponse());
+
+        when(roleRepository.findAll()).thenReturn(List.of(role(1L, "ADMIN"), role(2L, "FARMER"), role(3L, "DRIVER")));
+        registry.onRoleChanged(new RoleChangedEvent("DRIVER"));
+
+        assertEquals(3L, registry.findByName("driver").getId());
+        assertNotSame(response, registry.rolesResponse());
+    }
+
+    private static Role role(Long id, String name) {
+        Role role = new Role();
+        role.setId(id);
+        role.setRoleName(name);
+        return role;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.dto.ChangedRow;
+import com.example.First_S_B.dto.SyncPage;
+import com.example.First_S_B.dto.SyncedUser;
+import com.example.First_S_B.exception.SyncTokenExpiredException;
+import com.example.First_S_B.repository.SyncTombstoneRepository;
+import com.example.First_S_B.repository.UserProfileRepository;
+import com.example.First_S_B.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the change feed merge and tokens behind GET /users/sync
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class SyncServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.now().minusMinutes(10).withNano(123_456_000);
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserProfileRepository userProfileRepository = mock(UserProfileRepository.class);
+    private final SyncTombstoneRepository syncTombstoneRepository = mock(SyncTombstoneRepository.class);
+
+    private SyncService syncService;
+
+    record Change(Long rowId, Long userId, LocalDateTime changedAt) implements ChangedRow {
+        @Override
+        public Long getRowId() {
+            return rowId;
+        }
+
+        @Override
+        public Long getUserId() {
+            return userId;
+        }
+
+        @Override
+        public LocalDateTime getChangedAt() {
+            return changedAt;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        syncService = new SyncService(userRepository, userProfileRepository, syncTombstoneRepository, 5000, 30);
+    }
+
+    @Test
+    void mergesFeedsOldestFirstAndClassifiesUsers() {
+        when(userRepository.findChangedAfter(any(), anyLong(), any(), any())).thenReturn(List.of(
+                new Change(1L, 1L, T0.plusSeconds(1)),
+                new Change(2L, 2L, T0.plusSeconds(3))));
+        when(userProfileRepository.findChangedAfter(any(), anyLong(), any(), any())).thenReturn(List.of(
+                new Change(70L, 3L, T0.plusSeconds(2)),
+                new Change(71L, 1L, T0.plusSeconds(2))));
+        when(syncTombstoneRepository.findChangedAfter(any(), anyLong(), any(), any())).thenReturn(List.of(
+                new Change(500L, 4L, T0.plusSeconds(4))));
+        when(userRepository.findSyncedUsersByIds(any())).thenReturn(List.of(
+                user(1L, "DRIVER", true), user(2L, "FARMER", true), user(3L, "DRIVER", false)));
+
+        SyncToken position = new SyncToken("DRIVER", new SyncToken.Cursor(T0, 0), SyncToken.BEGINNING,
+                new SyncToken.Cursor(T0, 0));
+        SyncPage page = syncService.sync(position.encode(), "driver", 4);
+
+        // Order of changes: user 1, profile of 3, profile of 1 (already taken), user 2; tombstone left over
+        assertEquals(List.of(1L), page.getUsers().stream().map(SyncedUser::getId).toList());
+        assertEquals(List.of(3L, 2L), page.getRemoved());
+        assertTrue(page.isHasMore());
+
+        SyncToken next = SyncToken.decode(page.getNextToken());
+        assertEquals("DRIVER", next.roleName());
+        // Nothing was taken from the tombstones yet; the drained feeds moved on to the horizon
+        assertEquals(new SyncToken.Cursor(T0, 0), next.tombstones());
+        assertTrue(next.users().changedAt().isAfter(T0.plusMinutes(9)));
+        assertEquals(next.users(), next.profiles());
+    }
+
+    @Test
+    void rejectsMalformedForeignAndExpiredTokens() {
+        assertThrows(IllegalArgumentException.class, () -> syncService.sync("not-a-token", null, 10));
+
+        SyncToken drivers = new SyncToken("DRIVER", SyncToken.BEGINNING, SyncToken.BEGINNING,
+                new SyncToken.Cursor(T0, 0));
+        assertThrows(IllegalArgumentException.class, () -> syncService.sync(drivers.encode(), "FARMER", 10));
+
+        SyncToken old = new SyncToken(null, SyncToken.BEGINNING, SyncToken.BEGINNING,
+                new SyncToken.Cursor(T0.minusDays(31), 0));
+        assertThrows(SyncTokenExpiredException.class, () -> syncService.sync(old.encode(), null, 10));
+    }
+
+    @Test
+    void tokenRoundTripKeepsMicroseconds() {
+        SyncToken token = new SyncToken(null, new SyncToken.Cursor(T0, 42), SyncToken.BEGINNING,
+                new SyncToken.Cursor(T0.plusNanos(999), 7));
+        SyncToken decoded = SyncToken.decode(token.encode());
+        assertEquals(token.users(), decoded.users());
+        assertEquals(new SyncToken.Cursor(T0, 7), decoded.tombstones());
+    }
+
+    private static SyncedUser user(Long id, String role, boolean active) {
+        return new SyncedUser(id, "user" + id + "@example.com", "User", null, null, role, active, true,
+                T0, null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.First_S_B.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the revoked token denylist (Bloom filter, exact table and timing wheel)
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class TokenDenylistTest {
+
+    private static final long TICK = 1_000;
+    private static final long LIFETIME = 60_000;
+    private static final long T0 = 1_700_000_000_000L;
+
+    @Test
+    void containsOnlyAddedIds() {
+        TokenDenylist denylist = new TokenDenylist(TICK, LIFETIME, 100, 0.01);
+        UUID revoked = UUID.randomUUID();
+
+        assertTrue(denylist.add(revoked.getMostSignificantBits(), revoked.getLeastSignificantBits(), T0 + LIFETIME, T0));
+        assertFalse(denylist.add(revoked.getMostSignificantBits(), revoked.getLeastSignificantBits(), T0 + LIFETIME, T0));
+
+        assertTrue(contains(denylist, revoked, T0));
+        assertFalse(contains(denylist, UUID.randomUUID(), T0));
+        assertFalse(denylist.add(0, 0, T0 + LIFETIME, T0));
+        assertFalse(denylist.add(1, 2, T0, T0));
+        assertEquals(1, denylist.size());
+    }
+
+    @Test
+    void dropsIdsWhenTheirTokenExpires() {
+        TokenDenylist denylist = new TokenDenylist(TICK, LIFETIME, 100, 0.01);
+        UUID early = UUID.randomUUID();
+        UUID late = UUID.randomUUID();
+        add(denylist, early, T0 + 10_500, T0);
+        add(denylist, late, T0 + 40_000, T0);
+        denylist.advance(T0);
+
+        assertEquals(0, denylist.advance(T0 + 10_400));
+        assertEquals(1, denylist.advance(T0 + 11_000));
+        assertFalse(contains(denylist, early, T0 + 11_000));
+        assertTrue(contains(denylist, late, T0 + 11_000));
+
+        // Missed ticks are caught up on the next call
+        assertEquals(1, denylist.advance(T0 + 55_000));
+        assertEquals(0, denylist.size());
+    }
+
+    @Test
+    void keepsIdsWhoseExpiryWasExtendedOrLiesBeyondOneTurn() {
+        TokenDenylist denylist = new TokenDenylist(TICK, LIFETIME, 100, 0.01);
+        UUID extended = UUID.randomUUID();
+        UUID distant = UUID.randomUUID();
+        add(denylist, extended, T0 + 5_000, T0);
+        add(denylist, extended, T0 + 30_000, T0);
+        // Longer than the wheel covers: comes round once before it is due
+        add(denylist, distant, T0 + 3 * LIFETIME, T0);
+        denylist.advance(T0);
+
+        denylist.advance(T0 + 2 * LIFETIME);
+        assertFalse(contains(denylist, extended, T0 + 2 * LIFETIME));
+        assertTrue(contains(denylist, distant, T0 + 2 * LIFETIME));
+
+        denylist.advance(T0 + 3 * LIFETIME + TICK);
+        assertEquals(0, denylist.size());
+    }
+
+    @Test
+    void survivesManyIdsWithInterleavedRemovals() {
+        TokenDenylist denylist = new TokenDenylist(TICK, LIFETIME, 1_000, 0.01);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            // Every other id expires after the first tick
+            add(denylist, id, T0 + (i % 2 == 0 ? TICK : LIFETIME), T0);
+        }
+        denylist.advance(T0);
+        assertEquals(10_000, denylist.advance(T0 + TICK));
+
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i % 2 != 0, contains(denylist, ids.get(i), T0 + TICK), "id " + i);
+        }
+    }
+
+    @Test
+    void bloomFilterPassesFewNonRevokedIds() {
+        TokenDenylist denylist = new TokenDenylist(TICK, LIFETIME, 10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            add(denylist, UUID.randomUUID(), T0 + LIFETIME, T0);
+        }
+
+        int passed = 0;
+        for (int i = 0; i < 100_000; i++) {
+            UUID other = UUID.randomUUID();
+            if (denylist.mightContain(other.getMostSignificantBits(), other.getLeastSignificantBits())) {
+                passed++;
+            }
+        }
+        assertTrue(passed < 2_000, "false positives: " + passed);
+    }
+
+    private static void add(TokenDenylist denylist, UUID id, long expiresAt, long now) {
+        assertTrue(denylist.add(id.getMostSignificantBits(), id.getLeastSignificantBits(), expiresAt, now));
+    }
+
+    private static boolean contains(TokenDenylist denylist, UUID id, long now) {
+        return denylist.contains(id.getMostSignificantBits(), id.getLeastSignificantBits(), now);
+    }
+}
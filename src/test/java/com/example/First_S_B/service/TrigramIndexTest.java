@@ -0,0 +1,60 @@
+package com.example.First_S_B.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the in-memory search index behind GET /users/search
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.upsert(1, "FARMER", "Ramesh", "Kumar", "+91 98765 43210", "ramesh.kumar@example.com");
+        index.upsert(2, "DRIVER", "Suresh", "Patel", "9123456789", "suresh@example.com");
+        index.upsert(3, "FARMER", "Lakshmi", "Devi", "9988776655", "lakshmi@example.com");
+    }
+
+    @Test
+    void findsNamesWithTypos() {
+        assertEquals(1, index.search("Rmesh Kumr", null, 10).get(0).userId());
+    }
+
+    @Test
+    void findsByPrefixPhoneAndEmail() {
+        assertEquals(3, index.search("laksh", null, 10).get(0).userId());
+        assertEquals(1, index.search("98765", null, 10).get(0).userId());
+        assertEquals(1.5, index.search("9876543210", null, 10).get(0).score());
+        assertEquals(2, index.search("suresh@example", null, 10).get(0).userId());
+    }
+
+    @Test
+    void filtersByRole() {
+        List<TrigramIndex.Hit> farmers = index.search("suresh", "FARMER", 10);
+        assertTrue(farmers.isEmpty());
+        assertEquals(2, index.search("suresh", "DRIVER", 10).get(0).userId());
+    }
+
+    @Test
+    void upsertReplacesOldTextAndRemoveHidesUser() {
+        index.upsert(2, "DRIVER", "Mahesh", "Patel", "9123456789", "mahesh@example.com");
+        assertTrue(index.search("suresh", null, 10).stream().noneMatch(hit -> hit.userId() == 2));
+        assertEquals(2, index.search("mahesh", null, 10).get(0).userId());
+        assertEquals(1, index.deletedCount());
+
+        index.remove(3);
+        assertTrue(index.search("lakshmi", null, 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+}
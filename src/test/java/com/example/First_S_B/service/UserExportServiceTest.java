@@ -0,0 +1,113 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.dto.UserExportFilter;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for the CSV export behind GET /users/export, against an embedded H2 database
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class UserExportServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 10, 9, 30);
+
+    private UserExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:export-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE roles (id BIGINT PRIMARY KEY, role_name VARCHAR(50))");
+        jdbc.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, email VARCHAR(255), first_name VARCHAR(100), " +
+                "last_name VARCHAR(100), phone_number VARCHAR(15), role_id BIGINT, is_active BOOLEAN, " +
+                "is_verified BOOLEAN, created_at TIMESTAMP)");
+        jdbc.execute("CREATE TABLE user_profiles (id BIGINT PRIMARY KEY, user_id BIGINT, address TEXT, " +
+                "city VARCHAR(100), state VARCHAR(100), pincode VARCHAR(10), is_available BOOLEAN)");
+        jdbc.update("INSERT INTO roles VALUES (1, 'FARMER'), (2, 'DRIVER')");
+        jdbc.update("INSERT INTO users VALUES (1, 'a@example.com', 'Asha', 'Patil', '9000000001', 1, TRUE, FALSE, ?)", T0);
+        jdbc.update("INSERT INTO users VALUES (2, 'b@example.com', 'Ravi', NULL, NULL, 2, TRUE, TRUE, ?)", T0.plusDays(1));
+        jdbc.update("INSERT INTO users VALUES (3, 'c@example.com', 'Meena', 'Rao', NULL, 1, FALSE, FALSE, ?)", T0.plusDays(2));
+        jdbc.update("INSERT INTO user_profiles VALUES (10, 1, 'Plot 4, \"Green\" Lane', 'Pune', 'Maharashtra', '411001', NULL)");
+        jdbc.update("INSERT INTO user_profiles VALUES (11, 3, NULL, 'Mysuru', 'Karnataka', '570001', TRUE)");
+        exportService = new UserExportService(dataSource);
+    }
+
+    @Test
+    void writesHeaderAndEscapedRowsInIdOrder() throws IOException {
+        List<String> lines = export(new UserExportFilter(null, null, null, null, 0), false);
+
+        assertEquals(List.of(
+                UserExportService.HEADER,
+                "1,a@example.com,Asha,Patil,9000000001,FARMER,true,false,2025-01-10T09:30," +
+                        "\"Plot 4, \"\"Green\"\" Lane\",Pune,Maharashtra,411001,",
+                "2,b@example.com,Ravi,,,DRIVER,true,true,2025-01-11T09:30,,,,,",
+                "3,c@example.com,Meena,Rao,,FARMER,false,false,2025-01-12T09:30,,Mysuru,Karnataka,570001,true"),
+                lines);
+    }
+
+    @Test
+    void neutralisesFieldsThatSpreadsheetsWouldRunAsFormulas() throws IOException {
+        StringWriter writer = new StringWriter();
+        for (String value : List.of("=HYPERLINK(\"http://x\")", "+919000000001", "-2+3", "@SUM(A1)", "\tx", "\rx", "a=b", "Pune")) {
+            UserExportService.writeField(writer, value);
+        }
+
+        assertEquals(",\"'=HYPERLINK(\"\"http://x\"\")\",'+919000000001,'-2+3,'@SUM(A1),'\tx,\"'\rx\",a=b,Pune",
+                writer.toString());
+    }
+
+    @Test
+    void appliesRoleStateAndCreatedAtFilters() throws IOException {
+        assertEquals(List.of("1", "3"), ids(new UserExportFilter("FARMER", null, null, null, 0)));
+        assertEquals(List.of("3"), ids(new UserExportFilter(null, "Karnataka", null, null, 0)));
+        assertEquals(List.of("2"), ids(new UserExportFilter(null, null, T0.plusDays(1), T0.plusDays(2), 0)));
+    }
+
+    @Test
+    void resumesAfterAnIdWithoutHeader() throws IOException {
+        List<String> lines = export(new UserExportFilter(null, null, null, null, 1), false);
+
+        assertEquals(2, lines.size());
+        assertEquals(List.of("2", "3"), lines.stream().map(line -> line.substring(0, line.indexOf(','))).toList());
+    }
+
+    @Test
+    void gzippedExportDecompressesToTheSameCsv() throws IOException {
+        UserExportFilter all = new UserExportFilter(null, null, null, null, 0);
+        assertEquals(export(all, false), export(all, true));
+    }
+
+    private List<String> ids(UserExportFilter filter) throws IOException {
+        return export(filter, false).stream().skip(1)
+                .map(line -> line.substring(0, line.indexOf(',')))
+                .toList();
+    }
+
+    private List<String> export(UserExportFilter filter, boolean gzip) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeCsv(filter, gzip, out);
+        byte[] bytes = out.toByteArray();
+        if (gzip) {
+            bytes = new GZIPInputStream(new ByteArrayInputStream(bytes)).readAllBytes();
+        }
+        return new String(bytes, StandardCharsets.UTF_8).lines().toList();
+    }
+}
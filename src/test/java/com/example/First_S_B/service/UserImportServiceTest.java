@@ -0,0 +1,129 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.event.UserLifecycleEvent;
+import com.example.First_S_B.model.Role;
+import com.example.First_S_B.model.User;
+import com.example.First_S_B.model.UserProfile;
+import com.example.First_S_B.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for parsing and validating bulk imports behind POST /users/import
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class UserImportServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final RoleRegistry roleRegistry = mock(RoleRegistry.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final PasswordHashingService passwordHashingService = mock(PasswordHashingService.class);
+    private final UserImportService importService = new UserImportService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(importService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(importService, "roleRegistry", roleRegistry);
+        NewUserValidator validator = new NewUserValidator();
+        ReflectionTestUtils.setField(validator, "roleRegistry", roleRegistry);
+        ReflectionTestUtils.setField(importService, "newUserValidator", validator);
+        ReflectionTestUtils.setField(importService, "entityManager", entityManager);
+        ReflectionTestUtils.setField(importService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(importService, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(importService, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(importService, "passwordHashingService", passwordHashingService);
+        ReflectionTestUtils.setField(importService, "chunkSize", 1000);
+        ReflectionTestUtils.setField(importService, "maxReportedErrors", 1000);
+
+        Role farmer = new Role();
+        farmer.setRoleName("FARMER");
+        when(roleRegistry.findByName("FARMER")).thenReturn(farmer);
+        when(roleRegistry.findByName("farmer")).thenReturn(farmer);
+        when(userRepository.findExistingEmails(any())).thenReturn(List.of("taken@example.com"));
+        when(passwordHashingService.encodeAll(anyList())).thenAnswer(invocation ->
+                invocation.<List<String>>getArgument(0).stream().map(password -> "hash:" + password).toList());
+    }
+
+    @Test
+    void importsValidCsvRowsAndReportsEveryFailedRow() throws IOException {
+        Map<String, Object> report = importService.importCsv(upload(
+                "\uFEFFemail, password ,firstName,role,city\n" +
+                "new@example.com,secret1,Asha,farmer,Pune\n" +
+                "bad-email,secret1,Ravi,FARMER,\n" +
+                "short@example.com,123,Meena,FARMER,\n" +
+                "pilot@example.com,secret1,Arun,PILOT,\n" +
+                "nofirst@example.com,secret1,,FARMER,\n" +
+                "\n" +
+                "new@example.com,secret2,Asha,FARMER,\n" +
+                "taken@example.com,secret1,Ravi,FARMER,\n"));
+
+        assertEquals(7L, report.get("totalRows"));
+        assertEquals(1L, report.get("imported"));
+        assertEquals(6L, report.get("failed"));
+        assertEquals(false, report.get("success"));
+        assertEquals(List.of(
+                        "3 Invalid email address",
+                        "4 Password must be at least 6 characters long",
+                        "5 Invalid role. Must be: ADMIN, FARMER, DRIVER, or MARKET",
+                        "6 Missing required fields: email, password, firstName, role",
+                        "8 Duplicate email in upload",
+                        "9 Email already registered"),
+                errors(report));
+
+        ArgumentCaptor<Object> persisted = ArgumentCaptor.forClass(Object.class);
+        verify(entityManager, times(2)).persist(persisted.capture());
+        User user = (User) persisted.getAllValues().get(0);
+        assertEquals("new@example.com", user.getEmail());
+        assertEquals("hash:secret1", user.getPassword());
+        assertEquals("Pune", ((UserProfile) persisted.getAllValues().get(1)).getCity());
+        verify(eventPublisher).publishEvent(any(UserLifecycleEvent.class));
+    }
+
+    @Test
+    void reportsMalformedNdjsonLinesByLineNumber() throws IOException {
+        Map<String, Object> report = importService.importNdjson(upload(
+                "{\"email\":\"new@example.com\",\"password\":\"secret1\",\"firstName\":\"Asha\",\"role\":\"FARMER\"}\n" +
+                "{\"email\": broken\n" +
+                "\n" +
+                "{\"email\":\"other@example.com\",\"password\":\"secret1\",\"role\":\"FARMER\"}\n"));
+
+        assertEquals(3L, report.get("totalRows"));
+        assertEquals(1L, report.get("imported"));
+        assertEquals(List.of("2 Malformed JSON", "4 Missing required fields: email, password, firstName, role"),
+                errors(report));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> errors(Map<String, Object> report) {
+        return ((List<Map<String, Object>>) report.get("errors")).stream()
+                .map(error -> error.get("row") + " " + error.get("message"))
+                .toList();
+    }
+
+    private static ByteArrayInputStream upload(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.dto.UserSummary;
+import com.example.First_S_B.event.UserLifecycleEvent;
+import com.example.First_S_B.model.Role;
+import com.example.First_S_B.model.User;
+import com.example.First_S_B.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for keeping the search index in line with user lifecycle events
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class UserSearchServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserSearchService searchService = new UserSearchService(userRepository,
+            mock(PlatformTransactionManager.class), new SyncTaskExecutor(), new SimpleMeterRegistry());
+
+    @Test
+    void buildSkipsInactiveUsersAndDeactivationRemovesFromTheIndex() {
+        when(userRepository.streamAll()).thenReturn(Stream.of(
+                summary(1L, "Ramesh", true), summary(2L, "Rameshwar", false)));
+        when(userRepository.findSummariesByIds(anyCollection())).thenReturn(List.of(summary(1L, "Ramesh", true)));
+
+        searchService.buildOnStartup();
+        assertTrue(searchService.isReady());
+        assertEquals(List.of(1L), ids("ramesh"));
+
+        searchService.onUserLifecycle(new UserLifecycleEvent(UserLifecycleEvent.Type.DEACTIVATED, user(1L, "Ramesh", false)));
+        assertEquals(List.of(), ids("ramesh"));
+    }
+
+    private List<Long> ids(String query) {
+        return searchService.search(query, null, 10).stream().map(hit -> hit.getUser().getId()).toList();
+    }
+
+    private static UserSummary summary(Long id, String firstName, boolean active) {
+        return new UserSummary(id, firstName.toLowerCase() + "@example.com", firstName, null, null, "FARMER",
+                active, false, LocalDateTime.now(), null);
+    }
+
+    private static User user(Long id, String firstName, boolean active) {
+        Role role = new Role();
+        role.setRoleName("FARMER");
+        User user = new User();
+        user.setId(id);
+        user.setEmail(firstName.toLowerCase() + "@example.com");
+        user.setFirstName(firstName);
+        user.setRole(role);
+        user.setIsActive(active);
+        return user;
+    }
+}
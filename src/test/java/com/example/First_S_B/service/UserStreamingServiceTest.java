@@ -0,0 +1,99 @@
+package com.example.First_S_B.service;
+
+import com.example.First_S_B.dto.UserSummary;
+import com.example.First_S_B.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the NDJSON user streams behind GET /users/stream and /users/role/{roleName}/stream
+ *
+ * @author Krishi Saarathi Team
+ * @version 1.0.0
+ */
+class UserStreamingServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 10, 9, 30);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private UserStreamingService streamingService;
+
+    @BeforeEach
+    void setUp() {
+        streamingService = new UserStreamingService(objectMapper);
+        ReflectionTestUtils.setField(streamingService, "userRepository", userRepository);
+    }
+
+    @Test
+    void writesOneJsonObjectPerLine() throws IOException {
+        int count = Integer.parseInt(UserRepository.STREAM_FETCH_SIZE) * 2 + 3;
+        when(userRepository.streamAll()).thenReturn(LongStream.rangeClosed(1, count).mapToObj(id -> summary(id, "FARMER")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(count, streamingService.writeAllUsers(out));
+
+        List<JsonNode> users = lines(out);
+        assertEquals(count, users.size());
+        assertEquals(1, users.get(0).get("id").asLong());
+        assertEquals(count, users.get(count - 1).get("id").asLong());
+    }
+
+    @Test
+    void writesSummariesWithoutThePasswordHash() throws IOException {
+        when(userRepository.streamByRoleName("FARMER")).thenReturn(Stream.of(summary(7L, "FARMER")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(1, streamingService.writeUsersByRole("FARMER", out));
+
+        JsonNode user = lines(out).get(0);
+        assertEquals("user7@example.com", user.get("email").asText());
+        assertEquals("FARMER", user.get("role").asText());
+        assertTrue(user.get("isActive").asBoolean());
+        assertFalse(user.has("password"));
+        assertFalse(user.has("profile"));
+    }
+
+    @Test
+    void writesNothingForAnEmptyRole() throws IOException {
+        when(userRepository.streamByRoleName("MARKET")).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, streamingService.writeUsersByRole("MARKET", out));
+        assertEquals(0, out.size());
+    }
+
+    private List<JsonNode> lines(ByteArrayOutputStream out) throws IOException {
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertTrue(body.endsWith("\n"));
+        List<JsonNode> users = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            users.add(objectMapper.readTree(line));
+        }
+        return users;
+    }
+
+    static UserSummary summary(long id, String role) {
+        return new UserSummary(id, "user" + id + "@example.com", "User", String.valueOf(id), null, role,
+                true, false, T0, T0);
+    }
+}